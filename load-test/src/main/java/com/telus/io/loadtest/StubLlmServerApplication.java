@@ -0,0 +1,20 @@
+package com.telus.io.loadtest;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Standalone OpenAI-compatible stub server for load testing.
+ *
+ * Start it with {@code mvn spring-boot:run} in this module (port 8089 by
+ * default), then start the application with the "stub-llm" profile alongside
+ * its environment profile, e.g. {@code --spring.profiles.active=local,stub-llm},
+ * and run the scenarios with {@code mvn gatling:test}.
+ */
+@SpringBootApplication
+public class StubLlmServerApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(StubLlmServerApplication.class, args);
+    }
+}
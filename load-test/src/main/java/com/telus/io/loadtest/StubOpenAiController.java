@@ -0,0 +1,358 @@
+package com.telus.io.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * OpenAI-compatible stub for load testing without spending Fuelix quota. Runs
+ * in its own process ({@link StubLlmServerApplication}) so its latency
+ * simulation does not share threads, CPU or heap with the application under
+ * test; the application's "stub-llm" profile points the Spring AI OpenAI
+ * client at it.
+ *
+ * Embeddings are deterministic: each word contributes a pseudo-random vector
+ * seeded by its hash, so texts sharing vocabulary have similar embeddings.
+ * Chat completions return canned content - a JSON document in the shape of the
+ * application's ResumeAnalysis when the prompt asks for structured output, otherwise a plain explanation.
+ * Latency follows a log-normal distribution and a configurable fraction of
+ * requests fail with 503 to exercise the retry path.
+ */
+@RestController
+@RequestMapping("/v1")
+public class StubOpenAiController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubOpenAiController.class);
+
+    @Value("${app.stub-llm.embedding-dimensions:1536}")
+    private int embeddingDimensions;
+
+    @Value("${app.stub-llm.chat.median-latency-ms:1500}")
+    private double chatMedianLatencyMs;
+
+    @Value("${app.stub-llm.chat.latency-sigma:0.5}")
+    private double chatLatencySigma;
+
+    @Value("${app.stub-llm.embedding.median-latency-ms:80}")
+    private double embeddingMedianLatencyMs;
+
+    @Value("${app.stub-llm.embedding.latency-sigma:0.3}")
+    private double embeddingLatencySigma;
+
+    @Value("${app.stub-llm.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${app.stub-llm.stream-chunk-words:5}")
+    private int streamChunkWords;
+
+    private final ObjectMapper objectMapper;
+    private final Executor taskExecutor;
+
+    public StubOpenAiController(ObjectMapper objectMapper, @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * OpenAI-compatible chat completions endpoint, with or without streaming.
+     *
+     * @param request The chat completion request
+     * @return The canned completion, an SSE stream of chunks, or a simulated 503
+     */
+    @PostMapping("/chat/completions")
+    public Object chatCompletions(@RequestBody JsonNode request) {
+        String model = request.path("model").asText("stub-chat");
+        String promptText = collectPromptText(request.path("messages"));
+        String content = cannedContent(promptText);
+
+        if (shouldFail()) {
+            sleep(sampleLatency(chatMedianLatencyMs / 4, chatLatencySigma));
+            return serviceUnavailable();
+        }
+
+        if (request.path("stream").asBoolean(false)) {
+            return streamCompletion(model, content);
+        }
+
+        sleep(sampleLatency(chatMedianLatencyMs, chatLatencySigma));
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", content);
+
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", "stop");
+
+        Map<String, Object> response = completionEnvelope("chat.completion", model);
+        response.put("choices", List.of(choice));
+        response.put("usage", usage(estimateTokens(promptText), estimateTokens(content)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * OpenAI-compatible embeddings endpoint accepting a single string or an array of strings.
+     *
+     * @param request The embedding request
+     * @return Deterministic embeddings for each input, or a simulated 503
+     */
+    @PostMapping("/embeddings")
+    public ResponseEntity<Map<String, Object>> embeddings(@RequestBody JsonNode request) {
+        List<String> inputs = new ArrayList<>();
+        JsonNode input = request.path("input");
+        if (input.isArray()) {
+            input.forEach(node -> inputs.add(node.asText()));
+        } else {
+            inputs.add(input.asText());
+        }
+
+        sleep(sampleLatency(embeddingMedianLatencyMs, embeddingLatencySigma));
+        if (shouldFail()) {
+            return serviceUnavailable();
+        }
+
+        List<Map<String, Object>> data = new ArrayList<>(inputs.size());
+        int promptTokens = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("object", "embedding");
+            item.put("index", i);
+            item.put("embedding", deterministicEmbedding(inputs.get(i)));
+            data.add(item);
+            promptTokens += estimateTokens(inputs.get(i));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("object", "list");
+        response.put("data", data);
+        response.put("model", request.path("model").asText("stub-embedding"));
+        response.put("usage", usage(promptTokens, 0));
+        return ResponseEntity.ok(response);
+    }
+
+    private SseEmitter streamCompletion(String model, String content) {
+        SseEmitter emitter = new SseEmitter(0L);
+        String[] words = content.split("(?<=\\s)");
+        long firstTokenMs = sampleLatency(chatMedianLatencyMs / 3, chatLatencySigma);
+        long perChunkMs = Math.max(1, sampleLatency(chatMedianLatencyMs, chatLatencySigma) * 2 / 3
+                / Math.max(1, words.length / Math.max(1, streamChunkWords)));
+
+        taskExecutor.execute(() -> {
+            try {
+                String id = "chatcmpl-" + UUID.randomUUID();
+                sleep(firstTokenMs);
+                for (int i = 0; i < words.length; i += streamChunkWords) {
+                    StringBuilder chunk = new StringBuilder();
+                    for (int j = i; j < Math.min(words.length, i + streamChunkWords); j++) {
+                        chunk.append(words[j]);
+                    }
+                    emitter.send(objectMapper.writeValueAsString(chunk(id, model, Map.of("content", chunk.toString()), null)));
+                    sleep(perChunkMs);
+                }
+                emitter.send(objectMapper.writeValueAsString(chunk(id, model, Map.of(), "stop")));
+                emitter.send("[DONE]");
+                emitter.complete();
+            } catch (Exception e) {
+                logger.debug("Stub stream aborted: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+
+    private Map<String, Object> chunk(String id, String model, Map<String, Object> delta, String finishReason) {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+
+        Map<String, Object> chunk = completionEnvelope("chat.completion.chunk", model);
+        chunk.put("id", id);
+        chunk.put("choices", List.of(choice));
+        return chunk;
+    }
+
+    private Map<String, Object> completionEnvelope(String object, String model) {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("id", "chatcmpl-" + UUID.randomUUID());
+        envelope.put("object", object);
+        envelope.put("created", System.currentTimeMillis() / 1000);
+        envelope.put("model", model);
+        return envelope;
+    }
+
+    private Map<String, Object> usage(int promptTokens, int completionTokens) {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        return usage;
+    }
+
+    private String collectPromptText(JsonNode messages) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode message : messages) {
+            JsonNode content = message.path("content");
+            if (content.isArray()) {
+                // Multi-part content: keep only the text parts
+                content.forEach(part -> text.append(part.path("text").asText("")).append('\n'));
+            } else {
+                text.append(content.asText("")).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Build the response content for a prompt. The score is derived from the
+     * prompt hash so the same request always produces the same answer.
+     */
+    private String cannedContent(String promptText) {
+        int score = 40 + (int) Math.floorMod(fnv1a(promptText), 60L);
+
+        if (promptText.contains("executiveSummary") || promptText.toLowerCase(Locale.ROOT).contains("json")) {
+            try {
+                return objectMapper.writeValueAsString(cannedAnalysis(score));
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to serialize canned analysis", e);
+            }
+        }
+
+        return "Match percentage: " + score + "%\n"
+                + "The candidate's background overlaps with the required skills in several areas. "
+                + "Relevant experience with the core technologies is evident, and the profile "
+                + "shows steady progression. Some gaps remain in the secondary requirements, "
+                + "which could be covered during the interview.";
+    }
+
+    /**
+     * A document in the shape of com.telus.io.model.ResumeAnalysis.
+     */
+    private Map<String, Object> cannedAnalysis(int score) {
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        analysis.put("executiveSummary", "Stub analysis: candidate shows a solid match for the core requirements.");
+        analysis.put("overallScore", score);
+        analysis.put("keyStrengths", List.of(Map.of(
+                "strength", "Core technical skills",
+                "evidence", "Several years of hands-on experience listed in the resume")));
+        analysis.put("improvementAreas", List.of(Map.of(
+                "gap", "Cloud platform depth",
+                "suggestion", "Probe production experience with managed cloud services")));
+
+        Map<String, Object> categoryScores = new LinkedHashMap<>();
+        categoryScores.put("technicalSkills", Math.min(100, score + 5));
+        categoryScores.put("experience", score);
+        categoryScores.put("education", Math.max(0, score - 10));
+        categoryScores.put("softSkills", score);
+        categoryScores.put("achievements", Math.max(0, score - 5));
+        analysis.put("categoryScores", categoryScores);
+
+        analysis.put("skillExplanations", Map.of("Java", "Listed across multiple roles"));
+        analysis.put("recommendation", Map.of(
+                "type", score >= 70 ? "Strong Match" : score >= 50 ? "Potential Match" : "Not Recommended",
+                "reason", "Derived from the stub score"));
+        return analysis;
+    }
+
+    /**
+     * Feature-hashed embedding: the sum of one seeded Gaussian vector per word, L2-normalized.
+     */
+    private float[] deterministicEmbedding(String text) {
+        double[] accumulator = new double[embeddingDimensions];
+        String[] tokens = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+");
+        int used = 0;
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            SplittableRandom random = new SplittableRandom(fnv1a(token));
+            for (int i = 0; i < embeddingDimensions; i++) {
+                accumulator[i] += random.nextGaussian();
+            }
+            used++;
+        }
+        if (used == 0) {
+            SplittableRandom random = new SplittableRandom(fnv1a(text));
+            for (int i = 0; i < embeddingDimensions; i++) {
+                accumulator[i] = random.nextGaussian();
+            }
+        }
+
+        double norm = 0;
+        for (double value : accumulator) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+
+        float[] embedding = new float[embeddingDimensions];
+        for (int i = 0; i < embeddingDimensions; i++) {
+            embedding[i] = (float) (accumulator[i] / norm);
+        }
+        return embedding;
+    }
+
+    private static long fnv1a(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static int estimateTokens(String text) {
+        // Roughly four characters per token, as for English text with GPT tokenizers
+        return Math.max(1, text.length() / 4);
+    }
+
+    private boolean shouldFail() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    private static long sampleLatency(double medianMs, double sigma) {
+        if (medianMs <= 0) {
+            return 0;
+        }
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return (long) Math.exp(Math.log(medianMs) + sigma * gaussian);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> ResponseEntity<T> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.telus.io.loadtest;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.constantUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.csv;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.core.CoreDsl.rampUsersPerSec;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+import java.time.Duration;
+
+import io.gatling.javaapi.core.FeederBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+/**
+ * Load scenario for resume upload, match-new and interviewer matching, run
+ * against an application started with the "stub-llm" profile and the stub
+ * server of this module, so results reflect the application's executors and
+ * pools rather than Fuelix quota and rate limits.
+ *
+ * Run with {@code mvn gatling:test}; rates are in users per second and can be
+ * changed with system properties, e.g.
+ * {@code mvn gatling:test -DbaseUrl=http://localhost:8080 -DmatchRate=10 -DdurationSeconds=300}.
+ */
+public class ResumeMatchingSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("durationSeconds", 120));
+    private static final double UPLOAD_RATE = Double.parseDouble(System.getProperty("uploadRate", "1"));
+    private static final double MATCH_RATE = Double.parseDouble(System.getProperty("matchRate", "5"));
+    private static final double INTERVIEWER_RATE = Double.parseDouble(System.getProperty("interviewerRate", "2"));
+    private static final double MAX_FAILED_PERCENT = Double.parseDouble(System.getProperty("maxFailedPercent", "5"));
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json");
+
+    private final FeederBuilder<String> jobDescriptions = csv("job-descriptions.csv").circular();
+
+    // Parse, store and embed a resume
+    private final ScenarioBuilder upload = scenario("Resume upload")
+            .exec(http("upload resume")
+                    .post("/api/resumes")
+                    .formUpload("file", "resumes/sample-resume.txt")
+                    .check(status().is(200)));
+
+    // Vector search plus one analysis call per matched resume
+    private final ScenarioBuilder matchNew = scenario("Match new")
+            .feed(jobDescriptions)
+            .exec(http("match-new")
+                    .post("/api/resumes/match-new")
+                    .formParam("jd", "#{jd}")
+                    .formParam("limit", "20")
+                    .check(status().is(200)));
+
+    // Interviewers for a freshly uploaded resume, and for a job description, with explanations
+    private final ScenarioBuilder interviewerMatching = scenario("Interviewer matching")
+            .feed(jobDescriptions)
+            .exec(http("upload resume for interviewer matching")
+                    .post("/api/resumes")
+                    .formUpload("file", "resumes/sample-resume.txt")
+                    .check(status().is(200), jsonPath("$.id").saveAs("resumeId")))
+            .exec(http("interviewers for resume")
+                    .get("/api/interviewer-matching/resume/#{resumeId}")
+                    .queryParam("limit", "5")
+                    .check(status().is(200)))
+            .exec(http("interviewers for job description")
+                    .post("/api/interviewer-matching/job-description")
+                    .queryParam("limit", "5")
+                    .asJson()
+                    .body(StringBody("{\"jobDescription\": \"#{jd}\", \"count\": 5}"))
+                    .check(status().is(200)));
+
+    {
+        setUp(
+                upload.injectOpen(constantUsersPerSec(UPLOAD_RATE).during(DURATION)),
+                matchNew.injectOpen(rampUsersPerSec(1).to(MATCH_RATE).during(DURATION)),
+                interviewerMatching.injectOpen(constantUsersPerSec(INTERVIEWER_RATE).during(DURATION)))
+                .protocols(httpProtocol)
+                .assertions(global().failedRequests().percent().lt(MAX_FAILED_PERCENT));
+    }
+}
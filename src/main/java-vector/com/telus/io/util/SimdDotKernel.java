@@ -0,0 +1,36 @@
+package com.telus.io.util;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Dot product using the JDK Vector API at the platform's preferred width.
+ *
+ * Only compiled with the vector-api Maven profile, which adds this source
+ * directory and the jdk.incubator.vector module to the compiler; the default
+ * build does not depend on the incubating API. Only referenced reflectively by
+ * {@link VectorMath}, and only when the module is present in the boot layer, so
+ * the application runs unchanged on JVMs started without it.
+ */
+final class SimdDotKernel implements VectorMath.DotKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public float dot(float[] a, float[] b) {
+        FloatVector sum = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(a.length);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            sum = va.fma(vb, sum);
+        }
+        float result = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            result += a[i] * b[i];
+        }
+        return result;
+    }
+}
@@ -1,24 +1,33 @@
 package com.telus.io;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.telus.io.dto.request.EmbeddingBatchRequest;
+import com.telus.io.dto.request.SimilarityMatrixRequest;
+import com.telus.io.service.EmbeddingComputeService;
+import com.telus.io.util.VectorMath;
+
 @RestController
 @RequestMapping("/api/simple-embedding")
 public class SimpleEmbeddingController {
     
     private final EmbeddingModel embeddingModel;
+    private final EmbeddingComputeService embeddingComputeService;
     
-    public SimpleEmbeddingController(EmbeddingModel embeddingModel) {
+    public SimpleEmbeddingController(EmbeddingModel embeddingModel, EmbeddingComputeService embeddingComputeService) {
         this.embeddingModel = embeddingModel;
+        this.embeddingComputeService = embeddingComputeService;
     }
     
     @PostMapping("/embed-text")
@@ -28,43 +37,81 @@ public class SimpleEmbeddingController {
     }
     
     @PostMapping("/embed-text-as-list")
-    public List<Float> embedTextAsList(@RequestBody String text) {
-        // Convert float[] to List<Float> manually
-        float[] embedding = embeddingModel.embed(text);
-        List<Float> result = new ArrayList<>(embedding.length);
-        for (float value : embedding) {
-            result.add(value);
-        }
-        return result;
+    public float[] embedTextAsList(@RequestBody String text) {
+        // Serialized as the same JSON array as a List<Float>, without boxing every value
+        return embeddingModel.embed(text);
     }
     
     @PostMapping("/similarity")
-    public double calculateSimilarity(@RequestBody SimilarityRequest request) {
-        // Get float arrays directly
-        float[] embedding1 = embeddingModel.embed(request.getText1());
-        float[] embedding2 = embeddingModel.embed(request.getText2());
+    public ResponseEntity<?> calculateSimilarity(@RequestBody SimilarityRequest request) {
+        if (request.getText1() == null || request.getText1().isBlank()
+                || request.getText2() == null || request.getText2().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "text1 and text2 must not be blank"));
+        }
+        // Embed both texts in one upstream call
+        List<float[]> embeddings = embeddingComputeService.embedAll(List.of(request.getText1(), request.getText2()));
+        return ResponseEntity.ok(VectorMath.cosineSimilarity(embeddings.get(0), embeddings.get(1)));
+    }
+    
+    @PostMapping("/embed-batch")
+    public ResponseEntity<Map<String, Object>> embedBatch(@RequestBody EmbeddingBatchRequest request) {
+        String encoding = request.getEncoding() == null ? "base64" : request.getEncoding().toLowerCase();
+        boolean json = "json".equals(encoding);
+        if (!json && !"base64".equals(encoding)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "encoding must be base64 or json"));
+        }
+        
+        List<float[]> embeddings;
+        try {
+            embeddings = embeddingComputeService.embedAll(request.getTexts());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
         
-        // Calculate cosine similarity with float arrays
-        return calculateCosineSimilarity(embedding1, embedding2);
+        List<Object> encoded = new ArrayList<>(embeddings.size());
+        for (float[] embedding : embeddings) {
+            encoded.add(json ? embedding : VectorMath.toBase64(embedding));
+        }
+        
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("count", embeddings.size());
+        response.put("dimensions", embeddings.get(0).length);
+        response.put("encoding", json ? "json" : "base64");
+        response.put("embeddings", encoded);
+        return ResponseEntity.ok(response);
     }
     
-    // Optimized method for float arrays
-    private double calculateCosineSimilarity(float[] a, float[] b) {
-        if (a.length != b.length) {
-            throw new IllegalArgumentException("Embedding dimensions must match");
+    @PostMapping("/similarity-matrix")
+    public ResponseEntity<?> similarityMatrix(@RequestBody SimilarityMatrixRequest request) {
+        String encoding = request.getEncoding() == null ? "base64" : request.getEncoding().toLowerCase();
+        if (!List.of("base64", "json", "binary").contains(encoding)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "encoding must be base64, json or binary"));
         }
         
-        double dotProduct = 0.0;
-        double normA = 0.0;
-        double normB = 0.0;
+        float[] matrix;
+        try {
+            matrix = embeddingComputeService.similarityMatrix(request.getRows(), request.getColumns());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
         
-        for (int i = 0; i < a.length; i++) {
-            dotProduct += a[i] * b[i];
-            normA += a[i] * a[i];
-            normB += b[i] * b[i];
+        int rows = request.getRows().size();
+        int columns = request.getColumns().size();
+        if ("binary".equals(encoding)) {
+            // Little-endian float32, row-major; shape in headers
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header("X-Matrix-Rows", String.valueOf(rows))
+                    .header("X-Matrix-Columns", String.valueOf(columns))
+                    .body(VectorMath.toBytes(matrix));
         }
         
-        return dotProduct / (Math.sqrt(normA) * Math.sqrt(normB));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("rows", rows);
+        response.put("columns", columns);
+        response.put("encoding", encoding);
+        response.put("matrix", "json".equals(encoding) ? matrix : VectorMath.toBase64(matrix));
+        return ResponseEntity.ok(response);
     }
 }
 
@@ -1,8 +1,13 @@
 package com.telus.io;
 
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.memory.MessageWindowChatMemory;
 import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.ai.openai.api.OpenAiApi;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -10,12 +15,19 @@ import org.springframework.context.annotation.Primary;
 @Configuration
 public class SimpleFuelixConfig {
     
+    // Resolved from properties so a profile (e.g. stub-llm) can redirect the client
+    @Value("${spring.ai.openai.base-url:https://api.openai.com}")
+    private String baseUrl;
+    
+    @Value("${spring.ai.openai.api-key}")
+    private String apiKey;
+    
     @Bean
     @Primary
     public OpenAiApi openAiApi() {
         return OpenAiApi.builder()
-            .baseUrl("${spring.ai.openai.base-url}")
-            .apiKey("${spring.ai.openai.api-key}")
+            .baseUrl(baseUrl)
+            .apiKey(apiKey)
             .build();
     }
     
@@ -23,4 +35,14 @@ public class SimpleFuelixConfig {
     public ChatClient chatClient(ChatModel chatModel) {
         return ChatClient.builder(chatModel).build();
     }
+    
+    // Per-node chat memory, used while JdbcSummarizingChatMemory is off because its tables do not exist yet
+    @Bean
+    @ConditionalOnProperty(name = "app.chat.memory.jdbc.enabled", havingValue = "false", matchIfMissing = true)
+    public ChatMemory inMemoryChatMemory(@Value("${app.chat.memory.in-memory.max-messages:20}") int maxMessages) {
+        return MessageWindowChatMemory.builder()
+            .chatMemoryRepository(new InMemoryChatMemoryRepository())
+            .maxMessages(maxMessages)
+            .build();
+    }
 }
@@ -2,8 +2,11 @@ package com.telus.io;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+// Scheduled jobs are configured under app.*; the nightly vector store sync stays off unless app.vector-sync.cron is set
+@EnableScheduling
 public class TelusAiMarkApplication {
 
 	public static void main(String[] args) {
@@ -36,6 +36,15 @@ public class AsyncConfig {
     @Value("${app.async.ai-operations.queue-capacity:200}")
     private int aiOperationsQueueCapacity;
     
+    @Value("${app.async.ai-hedging.core-pool-size:10}")
+    private int aiHedgingCorePoolSize;
+    
+    @Value("${app.async.ai-hedging.max-pool-size:40}")
+    private int aiHedgingMaxPoolSize;
+    
+    @Value("${app.async.ai-hedging.queue-capacity:0}")
+    private int aiHedgingQueueCapacity;
+    
     /**
      * Executor for general resume processing operations.
      * 
@@ -70,6 +79,24 @@ public class AsyncConfig {
         return executor;
     }
     
+    /**
+     * Executor for hedged AI calls. Rejects instead of queueing so a saturated
+     * pool makes callers fall back to an unhedged call on their own thread.
+     * 
+     * @return The configured executor
+     */
+    @Bean(name = "aiHedgingExecutor")
+    public Executor aiHedgingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(aiHedgingCorePoolSize);
+        executor.setMaxPoolSize(aiHedgingMaxPoolSize);
+        executor.setQueueCapacity(aiHedgingQueueCapacity);
+        executor.setThreadNamePrefix("AI-Hedge-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
     /**
      * General task executor for other async operations.
      * 
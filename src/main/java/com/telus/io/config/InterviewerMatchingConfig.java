@@ -49,6 +49,22 @@ public class InterviewerMatchingConfig {
     @Value("${interviewer.matching.dual-vector.threshold:0.6}")
     private double dualVectorThreshold;
     
+    /**
+     * The number of most similar interviewers considered for each candidate
+     * in bulk assignment. Higher values widen the search when the best
+     * interviewers are fully booked, at the cost of a larger assignment graph.
+     * Default value is 25.
+     */
+    @Value("${interviewer.matching.assignment.candidate-edges:25}")
+    private int assignmentCandidateEdges;
+    
+    /**
+     * The maximum number of candidates accepted in one bulk assignment.
+     * Default value is 500.
+     */
+    @Value("${interviewer.matching.assignment.max-candidates:500}")
+    private int assignmentMaxCandidates;
+    
     /**
      * Get the similarity threshold for interviewer matching.
      * 
@@ -93,4 +109,22 @@ public class InterviewerMatchingConfig {
     public double getDualVectorThreshold() {
         return dualVectorThreshold;
     }
+    
+    /**
+     * Get the number of most similar interviewers considered per candidate in bulk assignment.
+     * 
+     * @return The number of interviewers per candidate
+     */
+    public int getAssignmentCandidateEdges() {
+        return assignmentCandidateEdges;
+    }
+    
+    /**
+     * Get the maximum number of candidates accepted in one bulk assignment.
+     * 
+     * @return The maximum number of candidates
+     */
+    public int getAssignmentMaxCandidates() {
+        return assignmentMaxCandidates;
+    }
 }
@@ -2,6 +2,9 @@ package com.telus.io.config;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -12,19 +15,31 @@ import org.postgresql.util.PGobject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.telus.io.dto.InterviewerQueryContext;
+import com.telus.io.model.InterviewerMetadata;
 import com.telus.io.model.InterviewerProfile;
+import com.telus.io.model.InterviewerProjection;
 import com.telus.io.model.InterviewerVectorStore;
-import com.telus.io.repository.InterviewerProfileRepository;
+import com.telus.io.scheduler.VectorStoreStateTracker;
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.MetadataFilterCompiler;
 
 
 /**
@@ -49,7 +64,23 @@ public class InterviewerVectorStoreConfig {
     private RetryTemplate aiRetryTemplate;
     
     @Autowired
-    private InterviewerProfileRepository interviewerRepository;
+    private AiMetrics aiMetrics;
+    
+    @Autowired
+    private MetadataFilterCompiler filterCompiler;
+    
+    @Autowired
+    private VectorStoreStateTracker stateTracker;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${app.cache.interviewer-projection.max-size:5000}")
+    private long projectionCacheMaxSize;
+    
+    @Value("${app.cache.interviewer-projection.idle-seconds:3600}")
+    private long projectionCacheIdleSeconds;
+    
     
     /**
      * Create a dedicated JDBC-based vector store service for interviewers.
@@ -64,7 +95,12 @@ public class InterviewerVectorStoreConfig {
                 embeddingModel, 
                 objectMapper, 
                 aiRetryTemplate,
-                interviewerRepository);
+                aiMetrics,
+                filterCompiler,
+                stateTracker,
+                transactionManager,
+                projectionCacheMaxSize,
+                projectionCacheIdleSeconds);
     }
     
     /**
@@ -75,23 +111,59 @@ public class InterviewerVectorStoreConfig {
         
         private static final Logger logger = LoggerFactory.getLogger(InterviewerVectorStoreService.class);
         
+        private static final String PROJECTION_CACHE = "interviewer-projection";
+        
+        private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() { };
+        private static final TypeReference<Map<String, Integer>> AVAILABILITY = new TypeReference<>() { };
+        
+        // Vector store columns plus the interviewer profile, so rows map without a lookup per row
+        private static final String SELECT_WITH_PROFILE =
+                "SELECT ivs.id, ivs.interviewer_id, ivs.content, ivs.metadata, ivs.embedding <=> ?::vector AS distance, " +
+                "ip.name AS ip_name, ip.email AS ip_email, ip.phone_number AS ip_phone_number, " +
+                "ip.experience_years AS ip_experience_years, ip.interviewer_tier AS ip_interviewer_tier, " +
+                "ip.max_interviews_per_day AS ip_max_interviews_per_day, " +
+                "ip.technical_expertise AS ip_technical_expertise, ip.specializations AS ip_specializations, " +
+                "ip.availability AS ip_availability, ip.created_at AS ip_created_at, ip.updated_at AS ip_updated_at " +
+                "FROM interviewer_vector_store ivs " +
+                "JOIN interviewer_profiles ip ON ip.id = ivs.interviewer_id ";
+        
         private final JdbcTemplate jdbcTemplate;
         private final EmbeddingModel embeddingModel;
         private final ObjectMapper objectMapper;
         private final RetryTemplate retryTemplate;
-        private final InterviewerProfileRepository interviewerRepository;
+        private final AiMetrics aiMetrics;
+        private final MetadataFilterCompiler filterCompiler;
+        private final VectorStoreStateTracker stateTracker;
+        private final TransactionTemplate readOnlyTransaction;
+        
+        // Latest decoded projection per interviewer, replaced when the stored revision changes.
+        // Bounded, and idle entries (e.g. deleted interviewers) expire
+        private final Cache<UUID, InterviewerProjection> projectionCache;
         
         public InterviewerVectorStoreService(
                 JdbcTemplate jdbcTemplate, 
                 EmbeddingModel embeddingModel, 
                 ObjectMapper objectMapper,
                 RetryTemplate retryTemplate,
-                InterviewerProfileRepository interviewerRepository) {
+                AiMetrics aiMetrics,
+                MetadataFilterCompiler filterCompiler,
+                VectorStoreStateTracker stateTracker,
+                PlatformTransactionManager transactionManager,
+                long projectionCacheMaxSize,
+                long projectionCacheIdleSeconds) {
             this.jdbcTemplate = jdbcTemplate;
             this.embeddingModel = embeddingModel;
             this.objectMapper = objectMapper;
             this.retryTemplate = retryTemplate;
-            this.interviewerRepository = interviewerRepository;
+            this.aiMetrics = aiMetrics;
+            this.filterCompiler = filterCompiler;
+            this.stateTracker = stateTracker;
+            this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+            this.readOnlyTransaction.setReadOnly(true);
+            this.projectionCache = Caffeine.newBuilder()
+                    .maximumSize(projectionCacheMaxSize)
+                    .expireAfterAccess(Duration.ofSeconds(projectionCacheIdleSeconds))
+                    .build();
         }
         
 //        /**
@@ -141,112 +213,184 @@ public class InterviewerVectorStoreConfig {
 //            }
 //        }
         
+        /**
+         * Find similar interviewers with their similarity scores.
+         * Interviewer data comes from cached projections of the stored metadata,
+         * so a row is only decoded the first time its revision is seen.
+         * 
+         * @param embedding The embedding vector to search for
+         * @param limit The maximum number of results to return
+         * @return Maps with the keys "interviewer", "similarity" and "projection"
+         */
         public List<Map<String, Object>> findSimilarWithScores(String embedding, int limit) {
-            
-            
             try {
-                return jdbcTemplate.query(
-                    "SELECT ivs.id, ivs.interviewer_id, ivs.content, ivs.metadata, " +
+                return aiMetrics.recordVectorSearch("interviewer", "similar-with-scores", () -> jdbcTemplate.query(
+                    "SELECT ivs.interviewer_id, ivs.metadata, " +
+                    "COALESCE((ivs.metadata->>'revision')::bigint, 0) AS revision, " +
                     "1 - (ivs.embedding <=> ?::vector) AS similarity " +
                     "FROM interviewer_vector_store ivs " +
                     "ORDER BY ivs.embedding <=> ?::vector " +
                     "LIMIT ?",
-                    (rs, rowNum) -> {
-                        Map<String, Object> result = new HashMap<>();
-                        
-                        // Get metadata (contains ALL interviewer data)
-                        String metadataJson = rs.getString("metadata");
-                        Map<String, Object> metadata = parseMetadata(metadataJson);
-                        
-                        // Reconstruct InterviewerProfile from metadata (NO DB call!)
-                        InterviewerProfile interviewer = reconstructInterviewerFromMetadata(metadata);
-                        
-                        // Get the similarity score
-                        double similarity = rs.getDouble("similarity");
-                        
-                        // Add to result map
-                        result.put("interviewer", interviewer);
-                        result.put("similarity", similarity);
-                        result.put("metadata", metadata);  // Keep metadata for debugging
-                        
-                        return result;
-                    },
-                    embedding, embedding, limit);
+                    (rs, rowNum) -> mapScoredRow(rs),
+                    embedding, embedding, limit));
             } catch (DataAccessException e) {
                 logger.error("Error performing similarity search with scores: {}", e.getMessage(), e);
                 return Collections.emptyList();
             }
         }
-
-        
         
+        /**
+         * Create the query context for a matching request, embedding the query once.
+         * 
+         * @param query The query text
+         * @return The context carrying the embedding and its pgvector literal
+         */
+        public InterviewerQueryContext createQueryContext(String query) {
+            float[] embedding = generateEmbedding(query);
+            return new InterviewerQueryContext(query, embedding, convertToVectorString(embedding));
+        }
         
         /**
-         * Parse JSON metadata string into Map
+         * Find similar interviewers matching a metadata filter, with scores, in a single query.
+         * The filter and the similarity threshold are applied in SQL and the candidates are
+         * stored on the context.
+         * 
+         * An ivfflat index scan only yields the rows of the probed lists, and a filter applied
+         * to those can leave fewer than limit rows. Filtered queries therefore run with index
+         * scans disabled for their transaction: the matching rows are found by a sequential
+         * scan or a bitmap scan of the metadata indexes and sorted exactly, so up to limit
+         * rows are always returned. Unfiltered queries keep the ANN index.
+         * 
+         * @param context The query context
+         * @param filter The metadata filter expression (may be null)
+         * @param minSimilarity The minimum similarity to return
+         * @param limit The maximum number of results to return
+         * @return Maps with the keys "interviewer", "similarity" and "projection", best match first
+         * @see MetadataFilterCompiler
          */
-        private Map<String, Object> parseMetadata(String metadataJson) {
+        public List<Map<String, Object>> findSimilarWithScores(
+                InterviewerQueryContext context, Filter.Expression filter, double minSimilarity, int limit) {
+            MetadataFilterCompiler.CompiledFilter compiled = filterCompiler.compile(filter, "ivs.metadata");
+            
+            StringBuilder sql = new StringBuilder(
+                    "SELECT ivs.interviewer_id, ivs.metadata, " +
+                    "COALESCE((ivs.metadata->>'revision')::bigint, 0) AS revision, " +
+                    "1 - (ivs.embedding <=> ?::vector) AS similarity " +
+                    "FROM interviewer_vector_store ivs " +
+                    "WHERE 1 - (ivs.embedding <=> ?::vector) >= ? ");
+            List<Object> params = new ArrayList<>();
+            params.add(context.getVectorLiteral());
+            params.add(context.getVectorLiteral());
+            params.add(minSimilarity);
+            
+            if (!compiled.isEmpty()) {
+                sql.append("AND ").append(compiled.sql()).append(' ');
+                params.addAll(compiled.params());
+            }
+            
+            sql.append("ORDER BY ivs.embedding <=> ?::vector LIMIT ?");
+            params.add(context.getVectorLiteral());
+            params.add(limit);
+            
             try {
-                ObjectMapper objectMapper = new ObjectMapper();
-                return objectMapper.readValue(metadataJson, Map.class);
-            } catch (Exception e) {
-                logger.error("Error parsing metadata JSON: {}", e.getMessage(), e);
-                return new HashMap<>();
+                List<Map<String, Object>> results = aiMetrics.recordVectorSearch("interviewer", "filtered-with-scores",
+                        () -> readOnlyTransaction.execute(status -> {
+                            if (!compiled.isEmpty()) {
+                                // Only affects this transaction; bitmap scans of the metadata indexes stay enabled
+                                jdbcTemplate.execute("SET LOCAL enable_indexscan = off");
+                            }
+                            return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapScoredRow(rs),
+                                    params.toArray());
+                        }));
+                context.setCandidates(results);
+                return results;
+            } catch (DataAccessException e) {
+                logger.error("Error performing filtered similarity search: {}", e.getMessage(), e);
+                return Collections.emptyList();
             }
         }
-
+        
+        private Map<String, Object> mapScoredRow(ResultSet rs) throws SQLException {
+            UUID interviewerId = UUID.fromString(rs.getString("interviewer_id"));
+            InterviewerProjection projection = resolveProjection(
+                    interviewerId, rs.getLong("revision"), rs.getString("metadata"));
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("interviewer", projection != null ? projection.toProfile() : null);
+            result.put("similarity", rs.getDouble("similarity"));
+            result.put("projection", projection);
+            return result;
+        }
+        
         /**
-         * Reconstruct InterviewerProfile from metadata (NO DB calls)
+         * Get the decoded projection for an interviewer, decoding the metadata only
+         * when the cached projection is missing or older than the stored revision.
+         * 
+         * @param interviewerId The interviewer ID
+         * @param revision The revision stored with the row
+         * @param metadataJson The raw metadata, decoded only on a cache miss
+         * @return The projection, or null if the metadata cannot be decoded
          */
-        private InterviewerProfile reconstructInterviewerFromMetadata(Map<String, Object> metadata) {
+        private InterviewerProjection resolveProjection(UUID interviewerId, long revision, String metadataJson) {
+            InterviewerProjection cached = projectionCache.getIfPresent(interviewerId);
+            if (cached != null && cached.revision() == revision) {
+                aiMetrics.recordCacheAccess(PROJECTION_CACHE, true);
+                return cached;
+            }
+            aiMetrics.recordCacheAccess(PROJECTION_CACHE, false);
+            
             try {
-                InterviewerProfile interviewer = new InterviewerProfile();
-                
-                // Set basic fields from your metadata
-                interviewer.setId(UUID.fromString((String) metadata.get("interviewerId")));
-                interviewer.setName((String) metadata.get("name"));
-                interviewer.setEmail((String) metadata.get("email"));
-                interviewer.setExperienceYears(((Number) metadata.get("experienceYears")).intValue());
-                
-                // Set tier if available
-                if (metadata.containsKey("tier")) {
-                   // interviewer.setTier(null);
-                }
-                
-                // Set technical expertise
-                Object techExpertise = metadata.get("technicalExpertise");
-                if (techExpertise instanceof List) {
-                    interviewer.setTechnicalExpertise((List<String>) techExpertise);
+                InterviewerMetadata metadata = objectMapper.readValue(metadataJson, InterviewerMetadata.class);
+                if (metadata.getInterviewerId() == null) {
+                    metadata.setInterviewerId(interviewerId.toString());
                 }
-                
-                // Set specializations
-                Object specializations = metadata.get("specializations");
-                if (specializations instanceof List) {
-                    interviewer.setSpecializations((List<String>) specializations);
-                }
-                
-                return interviewer;
-                
+                InterviewerProjection projection = InterviewerProjection.from(metadata);
+                // Never replace a newer projection with an older one
+                projectionCache.asMap().merge(interviewerId, projection,
+                        (existing, decoded) -> decoded.revision() >= existing.revision() ? decoded : existing);
+                return projection;
             } catch (Exception e) {
-                logger.error("Error reconstructing interviewer from metadata: {}", e.getMessage(), e);
+                logger.error("Error decoding metadata for interviewer {}: {}", interviewerId, e.getMessage(), e);
                 return null;
             }
         }
         
+        /**
+         * Get the revision to store with a rewritten entry for an interviewer: the
+         * stored revision plus one, or 1 for a new entry. Call in the transaction
+         * that rewrites the entry. The interviewer's profile row is locked first,
+         * so concurrent rewrites of the same interviewer are serialized and each
+         * reads the revision the previous one committed.
+         * 
+         * @param interviewerId The interviewer ID
+         * @return The next revision
+         */
+        public long nextRevision(UUID interviewerId) {
+            jdbcTemplate.queryForList("SELECT id FROM interviewer_profiles WHERE id = ? FOR UPDATE", UUID.class,
+                    interviewerId);
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX((metadata->>'revision')::bigint), 0) FROM interviewer_vector_store "
+                    + "WHERE interviewer_id = ?", Long.class, interviewerId);
+            return (current != null ? current : 0) + 1;
+        }
+        
+        /**
+         * Drop the cached projection for an interviewer, e.g. after it is deleted.
+         * 
+         * @param interviewerId The interviewer ID
+         */
+        public void evictProjection(UUID interviewerId) {
+            projectionCache.invalidate(interviewerId);
+        }
+        
         /**
          * Check if any interviewer vector store entries exist.
          * 
          * @return True if at least one entry exists, false otherwise
          */
         public boolean existsAny() {
-            try {
-                Long count = jdbcTemplate.queryForObject(
-                    "SELECT COUNT(*) FROM interviewer_vector_store", 
-                    Long.class);
-                return count != null && count > 0;
-            } catch (DataAccessException e) {
-                logger.error("Error checking if interviewer vector store exists: {}", e.getMessage(), e);
-                return false;
-            }
+            // Tracked state; the table is only probed when its state is unknown
+            return stateTracker.hasEntries(VectorStoreStateTracker.Table.INTERVIEWER);
         }
         
         /**
@@ -275,21 +419,14 @@ public class InterviewerVectorStoreConfig {
          * @return A list of interviewer vector store entries ordered by similarity
          */
         public List<InterviewerVectorStore> findSimilar(String embedding, int limit) {
-            // First check if the vector store is empty
-            if (!existsAny()) {
-                logger.warn("Interviewer vector store is empty. Returning empty result.");
-                return Collections.emptyList();
-            }
-            
             try {
-                // Perform similarity search with optimized query
-                return jdbcTemplate.query(
-                    "SELECT ivs.id, ivs.interviewer_id, ivs.content, ivs.metadata, ivs.embedding <=> ?::vector AS distance " +
-                    "FROM interviewer_vector_store ivs " +
+                // Perform similarity search with optimized query; an empty store simply returns no rows
+                return aiMetrics.recordVectorSearch("interviewer", "similar", () -> jdbcTemplate.query(
+                    SELECT_WITH_PROFILE +
                     "ORDER BY ivs.embedding <=> ?::vector " +
                     "LIMIT ?",
                     new InterviewerVectorStoreRowMapper(),
-                    embedding, embedding, limit);
+                    embedding, embedding, limit));
             } catch (DataAccessException e) {
                 logger.error("Error performing similarity search: {}", e.getMessage(), e);
                 return Collections.emptyList();
@@ -308,22 +445,15 @@ public class InterviewerVectorStoreConfig {
          */
         public List<InterviewerVectorStore> findSimilarWithMetadataFilter(
                 String embedding, String metadataKey, String metadataValue, int limit) {
-            // First check if the vector store is empty
-            if (!existsAny()) {
-                logger.warn("Interviewer vector store is empty. Returning empty result.");
-                return Collections.emptyList();
-            }
-            
             try {
-                // Perform similarity search with metadata filter
-                return jdbcTemplate.query(
-                    "SELECT ivs.id, ivs.interviewer_id, ivs.content, ivs.metadata, ivs.embedding <=> ?::vector AS distance " +
-                    "FROM interviewer_vector_store ivs " +
+                // Perform similarity search with metadata filter; an empty store simply returns no rows
+                return aiMetrics.recordVectorSearch("interviewer", "similar-with-filter", () -> jdbcTemplate.query(
+                    SELECT_WITH_PROFILE +
                     "WHERE ivs.metadata->? = CAST(? AS jsonb) " +
                     "ORDER BY ivs.embedding <=> ?::vector " +
                     "LIMIT ?",
                     new InterviewerVectorStoreRowMapper(),
-                    embedding, metadataKey, metadataValue, embedding, limit);
+                    embedding, metadataKey, metadataValue, embedding, limit));
             } catch (DataAccessException e) {
                 logger.error("Error performing similarity search with metadata filter: {}", e.getMessage(), e);
                 return Collections.emptyList();
@@ -339,7 +469,7 @@ public class InterviewerVectorStoreConfig {
         public float[] generateEmbedding(String text) {
             return retryTemplate.execute(context -> {
                 try {
-                    return embeddingModel.embed(text);
+                    return aiMetrics.recordEmbedding("interviewer-query", context, () -> embeddingModel.embed(text));
                 } catch (Exception e) {
                     logger.error("Error generating embedding: {}", e.getMessage());
                     throw e;
@@ -347,6 +477,7 @@ public class InterviewerVectorStoreConfig {
             }, context -> {
                 // Fallback when all retries fail
                 logger.error("All retries failed for embedding generation. Using fallback empty embedding.");
+                aiMetrics.recordEmbeddingFallback("interviewer-query");
                 return new float[1536]; // Default embedding dimension
             });
         }
@@ -370,7 +501,8 @@ public class InterviewerVectorStoreConfig {
         }
         
         /**
-         * Row mapper for interviewer vector store entries.
+         * Row mapper for interviewer vector store entries joined with their interviewer profile
+         * (see {@link #SELECT_WITH_PROFILE}).
          */
         private class InterviewerVectorStoreRowMapper implements RowMapper<InterviewerVectorStore> {
             
@@ -388,8 +520,8 @@ public class InterviewerVectorStoreConfig {
                 InterviewerVectorStore vectorStore = new InterviewerVectorStore();
                 vectorStore.setId(id);
                 
-                // Fetch the interviewer
-                interviewerRepository.findById(interviewerId).ifPresent(vectorStore::setInterviewer);
+                // The interviewer profile comes from the joined columns
+                vectorStore.setInterviewer(mapInterviewer(rs, interviewerId));
                 
                 vectorStore.setContent(content);
                 vectorStore.setMetadata(metadata);
@@ -397,6 +529,37 @@ public class InterviewerVectorStoreConfig {
                 return vectorStore;
             }
             
+            private InterviewerProfile mapInterviewer(ResultSet rs, UUID interviewerId) throws SQLException {
+                InterviewerProfile interviewer = new InterviewerProfile();
+                interviewer.setId(interviewerId);
+                interviewer.setName(rs.getString("ip_name"));
+                interviewer.setEmail(rs.getString("ip_email"));
+                interviewer.setPhoneNumber(rs.getString("ip_phone_number"));
+                interviewer.setExperienceYears(rs.getInt("ip_experience_years"));
+                interviewer.setInterviewerTier(rs.getInt("ip_interviewer_tier"));
+                interviewer.setMaxInterviewsPerDay(rs.getInt("ip_max_interviews_per_day"));
+                interviewer.setTechnicalExpertise(readJson(rs.getString("ip_technical_expertise"), STRING_LIST));
+                interviewer.setSpecializations(readJson(rs.getString("ip_specializations"), STRING_LIST));
+                interviewer.setAvailability(readJson(rs.getString("ip_availability"), AVAILABILITY));
+                Timestamp createdAt = rs.getTimestamp("ip_created_at");
+                Timestamp updatedAt = rs.getTimestamp("ip_updated_at");
+                interviewer.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+                interviewer.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+                return interviewer;
+            }
+            
+            private <T> T readJson(String json, TypeReference<T> type) {
+                if (json == null) {
+                    return null;
+                }
+                try {
+                    return objectMapper.readValue(json, type);
+                } catch (Exception e) {
+                    logger.error("Error parsing interviewer profile JSON: {}", e.getMessage(), e);
+                    return null;
+                }
+            }
+            
             /**
              * Parse metadata from various object types.
              * 
@@ -1,5 +1,7 @@
 package com.telus.io.config;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -14,13 +16,18 @@ import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.VectorStore;
 import org.springframework.ai.vectorstore.filter.Filter.Expression;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.retry.support.RetryTemplate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telus.io.scheduler.VectorStoreStateTracker;
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.MetadataFilterCompiler;
 
 /**
  * Configuration for the resume-specific vector store.
@@ -28,6 +35,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Configuration
 public class ResumeVectorStoreConfig {
     
+    @Value("${app.resume.hybrid-search.enabled:false}")
+    private boolean hybridSearchEnabled;
+    
+    @Value("${app.resume.hybrid-search.vector-weight:1.0}")
+    private double hybridVectorWeight;
+    
+    @Value("${app.resume.hybrid-search.lexical-weight:1.0}")
+    private double hybridLexicalWeight;
+    
+    @Value("${app.resume.hybrid-search.rank-constant:60}")
+    private int hybridRankConstant;
+    
+    @Value("${app.resume.hybrid-search.candidate-multiplier:4}")
+    private int hybridCandidateMultiplier;
+    
     /**
      * Create a dedicated vector store for resumes.
      * 
@@ -41,8 +63,27 @@ public class ResumeVectorStoreConfig {
             JdbcTemplate jdbcTemplate, 
             EmbeddingModel embeddingModel, 
             ObjectMapper objectMapper,
-            RetryTemplate aiRetryTemplate) {
-        return new ResumeVectorStore(jdbcTemplate, embeddingModel, objectMapper, aiRetryTemplate);
+            RetryTemplate aiRetryTemplate,
+            AiMetrics aiMetrics,
+            MetadataFilterCompiler filterCompiler,
+            VectorStoreStateTracker stateTracker) {
+        HybridSearchSettings hybridSearch = new HybridSearchSettings(hybridSearchEnabled, hybridVectorWeight,
+                hybridLexicalWeight, hybridRankConstant, hybridCandidateMultiplier);
+        return new ResumeVectorStore(jdbcTemplate, embeddingModel, objectMapper, aiRetryTemplate, aiMetrics,
+                filterCompiler, stateTracker, hybridSearch);
+    }
+    
+    /**
+     * Settings for hybrid lexical + vector retrieval.
+     * 
+     * @param enabled Whether similarity searches fuse full-text and vector rankings
+     * @param vectorWeight Weight of the vector ranking in the fused score
+     * @param lexicalWeight Weight of the full-text ranking in the fused score
+     * @param rankConstant The reciprocal rank fusion constant k; larger values flatten the rank curve
+     * @param candidateMultiplier How many candidates each ranking contributes, as a multiple of topK
+     */
+    public record HybridSearchSettings(
+            boolean enabled, double vectorWeight, double lexicalWeight, int rankConstant, int candidateMultiplier) {
     }
     
     /**
@@ -56,16 +97,85 @@ public class ResumeVectorStoreConfig {
         private final EmbeddingModel embeddingModel;
         private final ObjectMapper objectMapper;
         private final RetryTemplate retryTemplate;
+        private final AiMetrics aiMetrics;
+        private final MetadataFilterCompiler filterCompiler;
+        private final VectorStoreStateTracker stateTracker;
+        private final HybridSearchSettings hybridSearch;
+        
+        // metadata is a json column; the cast matches the GIN expression index in schema.sql
+        private static final String METADATA_COLUMN = "(r.metadata::jsonb)";
+        
+        /** Metadata key set on search results: whether the resume's evaluation is locked. */
+        public static final String LOCKED_METADATA_KEY = "locked";
+        
+        /** Metadata key set on search results for locked resumes: the manager holding the lock. */
+        public static final String LOCKED_BY_METADATA_KEY = "lockedBy";
+        
+        /** Metadata key set on hybrid search results: the reciprocal rank fusion score they were ranked by. */
+        public static final String HYBRID_SCORE_METADATA_KEY = "hybridScore";
+        
+        // Lock projection joined into search results; reads only the partial lock index
+        private static final String LOCK_JOIN =
+                "LEFT JOIN LATERAL (SELECT ce.resume_id, ce.manager_id FROM candidate_evaluations ce " +
+                "                   WHERE ce.resume_id = r.resume_id AND ce.locked = TRUE LIMIT 1) rl ON TRUE ";
+        
+        private static final String UNLOCKED_CONDITION =
+                " AND NOT EXISTS (SELECT 1 FROM candidate_evaluations ce " +
+                "WHERE ce.resume_id = r.resume_id AND ce.locked = TRUE)";
+        
+        /*
+         * Reciprocal rank fusion of a vector ranking and a full-text ranking in one round trip.
+         * Each ranking keeps its own top candidates; a resume found by only one of them still
+         * scores through that ranking. The query terms are OR-ed so that a resume matching
+         * some of the skills in a long job description is still found, and ts_rank_cd then
+         * favours resumes that match more of them. %1$s receives the filter and threshold
+         * conditions, applied to both rankings.
+         */
+        private static final String HYBRID_SEARCH_SQL =
+                "WITH query AS ( " +
+                "    SELECT replace(plainto_tsquery('english', ?)::text, '&', '|')::tsquery AS terms " +
+                "), vector_ranked AS ( " +
+                "    SELECT id, distance, ROW_NUMBER() OVER (ORDER BY distance) AS rank " +
+                "    FROM (SELECT r.id, r.embedding <=> ?::vector AS distance " +
+                "          FROM resume_vector_store r " +
+                "          WHERE TRUE %1$s " +
+                "          ORDER BY r.embedding <=> ?::vector " +
+                "          LIMIT ?) v " +
+                "), lexical_ranked AS ( " +
+                "    SELECT id, ROW_NUMBER() OVER (ORDER BY lexical_score DESC) AS rank " +
+                "    FROM (SELECT r.id, ts_rank_cd(r.content_tsv, query.terms) AS lexical_score " +
+                "          FROM resume_vector_store r, query " +
+                "          WHERE r.content_tsv @@ query.terms %1$s " +
+                "          ORDER BY lexical_score DESC " +
+                "          LIMIT ?) l " +
+                ") " +
+                "SELECT r.id, r.resume_id, r.content, r.metadata, r.embedding <=> ?::vector AS distance, " +
+                "       rl.resume_id IS NOT NULL AS locked, rl.manager_id AS locked_by, " +
+                "       COALESCE(?::float8 / (? + v.rank), 0) + COALESCE(?::float8 / (? + l.rank), 0) AS fused_score " +
+                "FROM vector_ranked v " +
+                "FULL OUTER JOIN lexical_ranked l ON l.id = v.id " +
+                "JOIN resume_vector_store r ON r.id = COALESCE(v.id, l.id) " +
+                LOCK_JOIN +
+                "ORDER BY fused_score DESC " +
+                "LIMIT ?";
         
         public ResumeVectorStore(
                 JdbcTemplate jdbcTemplate, 
                 EmbeddingModel embeddingModel, 
                 ObjectMapper objectMapper,
-                RetryTemplate retryTemplate) {
+                RetryTemplate retryTemplate,
+                AiMetrics aiMetrics,
+                MetadataFilterCompiler filterCompiler,
+                VectorStoreStateTracker stateTracker,
+                HybridSearchSettings hybridSearch) {
             this.jdbcTemplate = jdbcTemplate;
             this.embeddingModel = embeddingModel;
             this.objectMapper = objectMapper;
             this.retryTemplate = retryTemplate;
+            this.aiMetrics = aiMetrics;
+            this.filterCompiler = filterCompiler;
+            this.stateTracker = stateTracker;
+            this.hybridSearch = hybridSearch;
         }
         
         @Override
@@ -75,7 +185,7 @@ public class ResumeVectorStoreConfig {
                     // Generate embedding with retry for network issues
                     float[] embedding = retryTemplate.execute(context -> {
                         try {
-                            return embeddingModel.embed(document);
+                            return aiMetrics.recordEmbedding("resume-index", context, () -> embeddingModel.embed(document));
                         } catch (Exception e) {
                             logger.error("Error generating embedding: {}", e.getMessage());
                             throw e;
@@ -83,6 +193,7 @@ public class ResumeVectorStoreConfig {
                     }, context -> {
                         // Fallback when all retries fail
                         logger.error("All retries failed for embedding generation. Using fallback empty embedding.");
+                        aiMetrics.recordEmbeddingFallback("resume-index");
                         return new float[1536]; // Default embedding dimension
                     });
                     
@@ -112,6 +223,7 @@ public class ResumeVectorStoreConfig {
                         metadataJson,  // Properly formatted JSON
                         vectorString
                     );
+                    stateTracker.recordInsert(VectorStoreStateTracker.Table.RESUME);
                 } catch (Exception e) {
                     logger.error("Error adding document to vector store: {}", e.getMessage(), e);
                     // Continue with the next document
@@ -123,10 +235,23 @@ public class ResumeVectorStoreConfig {
         
         @Override
         public List<Document> similaritySearch(SearchRequest request) {
+            return similaritySearch(request, false);
+        }
+        
+        /**
+         * Similarity search that reports the lock status of each resume in its metadata
+         * ({@link #LOCKED_METADATA_KEY}, {@link #LOCKED_BY_METADATA_KEY}) and can exclude
+         * locked resumes before ranking.
+         * 
+         * @param request The search request
+         * @param excludeLocked Whether resumes with a locked evaluation are left out
+         * @return The documents, best match first
+         */
+        public List<Document> similaritySearch(SearchRequest request, boolean excludeLocked) {
             // Generate embedding for the query with retry for network issues
             float[] queryEmbedding = retryTemplate.execute(context -> {
                 try {
-                    return embeddingModel.embed(request.getQuery());
+                    return aiMetrics.recordEmbedding("resume-query", context, () -> embeddingModel.embed(request.getQuery()));
                 } catch (Exception e) {
                     logger.error("Error generating query embedding: {}", e.getMessage());
                     throw e;
@@ -134,68 +259,197 @@ public class ResumeVectorStoreConfig {
             }, context -> {
                 // Fallback when all retries fail
                 logger.error("All retries failed for query embedding generation. Using fallback empty embedding.");
+                aiMetrics.recordEmbeddingFallback("resume-query");
                 return new float[1536]; // Default embedding dimension
             });
             
             // Convert embedding to PostgreSQL vector format
             String vectorString = convertToVectorString(queryEmbedding);
             
+            // Filter expression and similarity threshold are both applied in SQL
+            SearchConditions conditions = searchConditions(request, vectorString, excludeLocked);
+            
+            if (hybridSearch.enabled()) {
+                try {
+                    return hybridSearch(request.getQuery(), vectorString, request.getTopK(), conditions);
+                } catch (DataAccessException e) {
+                    // e.g. the content_tsv column has not been migrated yet
+                    logger.warn("Hybrid resume search failed, falling back to vector search: {}", e.getMessage());
+                }
+            }
+            
+            List<Object> params = new ArrayList<>();
+            params.add(vectorString);
+            params.addAll(conditions.params());
+            params.add(vectorString);
+            params.add(request.getTopK());
+            
             // Perform similarity search with optimized query
             // Added index hint and optimized the query for better performance
-            List<Map<String, Object>> results = jdbcTemplate.queryForList(
-                "SELECT id, resume_id, content, metadata, embedding <=> ?::vector AS distance " +
-                "FROM resume_vector_store " +
-                "ORDER BY embedding <=> ?::vector " +
-                "LIMIT ?",
-                vectorString,
-                vectorString,
-                request.getTopK()
-            );
+            List<Map<String, Object>> results = aiMetrics.recordVectorSearch("resume", "similarity",
+                () -> jdbcTemplate.queryForList(
+                    "SELECT r.id, r.resume_id, r.content, r.metadata, r.embedding <=> ?::vector AS distance, " +
+                    "rl.resume_id IS NOT NULL AS locked, rl.manager_id AS locked_by " +
+                    "FROM resume_vector_store r " +
+                    LOCK_JOIN +
+                    "WHERE TRUE " + conditions.sql() + " " +
+                    "ORDER BY r.embedding <=> ?::vector " +
+                    "LIMIT ?",
+                    params.toArray()
+                ));
             
             // Convert results to Document objects
             return results.stream()
-                .map(row -> {
-                    String content = (String) row.get("content");
-                    
-                    // Get metadata and handle different types
-                    Object metadataObj = row.get("metadata");
-                    String metadataStr;
-                    
-                    if (metadataObj instanceof PGobject) {
-                        // If it's a PGobject (PostgreSQL's JSON type), get its string value
-                        metadataStr = ((PGobject) metadataObj).getValue();
-                    } else if (metadataObj instanceof String) {
-                        // If it's already a string, use it directly
-                        metadataStr = (String) metadataObj;
-                    } else if (metadataObj != null) {
-                        // For any other non-null type, use toString()
-                        metadataStr = metadataObj.toString();
-                        logger.warn("Unexpected metadata type: {}", metadataObj.getClass().getName());
-                    } else {
-                        // Handle null case
-                        metadataStr = "{}";
-                        logger.warn("Null metadata found in search results");
-                    }
-                    
-                    // Parse metadata JSON back to a Map
-                    Map<String, Object> metadata;
-                    try {
-                        // Try to parse the JSON string back to a Map
-                        metadata = objectMapper.readValue(metadataStr, 
-                                objectMapper.getTypeFactory().constructMapType(
-                                        Map.class, String.class, Object.class));
-                    } catch (Exception e) {
-                        logger.error("Error parsing metadata JSON: {}", e.getMessage(), e);
-                        // Fallback to simple metadata if parsing fails
-                        metadata = Map.of("content", content);
-                    }
-                    
-                    // Create a new Document with the content and parsed metadata
-                    return new Document(content, metadata);
-                })
+                .map(row -> toDocument(row, 1.0 - ((Number) row.get("distance")).doubleValue()))
                 .toList();
         }
         
+        /**
+         * Extra WHERE conditions for a search, each starting with " AND ".
+         */
+        private record SearchConditions(String sql, List<Object> params) {
+        }
+        
+        /**
+         * Build the WHERE conditions for the request's filter expression and similarity threshold.
+         * 
+         * @param request The search request
+         * @param vectorString The query embedding in pgvector format
+         * @param excludeLocked Whether resumes with a locked evaluation are excluded
+         * @return The conditions, empty if the request accepts everything
+         */
+        private SearchConditions searchConditions(SearchRequest request, String vectorString, boolean excludeLocked) {
+            StringBuilder sql = new StringBuilder();
+            List<Object> params = new ArrayList<>();
+            
+            MetadataFilterCompiler.CompiledFilter filter =
+                    filterCompiler.compile(request.getFilterExpression(), METADATA_COLUMN);
+            if (!filter.isEmpty()) {
+                sql.append(" AND ").append(filter.sql());
+                params.addAll(filter.params());
+            }
+            
+            if (request.getSimilarityThreshold() > SearchRequest.SIMILARITY_THRESHOLD_ACCEPT_ALL) {
+                sql.append(" AND 1 - (r.embedding <=> ?::vector) >= ?");
+                params.add(vectorString);
+                params.add(request.getSimilarityThreshold());
+            }
+            
+            if (excludeLocked) {
+                sql.append(UNLOCKED_CONDITION);
+            }
+            return new SearchConditions(sql.toString(), params);
+        }
+        
+        /**
+         * Rank resumes by reciprocal rank fusion of vector similarity and full-text relevance.
+         * The returned documents carry their vector similarity as the score, like a plain
+         * similarity search, and the fused score in {@link #HYBRID_SCORE_METADATA_KEY}.
+         * 
+         * @param query The query text
+         * @param vectorString The query embedding in pgvector format
+         * @param topK The maximum number of documents to return
+         * @param conditions Conditions every candidate must meet, applied to both rankings
+         * @return The documents, best match first
+         */
+        private List<Document> hybridSearch(String query, String vectorString, int topK, SearchConditions conditions) {
+            int candidates = topK * Math.max(1, hybridSearch.candidateMultiplier());
+            
+            List<Object> params = new ArrayList<>();
+            params.add(query);
+            params.add(vectorString);
+            params.addAll(conditions.params());
+            params.add(vectorString);
+            params.add(candidates);
+            params.addAll(conditions.params());
+            params.add(candidates);
+            params.add(vectorString);
+            params.add(hybridSearch.vectorWeight());
+            params.add(hybridSearch.rankConstant());
+            params.add(hybridSearch.lexicalWeight());
+            params.add(hybridSearch.rankConstant());
+            params.add(topK);
+            
+            String sql = String.format(HYBRID_SEARCH_SQL, conditions.sql());
+            List<Map<String, Object>> results = aiMetrics.recordVectorSearch("resume", "hybrid",
+                () -> jdbcTemplate.queryForList(sql, params.toArray()));
+            
+            return results.stream()
+                .map(row -> toDocument(row, 1.0 - ((Number) row.get("distance")).doubleValue()))
+                .toList();
+        }
+        
+        /**
+         * Convert a resume_vector_store row to a Document.
+         * 
+         * @param row The row, with at least the id, content and metadata columns
+         * @param score The document score, or null to leave it unset
+         * @return The document
+         */
+        private Document toDocument(Map<String, Object> row, Double score) {
+            String content = (String) row.get("content");
+            Map<String, Object> metadata = new HashMap<>(parseMetadata(row.get("metadata"), content));
+            
+            // Fused score, when the row comes from a hybrid search
+            if (row.get("fused_score") != null) {
+                metadata.put(HYBRID_SCORE_METADATA_KEY, ((Number) row.get("fused_score")).doubleValue());
+            }
+            
+            // Lock status, when the query joined the lock projection
+            if (row.containsKey("locked")) {
+                metadata.put(LOCKED_METADATA_KEY, Boolean.TRUE.equals(row.get("locked")));
+                if (row.get("locked_by") != null) {
+                    metadata.put(LOCKED_BY_METADATA_KEY, row.get("locked_by").toString());
+                }
+            }
+            
+            // Create a new Document with the content and parsed metadata
+            return Document.builder()
+                .id(row.get("id").toString())
+                .text(content)
+                .metadata(metadata)
+                .score(score)
+                .build();
+        }
+        
+        /**
+         * Parse the metadata column of a resume_vector_store row.
+         * 
+         * @param metadataObj The column value, as returned by the driver
+         * @param content The document text, kept as the metadata if parsing fails
+         * @return The metadata
+         */
+        private Map<String, Object> parseMetadata(Object metadataObj, String content) {
+            String metadataStr;
+            
+            if (metadataObj instanceof PGobject) {
+                // If it's a PGobject (PostgreSQL's JSON type), get its string value
+                metadataStr = ((PGobject) metadataObj).getValue();
+            } else if (metadataObj instanceof String) {
+                // If it's already a string, use it directly
+                metadataStr = (String) metadataObj;
+            } else if (metadataObj != null) {
+                // For any other non-null type, use toString()
+                metadataStr = metadataObj.toString();
+                logger.warn("Unexpected metadata type: {}", metadataObj.getClass().getName());
+            } else {
+                // Handle null case
+                metadataStr = "{}";
+                logger.warn("Null metadata found in search results");
+            }
+            
+            // Parse metadata JSON back to a Map
+            try {
+                return objectMapper.readValue(metadataStr, 
+                        objectMapper.getTypeFactory().constructMapType(
+                                Map.class, String.class, Object.class));
+            } catch (Exception e) {
+                logger.error("Error parsing metadata JSON: {}", e.getMessage(), e);
+                // Fallback to simple metadata if parsing fails
+                return Map.of("content", content);
+            }
+        }
+        
         @Override
         public void accept(List<Document> documents) {
             add(documents);
@@ -245,6 +499,7 @@ public class ResumeVectorStoreConfig {
                     params
                 );
                 
+                stateTracker.recordDelete(VectorStoreStateTracker.Table.RESUME);
                 logger.info("Deleted {} documents from vector store", rowsAffected);
             } catch (IllegalArgumentException e) {
                 // Log error if UUID parsing fails
@@ -269,80 +524,46 @@ public class ResumeVectorStoreConfig {
             return sb.toString();
         }
 
-		@Override
-		public void delete(Expression filterExpression) {
-			// TODO Auto-generated method stub
-			
-		}
+        @Override
+        public void delete(Expression filterExpression) {
+            if (filterExpression == null) {
+                throw new IllegalArgumentException("A filter expression is required for a filtered delete");
+            }
+            
+            MetadataFilterCompiler.CompiledFilter filter = filterCompiler.compile(filterExpression, METADATA_COLUMN);
+            int rowsAffected = jdbcTemplate.update(
+                "DELETE FROM resume_vector_store r WHERE " + filter.sql(),
+                filter.params().toArray()
+            );
+            
+            stateTracker.recordDelete(VectorStoreStateTracker.Table.RESUME);
+            logger.info("Deleted {} documents from vector store matching {}", rowsAffected, filterExpression);
+        }
 		
 		// Add this method to your ResumeVectorStore class
 		public List<Document> similaritySearchByResumeId(String query, UUID resumeId, int topK) {
 		    try {
-		        // Generate embedding for the query with retry
-		        float[] queryEmbedding = retryTemplate.execute(context -> {
-		            try {
-		                return embeddingModel.embed(query);
-		            } catch (Exception e) {
-		                logger.error("Error generating query embedding: {}", e.getMessage());
-		                throw e;
-		            }
-		        }, context -> {
-		            logger.error("All retries failed for query embedding generation. Using fallback empty embedding.");
-		            return new float[1536]; // Default embedding dimension
-		        });
-		        
 		        // Convert embedding to PostgreSQL vector format
-		        String vectorString = convertToVectorString(queryEmbedding);
+		        String vectorString = convertToVectorString(embedContextQuery(query));
 		        
 		        // Perform similarity search with resume_id filter - EFFICIENT!
-		        List<Map<String, Object>> results = jdbcTemplate.queryForList(
-		            "SELECT id, resume_id, content, metadata, embedding <=> ?::vector AS distance " +
-		            "FROM resume_vector_store " +
-		            "WHERE resume_id = ? " +  // Filter by resume_id at DB level!
-		            "ORDER BY embedding <=> ?::vector " +
-		            "LIMIT ?",
-		            vectorString,
-		            resumeId,      // Resume filter parameter
-		            vectorString,
-		            topK
-		        );
+		        List<Map<String, Object>> results = aiMetrics.recordVectorSearch("resume", "by-resume-id",
+		            () -> jdbcTemplate.queryForList(
+		                "SELECT id, resume_id, content, metadata, embedding <=> ?::vector AS distance " +
+		                "FROM resume_vector_store " +
+		                "WHERE resume_id = ? " +  // Filter by resume_id at DB level!
+		                "ORDER BY embedding <=> ?::vector " +
+		                "LIMIT ?",
+		                vectorString,
+		                resumeId,      // Resume filter parameter
+		                vectorString,
+		                topK
+		            ));
 		        
 		        logger.info("Found {} relevant sections for resume {}", results.size(), resumeId);
 		        
-		        // Convert results to Document objects (reuse existing logic)
 		        return results.stream()
-		            .map(row -> {
-		                String content = (String) row.get("content");
-		                
-		                // Get metadata and handle different types (existing logic)
-		                Object metadataObj = row.get("metadata");
-		                String metadataStr;
-		                
-		                if (metadataObj instanceof PGobject) {
-		                    metadataStr = ((PGobject) metadataObj).getValue();
-		                } else if (metadataObj instanceof String) {
-		                    metadataStr = (String) metadataObj;
-		                } else if (metadataObj != null) {
-		                    metadataStr = metadataObj.toString();
-		                    logger.warn("Unexpected metadata type: {}", metadataObj.getClass().getName());
-		                } else {
-		                    metadataStr = "{}";
-		                    logger.warn("Null metadata found in search results");
-		                }
-		                
-		                // Parse metadata JSON back to a Map
-		                Map<String, Object> metadata;
-		                try {
-		                    metadata = objectMapper.readValue(metadataStr, 
-		                            objectMapper.getTypeFactory().constructMapType(
-		                                    Map.class, String.class, Object.class));
-		                } catch (Exception e) {
-		                    logger.error("Error parsing metadata JSON: {}", e.getMessage(), e);
-		                    metadata = Map.of("content", content);
-		                }
-		                
-		                return new Document(content, metadata);
-		            })
+		            .map(row -> toContextDocument((String) row.get("content"), row.get("metadata")))
 		            .toList();
 		            
 		    } catch (Exception e) {
@@ -350,6 +571,45 @@ public class ResumeVectorStoreConfig {
 		        return List.of();
 		    }
 		}
+		
+		/**
+		 * Load the stored documents of a resume, for the chat context cache.
+		 * 
+		 * @param resumeId The resume ID
+		 * @return The documents, or an empty list if the resume is not indexed
+		 */
+		public List<Document> findDocumentsByResumeId(UUID resumeId) {
+		    return aiMetrics.recordVectorSearch("resume", "documents-by-resume-id", () -> jdbcTemplate.query(
+		        "SELECT content, metadata FROM resume_vector_store WHERE resume_id = ?",
+		        (rs, rowNum) -> toContextDocument(rs.getString("content"), rs.getObject("metadata")),
+		        resumeId));
+		}
+		
+		/**
+		 * Embed a chat question for resume context retrieval, falling back to a zero
+		 * vector if the embedding service stays unavailable.
+		 * 
+		 * @param query The question
+		 * @return The embedding
+		 */
+		public float[] embedContextQuery(String query) {
+		    return retryTemplate.execute(context -> {
+		        try {
+		            return aiMetrics.recordEmbedding("resume-context-query", context, () -> embeddingModel.embed(query));
+		        } catch (Exception e) {
+		            logger.error("Error generating query embedding: {}", e.getMessage());
+		            throw e;
+		        }
+		    }, context -> {
+		        logger.error("All retries failed for query embedding generation. Using fallback empty embedding.");
+		        aiMetrics.recordEmbeddingFallback("resume-context-query");
+		        return new float[1536]; // Default embedding dimension
+		    });
+		}
+		
+		private Document toContextDocument(String content, Object metadataObj) {
+		    return new Document(content, parseMetadata(metadataObj, content));
+		}
 
     }
 }
@@ -1,19 +1,26 @@
 package com.telus.io.controller;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.telus.io.dto.SyncResult;
+import com.telus.io.exception.ResourceNotFoundException;
 import com.telus.io.exception.SyncInProgressException;
 import com.telus.io.scheduler.VectorStoreSyncScheduler;
+import com.telus.io.scheduler.VectorSyncCoordinator;
 
 
 
@@ -28,6 +35,7 @@ import com.telus.io.scheduler.VectorStoreSyncScheduler;
 public class AdminController {
 
 	private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+	private static final int MAX_JOB_HISTORY = 200;
 
 	private final VectorStoreSyncScheduler syncScheduler;
 
@@ -41,30 +49,98 @@ public class AdminController {
 	 * no orphaned entries in the vector store 3. There are no duplicate entries in
 	 * the vector store
 	 * 
-	 * @return The result of the synchronization
+	 * The synchronization runs as a background job; poll /sync-jobs/{jobId} for
+	 * its progress.
+	 * 
+	 * @param maxEmbeddingsPerSecond Optional embedding rate limit per node, 0 for none
+	 * @return The job ID; 409 if a sync is already running
 	 */
 	@PostMapping("/sync-vector-store")
-	public ResponseEntity<Map<String, Object>> syncVectorStore() {
+	public ResponseEntity<Map<String, Object>> syncVectorStore(
+			@RequestParam(required = false) Double maxEmbeddingsPerSecond) {
 		logger.info("Received request to synchronize vector store");
 
-		// Check if sync is already in progress
-		if (syncScheduler.isSyncInProgress()) {
-			throw new SyncInProgressException("Vector store synchronization is already in progress");
+		if (maxEmbeddingsPerSecond != null && maxEmbeddingsPerSecond < 0) {
+			return ResponseEntity.badRequest()
+					.body(Map.of("success", false, "message", "maxEmbeddingsPerSecond cannot be negative"));
 		}
 
-		// Trigger sync
-		SyncResult result = syncScheduler.triggerSync();
+		UUID jobId = syncScheduler.startSync(maxEmbeddingsPerSecond)
+				.orElseThrow(() -> new SyncInProgressException("Vector store synchronization is already in progress"));
 
-		if (result == null) {
-			throw new IllegalStateException("Failed to start vector store synchronization");
-		}
+		logger.info("Vector store synchronization job {} started", jobId);
 
-		Map<String, Object> response = Map.of("success", true, "duplicatesRemoved", result.getDuplicatesRemoved(),
-				"missingAdded", result.getMissingAdded(), "orphansRemoved", result.getOrphansRemoved());
+		return ResponseEntity.accepted().body(Map.of("success", true, "jobId", jobId, "status",
+				VectorSyncCoordinator.RUNNING, "statusUrl", "/api/admin/sync-jobs/" + jobId));
+	}
 
-		logger.info("Vector store synchronization completed: {}", result);
+	/**
+	 * List recent synchronization jobs, newest first.
+	 * 
+	 * @param limit The maximum number of jobs
+	 * @return The jobs
+	 */
+	@GetMapping("/sync-jobs")
+	public ResponseEntity<List<Map<String, Object>>> listSyncJobs(@RequestParam(defaultValue = "20") int limit) {
+		return ResponseEntity.ok(syncScheduler.listSyncJobs(Math.max(1, Math.min(limit, MAX_JOB_HISTORY))));
+	}
 
-		return ResponseEntity.ok(response);
+	/**
+	 * Get the state and progress of a synchronization job: processed and total
+	 * resumes, rate, ETA, results, and the shards and nodes working on it.
+	 * 
+	 * @param jobId The job ID
+	 * @return The job
+	 */
+	@GetMapping("/sync-jobs/{jobId}")
+	public ResponseEntity<Map<String, Object>> getSyncJob(@PathVariable UUID jobId) {
+		return ResponseEntity.ok(syncScheduler.getSyncJob(jobId)
+				.orElseThrow(() -> new ResourceNotFoundException("Sync job", "id", jobId)));
+	}
+
+	/**
+	 * Cancel a running synchronization job. Shards in progress stop at their next
+	 * progress report, and the job then becomes CANCELLED.
+	 * 
+	 * @param jobId The job ID
+	 * @return The job
+	 */
+	@PostMapping("/sync-jobs/{jobId}/cancel")
+	public ResponseEntity<Map<String, Object>> cancelSyncJob(@PathVariable UUID jobId) {
+		logger.info("Received request to cancel sync job {}", jobId);
+
+		Map<String, Object> job = syncScheduler.getSyncJob(jobId)
+				.orElseThrow(() -> new ResourceNotFoundException("Sync job", "id", jobId));
+		if (!syncScheduler.cancelSync(jobId)) {
+			return ResponseEntity.badRequest()
+					.body(Map.of("success", false, "message", "Sync job " + jobId + " is " + job.get("status")));
+		}
+		return ResponseEntity.accepted().body(syncScheduler.getSyncJob(jobId).orElse(job));
+	}
+
+	/**
+	 * Change the embedding rate limit of a running synchronization job.
+	 * 
+	 * @param jobId The job ID
+	 * @param maxEmbeddingsPerSecond The limit per node, 0 for none
+	 * @return The job
+	 */
+	@PutMapping("/sync-jobs/{jobId}/throttle")
+	public ResponseEntity<Map<String, Object>> throttleSyncJob(@PathVariable UUID jobId,
+			@RequestParam double maxEmbeddingsPerSecond) {
+		logger.info("Received request to limit sync job {} to {} embeddings per second", jobId, maxEmbeddingsPerSecond);
+
+		if (maxEmbeddingsPerSecond < 0) {
+			return ResponseEntity.badRequest()
+					.body(Map.of("success", false, "message", "maxEmbeddingsPerSecond cannot be negative"));
+		}
+		Map<String, Object> job = syncScheduler.getSyncJob(jobId)
+				.orElseThrow(() -> new ResourceNotFoundException("Sync job", "id", jobId));
+		if (!syncScheduler.throttleSync(jobId, maxEmbeddingsPerSecond)) {
+			return ResponseEntity.badRequest()
+					.body(Map.of("success", false, "message", "Sync job " + jobId + " is " + job.get("status")));
+		}
+		return ResponseEntity.ok(syncScheduler.getSyncJob(jobId).orElse(job));
 	}
 
 	/**
@@ -87,6 +163,7 @@ public class AdminController {
 		} else {
 			response.put("lastSyncResult", null);
 		}
+		response.put("cluster", syncScheduler.getClusterStatus());
 
 		return ResponseEntity.ok(response);
 	}
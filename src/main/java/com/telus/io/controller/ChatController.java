@@ -1,15 +1,19 @@
 package com.telus.io.controller;
 
 import java.util.List;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.telus.io.dto.ChatMessage;
@@ -17,6 +21,9 @@ import com.telus.io.dto.ChatRequest_user;
 import com.telus.io.dto.ChatResponse;
 import com.telus.io.service.ResumeAwareChatService;
 
+import jakarta.servlet.http.HttpSession;
+import reactor.core.publisher.Flux;
+
 /**
  * Controller for chat-related endpoints.
  */
@@ -26,6 +33,9 @@ public class ChatController {
 
 	private static final Logger logger = LoggerFactory.getLogger(ChatController.class);
 
+	// Prefix of the user ID of requests without one; a Tomcat session ID keeps it within MAX_USER_ID_LENGTH
+	private static final String SESSION_USER_PREFIX = "session-";
+
 	private final ResumeAwareChatService chatService;
 
 	public ChatController(ResumeAwareChatService chatService) {
@@ -35,28 +45,83 @@ public class ChatController {
 	@PostMapping("/message")
 	public ResponseEntity<ChatResponse> chatuser(
 
-			@RequestBody ChatRequest_user request) {
+			@RequestBody ChatRequest_user request, HttpSession session) {
 
-		logger.info("Received chat message from user {}: {}", request.getCurrentResumeId(), request);
+		String userId = resolveUser(request.getUserId(), session);
+		logger.info("Received chat message from user {}: {}", userId, request);
 
-		ChatResponse chat_local = chatService.chat_local(request.getCurrentResumeId(), request.getMessage());
+		String invalid = validateUser(userId);
+		if (invalid != null) {
+			return ResponseEntity.badRequest().body(new ChatResponse(invalid));
+		}
+
+		ChatResponse chat_local = chatService.chat_local(userId, request.getCurrentResumeId(), request.getMessage());
 
 		return ResponseEntity.ok(chat_local);
 	}
 
+	/**
+	 * Stream a chat answer as server-sent events: one "token" event per chunk,
+	 * then a "done" event, or an "error" event if generation fails. Closing the
+	 * connection cancels the upstream model call.
+	 * 
+	 * @param request The chat request
+	 * @param session The HTTP session, which identifies the user if the request has no user ID
+	 * @return The event stream, or 400 if the user ID is too long
+	 */
+	@PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<Flux<ServerSentEvent<String>>> streamChat(@RequestBody ChatRequest_user request,
+			HttpSession session) {
+		String userId = resolveUser(request.getUserId(), session);
+		logger.info("Received streaming chat message from user {}: {}", userId, request);
+
+		String invalid = validateUser(userId);
+		if (invalid != null) {
+			return ResponseEntity.badRequest()
+					.body(Flux.just(ServerSentEvent.builder(invalid).event("error").build()));
+		}
+
+		return ResponseEntity.ok(chatService.streamChat(userId, request.getCurrentResumeId(), request.getMessage())
+				.map(token -> ServerSentEvent.builder(token).event("token").build())
+				.concatWith(Flux.just(ServerSentEvent.builder("").event("done").build()))
+				.onErrorResume(e -> Flux.just(ServerSentEvent.builder(
+						"The assistant is temporarily unavailable. Please try again.").event("error").build())));
+	}
+
 	/**
 	 * Get the chat history for a user.
 	 * 
 	 * @param userId The ID of the user
+	 * @param resumeId The resume the conversation is about, if any
 	 * @return A list of chat messages
 	 */
 	@GetMapping("/{userId}/history")
-	public ResponseEntity<List<ChatMessage>> getChatHistory(@PathVariable String userId) {
+	public ResponseEntity<List<ChatMessage>> getChatHistory(@PathVariable String userId,
+			@RequestParam(required = false) UUID resumeId) {
 		logger.info("Retrieving chat history for user {}", userId);
 
-		List<ChatMessage> history = chatService.getChatHistory(userId);
+		if (validateUser(userId) != null) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		List<ChatMessage> history = chatService.getChatHistory(userId, resumeId);
 
 		return ResponseEntity.ok(history);
 	}
 
+	// Requests without a user ID, e.g. from clients older than the field, get one conversation per HTTP session
+	private static String resolveUser(String userId, HttpSession session) {
+		return userId == null || userId.isBlank() ? SESSION_USER_PREFIX + session.getId() : userId;
+	}
+
+	private static String validateUser(String userId) {
+		if (userId == null || userId.isBlank()) {
+			return "userId is required";
+		}
+		if (userId.length() > ResumeAwareChatService.MAX_USER_ID_LENGTH) {
+			return "userId must be at most " + ResumeAwareChatService.MAX_USER_ID_LENGTH + " characters";
+		}
+		return null;
+	}
+
 }
@@ -7,11 +7,14 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
@@ -24,13 +27,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import io.micrometer.core.instrument.Timer;
+
+import com.telus.io.dto.request.BulkAssignmentRequest;
 import com.telus.io.dto.request.JobDescriptionRequest;
+import com.telus.io.dto.request.SlotReservationRequest;
 import com.telus.io.dto.response.ApiResponse;
+import com.telus.io.dto.response.BulkAssignmentResponse;
 import com.telus.io.dto.response.InterviewerMatchResponse;
+import com.telus.io.dto.response.SlotReservationResponse;
 import com.telus.io.model.InterviewerProfile;
-import com.telus.io.repository.InterviewerVectorStoreRepository;
+import com.telus.io.scheduler.VectorStoreStateTracker;
+import com.telus.io.service.HedgedAiExecutor;
+import com.telus.io.service.InterviewSlotService;
+import com.telus.io.service.InterviewerAssignmentService;
 import com.telus.io.service.InterviewerMatchingService;
 import com.telus.io.service.ResumeMatchingService;
+import com.telus.io.util.AiMetrics;
 
 
 
@@ -43,11 +56,21 @@ public class InterviewerMatchingController {
     
     private static final Logger logger = LoggerFactory.getLogger(InterviewerMatchingController.class);
     
+    private static final String JOB_DESCRIPTION_FLOW = "job-description";
+    private static final String JOB_DESCRIPTION_OPERATION = "job-description-explanation";
+    
+    private static final Pattern SCORE_PATTERN = Pattern.compile(
+            "Final Match Score:\\s*(?<final>\\d{1,3})%|\\b(?<general>\\d{1,3})\\s*[/%]");
+    
     private final InterviewerMatchingService matchingService;
     private final ResumeMatchingService resumeMatchingService;
-   private final InterviewerVectorStoreRepository vectorStoreRepository;
+    private final VectorStoreStateTracker stateTracker;
+    private final InterviewSlotService slotService;
+    private final InterviewerAssignmentService assignmentService;
     private final RetryTemplate aiRetryTemplate;
     private final ChatModel chatModel;
+    private final HedgedAiExecutor hedgedAiExecutor;
+    private final AiMetrics aiMetrics;
     private final String interviewerMatchExplanationPrompt;
     private final String jobDescriptionMatchPrompt;
     
@@ -59,16 +82,24 @@ public class InterviewerMatchingController {
     public InterviewerMatchingController(
             InterviewerMatchingService matchingService,
             ResumeMatchingService resumeMatchingService,
-            InterviewerVectorStoreRepository vectorStoreRepository,
+            VectorStoreStateTracker stateTracker,
+            InterviewSlotService slotService,
+            InterviewerAssignmentService assignmentService,
             RetryTemplate aiRetryTemplate,
             ChatModel chatModel,
+            HedgedAiExecutor hedgedAiExecutor,
+            AiMetrics aiMetrics,
             @Qualifier("interviewerMatchExplanationPrompt") String interviewerMatchExplanationPrompt,
             @Qualifier("jobDescriptionMatchPrompt") String jobDescriptionMatchPrompt) {
         this.matchingService = matchingService;
 		this.resumeMatchingService = resumeMatchingService;
-        this.vectorStoreRepository = vectorStoreRepository;
+        this.stateTracker = stateTracker;
+        this.slotService = slotService;
+        this.assignmentService = assignmentService;
         this.aiRetryTemplate = aiRetryTemplate;
         this.chatModel = chatModel;
+        this.hedgedAiExecutor = hedgedAiExecutor;
+        this.aiMetrics = aiMetrics;
         this.interviewerMatchExplanationPrompt = interviewerMatchExplanationPrompt;
         this.jobDescriptionMatchPrompt = jobDescriptionMatchPrompt;
     }
@@ -139,20 +170,19 @@ public class InterviewerMatchingController {
      */
     private int extractScoreFromAIResponse(String response) {
         try {
-            // First, look for our specific format "Final Match Score: X%"
-            java.util.regex.Pattern finalScorePattern = java.util.regex.Pattern.compile("Final Match Score:\\s*(\\d{1,3})%");
-            java.util.regex.Matcher finalScoreMatcher = finalScorePattern.matcher(response);
-            
-            if (finalScoreMatcher.find()) {
-                return Integer.parseInt(finalScoreMatcher.group(1));
+            // Single pass: "Final Match Score: X%" wins, otherwise the first "X%" or "X/"
+            Matcher matcher = SCORE_PATTERN.matcher(response);
+            int generalScore = -1;
+            while (matcher.find()) {
+                if (matcher.group("final") != null) {
+                    return Integer.parseInt(matcher.group("final"));
+                }
+                if (generalScore < 0) {
+                    generalScore = Integer.parseInt(matcher.group("general"));
+                }
             }
-            
-            // If we can't find the specific format, look for other patterns like "Match Score: 85%" or "75/100"
-            java.util.regex.Pattern generalPattern = java.util.regex.Pattern.compile("\\b(\\d{1,3})\\s*[/%]");
-            java.util.regex.Matcher generalMatcher = generalPattern.matcher(response);
-            
-            if (generalMatcher.find()) {
-                return Integer.parseInt(generalMatcher.group(1));
+            if (generalScore >= 0) {
+                return generalScore;
             }
             
             // If we can't find a score, check for the match status
@@ -199,7 +229,7 @@ public class InterviewerMatchingController {
             @RequestBody JobDescriptionRequest request,
             @RequestParam(defaultValue = "5") int limit) {
         
-        long startTime = System.currentTimeMillis();
+        Timer.Sample totalSample = aiMetrics.startStage();
         logger.info("🔍 Starting async interviewer search for job description (limit: {})", limit);
         
         // Validate and cap the limit
@@ -211,7 +241,7 @@ public class InterviewerMatchingController {
         String jobDescription = request.getJobDescription();
         
         // Check if vector store is empty
-        if (!vectorStoreRepository.existsAny()) {
+        if (!stateTracker.hasEntries(VectorStoreStateTracker.Table.INTERVIEWER)) {
             logger.warn("❌ No interviewer vector store entries found");
             ApiResponse apiResponse = new ApiResponse(false, 
                 "No interviewer vector store entries found. Please sync the vector store first.", 
@@ -220,8 +250,10 @@ public class InterviewerMatchingController {
         }
         
         // Step 1: Find interviewers by expertise
+        Timer.Sample searchSample = aiMetrics.startStage();
         List<InterviewerProfile> interviewers = matchingService.findInterviewersByExpertise(
             jobDescription, limit * 2);
+        aiMetrics.stopStage(searchSample, JOB_DESCRIPTION_FLOW, "candidate-search");
         
         logger.info("📊 Found {} potential interviewers, processing top {}", 
                     interviewers.size(), Math.min(limit, interviewers.size()));
@@ -231,6 +263,7 @@ public class InterviewerMatchingController {
         return CompletableFuture.supplyAsync(() -> {
             
             // Create parallel futures
+            Timer.Sample explanationSample = aiMetrics.startStage();
             List<CompletableFuture<InterviewerMatchResponse>> futures = interviewers.stream()
                 .limit(finalLimit)
                 .map(interviewer -> processInterviewerAsync(interviewer, jobDescription))
@@ -240,9 +273,9 @@ public class InterviewerMatchingController {
             
             // Wait for all futures and handle results
             List<InterviewerMatchResponse> responses = waitForAllFutures(futures);
+            aiMetrics.stopStage(explanationSample, JOB_DESCRIPTION_FLOW, "explanations");
             
-            long totalTime = System.currentTimeMillis() - startTime;
-            logger.info("✅ Completed {} interviewer matches in {}ms", responses.size(), totalTime);
+            logger.info("✅ Completed {} interviewer matches", responses.size());
             
             return responses;
             
@@ -251,11 +284,12 @@ public class InterviewerMatchingController {
                     true, 
                     String.format("Successfully found %d matching interviewers", responses.size()), 
                     responses);
+            aiMetrics.stopStage(totalSample, JOB_DESCRIPTION_FLOW, "total");
             return ResponseEntity.ok(apiResponse);
             
         }).exceptionally(ex -> {
-            long totalTime = System.currentTimeMillis() - startTime;
-            logger.error("❌ Error in parallel processing after {}ms: {}", totalTime, ex.getMessage(), ex);
+            aiMetrics.stopStage(totalSample, JOB_DESCRIPTION_FLOW, "failed");
+            logger.error("❌ Error in parallel processing: {}", ex.getMessage(), ex);
             
             ApiResponse apiResponse = new ApiResponse(
                     false, 
@@ -282,6 +316,7 @@ public class InterviewerMatchingController {
                 }
             } catch (TimeoutException e) {
                 logger.error("⏰ AI call timed out for interviewer");
+                aiMetrics.recordChatTimeout(JOB_DESCRIPTION_OPERATION);
                 InterviewerMatchResponse fallback = createFallbackResponse(null, "AI analysis timed out");
                 responses.add(fallback);
             } catch (Exception e) {
@@ -309,7 +344,7 @@ public class InterviewerMatchingController {
             String jobDescription) {
         
         return CompletableFuture.supplyAsync(() -> {
-            long startTime = System.currentTimeMillis();
+            Timer.Sample sample = aiMetrics.startStage();
             
             try {
                 logger.debug("🔄 Processing interviewer: {} (ID: {})", 
@@ -338,16 +373,16 @@ public class InterviewerMatchingController {
                     determineMatchStatus(matchExplanation, matchScore);
                 response.setMatchStatus(matchStatus);
                 
-                long processingTime = System.currentTimeMillis() - startTime;
-                logger.debug("✅ Completed processing {} in {}ms (score: {})", 
-                            interviewer.getName(), processingTime, matchScore);
+                aiMetrics.stopStage(sample, JOB_DESCRIPTION_FLOW, "interviewer-explanation");
+                logger.debug("✅ Completed processing {} (score: {})", 
+                            interviewer.getName(), matchScore);
                 
                 return response;
                 
             } catch (Exception e) {
-                long processingTime = System.currentTimeMillis() - startTime;
-                logger.error("❌ Error processing interviewer {} after {}ms: {}", 
-                            interviewer.getName(), processingTime, e.getMessage(), e);
+                aiMetrics.stopStage(sample, JOB_DESCRIPTION_FLOW, "interviewer-explanation-failed");
+                logger.error("❌ Error processing interviewer {}: {}", 
+                            interviewer.getName(), e.getMessage(), e);
                 
                 // Return fallback response instead of null
                 return createFallbackResponse(interviewer, 
@@ -416,7 +451,9 @@ public class InterviewerMatchingController {
                 }
                 
                 try {
-                    String result = chatModel.call(prompt);
+                    String result = aiMetrics.recordChat(JOB_DESCRIPTION_OPERATION, context,
+                            () -> hedgedAiExecutor.call(JOB_DESCRIPTION_OPERATION, () -> chatModel.call(new Prompt(prompt))))
+                            .getResult().getOutput().getText();
                     logger.debug("✅ AI call successful for interviewer {}", interviewerName);
                     return result;
                 } catch (Exception e) {
@@ -429,6 +466,7 @@ public class InterviewerMatchingController {
         } catch (Exception e) {
             logger.error("❌ Failed to generate AI explanation for interviewer {}: {}", 
                         interviewer.getName(), e.getMessage(), e);
+            aiMetrics.recordChatFallback(JOB_DESCRIPTION_OPERATION);
             
             // Return fallback explanation
             return String.format(
@@ -458,7 +496,7 @@ public class InterviewerMatchingController {
             @RequestParam(defaultValue = "false") boolean includeNonMatches) {
         
         // Check if vector store is empty
-        if (!vectorStoreRepository.existsAny()) {
+        if (!stateTracker.hasEntries(VectorStoreStateTracker.Table.INTERVIEWER)) {
             logger.warn("No interviewer vector store entries found when searching for evaluation: {}", evaluationId);
             return ResponseEntity.ok(
                 new ApiResponse(false, 
@@ -485,7 +523,7 @@ public class InterviewerMatchingController {
             @RequestParam(defaultValue = "5") int limit) {
         
         // Check if vector store is empty
-        if (!vectorStoreRepository.existsAny()) {
+        if (!stateTracker.hasEntries(VectorStoreStateTracker.Table.INTERVIEWER)) {
             logger.warn("No interviewer vector store entries found when searching by expertise: {}", query);
             return ResponseEntity.ok(
                 new ApiResponse(false, 
@@ -499,20 +537,23 @@ public class InterviewerMatchingController {
     
     /**
      * Find suitable interviewers with additional filters.
+     * All filters are combined with AND and applied inside the vector query.
      * 
      * @param query The job description or expertise query
-     * @param filters Additional filters to apply (e.g., minimum experience, tier)
+     * @param filters Key/value filters, e.g. {"tier": "1,2", "experienceYears": ">=5", "technicalExpertise": "Java"}
+     * @param filter A filter expression (optional), e.g. "experienceYears >= 5 && (tier == 1 || specializations == 'Cloud')"
      * @param limit The maximum number of interviewers to return (optional, default 5)
      * @return A list of interviewer profiles ordered by relevance
      */
     @PostMapping("/filtered")
     public ResponseEntity<?> findInterviewersWithFilters(
             @RequestParam String query,
-            @RequestBody Map<String, String> filters,
+            @RequestBody(required = false) Map<String, String> filters,
+            @RequestParam(required = false) String filter,
             @RequestParam(defaultValue = "5") int limit) {
         
         // Check if vector store is empty
-        if (!vectorStoreRepository.existsAny()) {
+        if (!stateTracker.hasEntries(VectorStoreStateTracker.Table.INTERVIEWER)) {
             logger.warn("No interviewer vector store entries found when searching with filters: {}", query);
             return ResponseEntity.ok(
                 new ApiResponse(false, 
@@ -520,8 +561,14 @@ public class InterviewerMatchingController {
                     null));
         }
         
-        List<InterviewerProfile> interviewers = matchingService.findInterviewersWithFilters(query, filters, limit);
-        return ResponseEntity.ok(interviewers);
+        try {
+            List<InterviewerProfile> interviewers =
+                    matchingService.findInterviewersWithFilters(query, filters, filter, limit);
+            return ResponseEntity.ok(interviewers);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid interviewer filter: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        }
     }
     
     /**
@@ -538,6 +585,54 @@ public class InterviewerMatchingController {
         boolean isAvailable = matchingService.isInterviewerAvailable(interviewerId, date);
         return ResponseEntity.ok(new ApiResponse(true, "Availability checked successfully", isAvailable));
     }
+    
+    /**
+     * Reserve an interview slot and record the assignment when a resume is given.
+     * 
+     * @param request The reservation request
+     * @return The outcome of the reservation
+     */
+    @PostMapping("/reservations")
+    public ResponseEntity<ApiResponse> reserveSlot(@RequestBody SlotReservationRequest request) {
+        SlotReservationResponse result = slotService.reserve(request);
+        return ResponseEntity.ok(new ApiResponse(result.isReserved(), result.getMessage(), result));
+    }
+    
+    /**
+     * Reserve a batch of interview slots in one transaction.
+     * 
+     * @param requests The reservation requests
+     * @return The outcome of each reservation, in request order
+     */
+    @PostMapping("/reservations/batch")
+    public ResponseEntity<ApiResponse> reserveSlots(@RequestBody List<SlotReservationRequest> requests) {
+        List<SlotReservationResponse> results = slotService.reserveAll(requests);
+        long reserved = results.stream().filter(SlotReservationResponse::isReserved).count();
+        return ResponseEntity.ok(new ApiResponse(true,
+                String.format("Reserved %d of %d interview slots", reserved, results.size()), results));
+    }
+    
+    /**
+     * Assign a batch of candidates to interviewers over a date range, respecting
+     * each interviewer's remaining slots and daily interview limit.
+     * 
+     * @param request The candidates, date range and options
+     * @return The schedule and the candidates that could not be assigned
+     */
+    @PostMapping("/assignments/bulk")
+    public ResponseEntity<ApiResponse> assignCandidates(@RequestBody BulkAssignmentRequest request) {
+        try {
+            BulkAssignmentResponse schedule = assignmentService.assign(request);
+            return ResponseEntity.ok(new ApiResponse(true,
+                    String.format("Assigned %d candidates, %d unassigned",
+                            schedule.getAssignments().size(), schedule.getUnassignedResumeIds().size()),
+                    schedule));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid bulk assignment request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ApiResponse(false, e.getMessage(), null));
+        }
+    }
+    
     /**
      * Generate a summary of why an interviewer is a good match for a candidate.
      * 
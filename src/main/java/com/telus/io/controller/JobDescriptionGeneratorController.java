@@ -1,5 +1,7 @@
 package com.telus.io.controller;
 
+import java.time.Duration;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
@@ -8,14 +10,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.telus.io.dto.JobDescriptionDTO;
 import com.telus.io.dto.response.ApiResponse;
+import com.telus.io.service.GenerationResponseCache;
 
 
 /**
  * Controller for generating job descriptions using AI.
+ * 
+ * Generated results are cached by {@link GenerationResponseCache}; pass fresh=true
+ * to regenerate, and ttlHours to keep the new result for a non-default time.
  */
 @RestController
 @RequestMapping("/api/job-descriptions")
@@ -26,24 +33,32 @@ public class JobDescriptionGeneratorController {
     private final ChatClient chatClient;
     private final String jobDescriptionGeneratePrompt;
     private final String interviewQuestionsGeneratePrompt;
+    private final GenerationResponseCache generationResponseCache;
     
     public JobDescriptionGeneratorController(
             ChatClient chatClient,
             @Qualifier("jobDescriptionGeneratePrompt") String jobDescriptionGeneratePrompt,
-            @Qualifier("interviewQuestionsGeneratePrompt") String interviewQuestionsGeneratePrompt) {
+            @Qualifier("interviewQuestionsGeneratePrompt") String interviewQuestionsGeneratePrompt,
+            GenerationResponseCache generationResponseCache) {
         this.chatClient = chatClient;
         this.jobDescriptionGeneratePrompt = jobDescriptionGeneratePrompt;
         this.interviewQuestionsGeneratePrompt = interviewQuestionsGeneratePrompt;
+        this.generationResponseCache = generationResponseCache;
     }
     
     /**
      * Generate a job description from a simple prompt.
      * 
      * @param prompt A simple description of the job (e.g., "Senior Java Developer with Spring Boot experience")
+     * @param fresh Whether to bypass the cache and regenerate
+     * @param ttlHours How long to cache the result, or the configured default if absent
      * @return A response containing the structured job description
      */
     @PostMapping("/generate")
-    public ResponseEntity<ApiResponse> generateJobDescription(@RequestBody String prompt) {
+    public ResponseEntity<ApiResponse> generateJobDescription(
+            @RequestBody String prompt,
+            @RequestParam(defaultValue = "false") boolean fresh,
+            @RequestParam(required = false) Integer ttlHours) {
         logger.info("Generating job description from prompt: {}", prompt);
         
         if (prompt == null || prompt.trim().isEmpty()) {
@@ -55,16 +70,19 @@ public class JobDescriptionGeneratorController {
             // Use the prompt template as the system message
             String systemPrompt = jobDescriptionGeneratePrompt;
             
-            JobDescriptionDTO generatedJobDescriptionJson = chatClient.prompt()
-                .system(systemPrompt)
-                .user(prompt)
-                .call()
-                .entity(JobDescriptionDTO.class);
+            GenerationResponseCache.Result<JobDescriptionDTO> result = generationResponseCache.getOrGenerate(
+                GenerationResponseCache.KIND_JOB_DESCRIPTION, systemPrompt, prompt, JobDescriptionDTO.class, fresh, toTtl(ttlHours),
+                () -> chatClient.prompt()
+                    .system(systemPrompt)
+                    .user(prompt)
+                    .call()
+                    .entity(JobDescriptionDTO.class));
             
-            logger.info("Successfully generated job description JSON");
+            logger.info("Successfully {} job description JSON", result.cached() ? "retrieved cached" : "generated");
             
             return ResponseEntity.ok(
-                new ApiResponse(true, "Job description generated successfully", generatedJobDescriptionJson));
+                new ApiResponse(true, result.cached() ? "Job description retrieved from cache" : "Job description generated successfully",
+                    result.value()));
         } catch (Exception e) {
             logger.error("Error generating job description", e);
             return ResponseEntity.internalServerError().body(
@@ -76,10 +94,15 @@ public class JobDescriptionGeneratorController {
      * Generate interview questions based on a job description.
      * 
      * @param jobDescription The job description to generate questions for
+     * @param fresh Whether to bypass the cache and regenerate
+     * @param ttlHours How long to cache the result, or the configured default if absent
      * @return A response containing the generated interview questions
      */
     @PostMapping("/generate-questions")
-    public ResponseEntity<ApiResponse> generateInterviewQuestions(@RequestBody String jobDescription) {
+    public ResponseEntity<ApiResponse> generateInterviewQuestions(
+            @RequestBody String jobDescription,
+            @RequestParam(defaultValue = "false") boolean fresh,
+            @RequestParam(required = false) Integer ttlHours) {
         logger.info("Generating interview questions for job description");
         
         if (jobDescription == null || jobDescription.trim().isEmpty()) {
@@ -91,18 +114,19 @@ public class JobDescriptionGeneratorController {
             // Use the interview questions prompt template as the system message
             String systemPrompt = interviewQuestionsGeneratePrompt;
             
-            // Generate the interview questions using the AI
-            String generatedQuestions = chatClient.prompt()
-                .system(systemPrompt)
-                .user(jobDescription)  // Pass the job description as a user message
-                .call()
-                .content();
+            // Generate the interview questions using the AI, unless a near-identical job description was seen
+            GenerationResponseCache.Result<String> result = generationResponseCache.getOrGenerate(
+                GenerationResponseCache.KIND_INTERVIEW_QUESTIONS, systemPrompt, jobDescription, String.class, fresh, toTtl(ttlHours),
+                () -> chatClient.prompt()
+                    .system(systemPrompt)
+                    .user(jobDescription)  // Pass the job description as a user message
+                    .call()
+                    .content());
             
-            logger.info("Successfully generated interview questions");
+            logger.info("Successfully {} interview questions", result.cached() ? "retrieved cached" : "generated");
             
             // Return the generated interview questions
-            return ResponseEntity.ok(
-                new ApiResponse(true, "Interview questions generated successfully", generatedQuestions));
+            return questionsResponse(result);
         } catch (Exception e) {
             logger.error("Error generating interview questions", e);
             return ResponseEntity.internalServerError().body(
@@ -114,10 +138,15 @@ public class JobDescriptionGeneratorController {
      * Generate interview questions based on a structured job description.
      * 
      * @param jobDescription The structured job description to generate questions for
+     * @param fresh Whether to bypass the cache and regenerate
+     * @param ttlHours How long to cache the result, or the configured default if absent
      * @return A response containing the generated interview questions
      */
     @PostMapping("/generate-questions-from-dto")
-    public ResponseEntity<ApiResponse> generateInterviewQuestionsFromDTO(@RequestBody JobDescriptionDTO jobDescription) {
+    public ResponseEntity<ApiResponse> generateInterviewQuestionsFromDTO(
+            @RequestBody JobDescriptionDTO jobDescription,
+            @RequestParam(defaultValue = "false") boolean fresh,
+            @RequestParam(required = false) Integer ttlHours) {
         logger.info("Generating interview questions for structured job description");
         
         if (jobDescription == null) {
@@ -173,22 +202,35 @@ public class JobDescriptionGeneratorController {
             // Use the interview questions prompt template as the system message
             String systemPrompt = interviewQuestionsGeneratePrompt;
             
-            // Generate the interview questions using the AI
-            String generatedQuestions = chatClient.prompt()
-                .system(systemPrompt)
-                .user(jobDescriptionText.toString())
-                .call()
-                .content();
+            // Generate the interview questions using the AI, sharing cache entries with /generate-questions
+            String userPrompt = jobDescriptionText.toString();
+            GenerationResponseCache.Result<String> result = generationResponseCache.getOrGenerate(
+                GenerationResponseCache.KIND_INTERVIEW_QUESTIONS, systemPrompt, userPrompt, String.class, fresh, toTtl(ttlHours),
+                () -> chatClient.prompt()
+                    .system(systemPrompt)
+                    .user(userPrompt)
+                    .call()
+                    .content());
             
-            logger.info("Successfully generated interview questions from structured job description");
+            logger.info("Successfully {} interview questions from structured job description",
+                result.cached() ? "retrieved cached" : "generated");
             
             // Return the generated interview questions
-            return ResponseEntity.ok(
-                new ApiResponse(true, "Interview questions generated successfully", generatedQuestions));
+            return questionsResponse(result);
         } catch (Exception e) {
             logger.error("Error generating interview questions", e);
             return ResponseEntity.internalServerError().body(
                 new ApiResponse(false, "Error generating interview questions: " + e.getMessage(), null));
         }
     }
+    
+    private ResponseEntity<ApiResponse> questionsResponse(GenerationResponseCache.Result<String> result) {
+        return ResponseEntity.ok(
+            new ApiResponse(true, result.cached() ? "Interview questions retrieved from cache" : "Interview questions generated successfully",
+                result.value()));
+    }
+    
+    private static Duration toTtl(Integer ttlHours) {
+        return ttlHours != null && ttlHours > 0 ? Duration.ofHours(ttlHours) : null;
+    }
 }
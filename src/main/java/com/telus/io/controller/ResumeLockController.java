@@ -22,6 +22,7 @@ import com.telus.io.model.CandidateEvaluationModel;
 import com.telus.io.model.Resume;
 import com.telus.io.repository.ResumeRepository;
 import com.telus.io.service.CandidateEvaluationService;
+import com.telus.io.service.EntityCacheService;
 
 
 
@@ -36,12 +37,15 @@ public class ResumeLockController {
     
     private final CandidateEvaluationService evaluationService;
     private final ResumeRepository resumeRepository;
+    private final EntityCacheService entityCacheService;
     
     @Autowired
     public ResumeLockController(CandidateEvaluationService evaluationService, 
-                               ResumeRepository resumeRepository) {
+                               ResumeRepository resumeRepository,
+                               EntityCacheService entityCacheService) {
         this.evaluationService = evaluationService;
         this.resumeRepository = resumeRepository;
+        this.entityCacheService = entityCacheService;
     }
     
     
@@ -98,7 +102,7 @@ public class ResumeLockController {
         logger.debug("Getting lock status for resume ID: {}", resumeId);
         
         // Check if resume exists
-        Resume resume = resumeRepository.findById(resumeId)
+        Resume resume = entityCacheService.findResume(resumeId)
             .orElseThrow(() -> new ResourceNotFoundException("Resume", "id", resumeId));
         
         // Check if there's an evaluation record for this resume
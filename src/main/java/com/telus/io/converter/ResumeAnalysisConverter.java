@@ -1,26 +1,317 @@
 package com.telus.io.converter;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.converter.BeanOutputConverter;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.telus.io.model.ResumeAnalysis;
+import com.telus.io.util.AiMetrics;
 
 
 /**
  * Custom converter that explicitly implements Converter<String, ResumeAnalysis>
  * to help Spring determine the source and target types.
+ *
+ * The JSON format instructions still come from BeanOutputConverter, but parsing
+ * is tolerant: the object is located and repaired by {@link TolerantJsonExtractor}
+ * and then read with Jackson's streaming API. Field names are matched ignoring
+ * case and underscores, scores given as strings such as "85%" are accepted and
+ * unknown fields are skipped, so an analysis is only discarded when it carries no
+ * usable score.
  */
 @Component
-public class ResumeAnalysisConverter extends BeanOutputConverter<ResumeAnalysis> 
+public class ResumeAnalysisConverter extends BeanOutputConverter<ResumeAnalysis>
         implements Converter<String, ResumeAnalysis> {
-    
-    public ResumeAnalysisConverter() {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeAnalysisConverter.class);
+
+    private static final String PARSE_STAGE = "resume-analysis";
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .enable(JsonReadFeature.ALLOW_JAVA_COMMENTS)
+            .enable(JsonReadFeature.ALLOW_UNESCAPED_CONTROL_CHARS)
+            .build();
+
+    private final AiMetrics aiMetrics;
+
+    public ResumeAnalysisConverter(AiMetrics aiMetrics) {
         super(ResumeAnalysis.class);
+        this.aiMetrics = aiMetrics;
     }
-    
+
     @Override
     public ResumeAnalysis convert(String source) {
-        return super.convert(source);
+        TolerantJsonExtractor.Extraction extraction = TolerantJsonExtractor.extract(source).orElse(null);
+        if (extraction == null) {
+            aiMetrics.recordParseFailure(PARSE_STAGE);
+            throw new IllegalStateException("No JSON object found in model output");
+        }
+
+        ResumeAnalysis analysis;
+        try (JsonParser parser = JSON_FACTORY.createParser(extraction.json())) {
+            analysis = readAnalysis(parser);
+        } catch (IOException e) {
+            aiMetrics.recordParseFailure(PARSE_STAGE);
+            throw new IllegalStateException("Failed to parse resume analysis (repairs: "
+                    + extraction.repairPath() + "): " + e.getMessage(), e);
+        }
+
+        if (analysis.getOverallScore() == null) {
+            analysis.setOverallScore(averageCategoryScore(analysis.getCategoryScores()));
+        }
+        if (analysis.getOverallScore() == null) {
+            aiMetrics.recordParseFailure(PARSE_STAGE);
+            throw new IllegalStateException("Resume analysis has no overall or category scores");
+        }
+
+        aiMetrics.recordParseRepair(PARSE_STAGE, extraction.repairPath());
+        if (!extraction.repairs().isEmpty()) {
+            logger.debug("Parsed resume analysis after repairs: {}", extraction.repairPath());
+        }
+        return analysis;
+    }
+
+    private ResumeAnalysis readAnalysis(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object");
+        }
+
+        ResumeAnalysis analysis = new ResumeAnalysis();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = normalize(parser.currentName());
+            parser.nextToken();
+            switch (field) {
+                case "executivesummary" -> analysis.setExecutiveSummary(readText(parser));
+                case "overallscore" -> analysis.setOverallScore(readScore(parser));
+                case "keystrengths" -> analysis.setKeyStrengths(readList(parser, this::readKeyStrength));
+                case "improvementareas" -> analysis.setImprovementAreas(readList(parser, this::readImprovementArea));
+                case "categoryscores" -> analysis.setCategoryScores(readCategoryScores(parser));
+                case "skillexplanations" -> analysis.setSkillExplanations(readStringMap(parser));
+                case "recommendation" -> analysis.setRecommendation(readRecommendation(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return analysis;
+    }
+
+    private ResumeAnalysis.KeyStrength readKeyStrength(JsonParser parser) throws IOException {
+        ResumeAnalysis.KeyStrength strength = new ResumeAnalysis.KeyStrength();
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            strength.setStrength(parser.getText());
+            return strength;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = normalize(parser.currentName());
+            parser.nextToken();
+            switch (field) {
+                case "strength" -> strength.setStrength(readText(parser));
+                case "evidence" -> strength.setEvidence(readText(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return strength;
+    }
+
+    private ResumeAnalysis.ImprovementArea readImprovementArea(JsonParser parser) throws IOException {
+        ResumeAnalysis.ImprovementArea area = new ResumeAnalysis.ImprovementArea();
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            area.setGap(parser.getText());
+            return area;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = normalize(parser.currentName());
+            parser.nextToken();
+            switch (field) {
+                case "gap" -> area.setGap(readText(parser));
+                case "suggestion" -> area.setSuggestion(readText(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return area;
+    }
+
+    private ResumeAnalysis.CategoryScores readCategoryScores(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        ResumeAnalysis.CategoryScores scores = new ResumeAnalysis.CategoryScores();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = normalize(parser.currentName());
+            parser.nextToken();
+            switch (field) {
+                case "technicalskills" -> scores.setTechnicalSkills(readScore(parser));
+                case "experience" -> scores.setExperience(readScore(parser));
+                case "education" -> scores.setEducation(readScore(parser));
+                case "softskills" -> scores.setSoftSkills(readScore(parser));
+                case "achievements" -> scores.setAchievements(readScore(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return scores;
+    }
+
+    private ResumeAnalysis.Recommendation readRecommendation(JsonParser parser) throws IOException {
+        ResumeAnalysis.Recommendation recommendation = new ResumeAnalysis.Recommendation();
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            recommendation.setType(parser.getText());
+            return recommendation;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = normalize(parser.currentName());
+            parser.nextToken();
+            switch (field) {
+                case "type" -> recommendation.setType(readText(parser));
+                case "reason" -> recommendation.setReason(readText(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return recommendation;
+    }
+
+    private Map<String, String> readStringMap(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return Map.of();
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            parser.nextToken();
+            String value = readText(parser);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+    private <T> List<T> readList(JsonParser parser, ElementReader<T> reader) throws IOException {
+        List<T> items = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            // A single element where an array was expected
+            T item = reader.read(parser);
+            if (item != null) {
+                items.add(item);
+            }
+            return items;
+        }
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new IOException("Unexpected end of input inside array");
+            }
+            T item = reader.read(parser);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Read a scalar as text; objects and arrays are skipped.
+     */
+    private String readText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Read a score from a number or from a string such as "85", "85%" or "85/100".
+     */
+    private Integer readScore(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return (int) Math.round(parser.getDoubleValue());
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            return leadingInteger(parser.getText());
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static Integer leadingInteger(String text) {
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3) {
+                    return null;
+                }
+            } else if (digits > 0) {
+                break;
+            } else if (!Character.isWhitespace(c)) {
+                return null;
+            }
+        }
+        return digits > 0 ? value : null;
+    }
+
+    private static Integer averageCategoryScore(ResumeAnalysis.CategoryScores scores) {
+        if (scores == null) {
+            return null;
+        }
+        int sum = 0;
+        int count = 0;
+        for (Integer score : new Integer[] {
+                scores.getTechnicalSkills(), scores.getExperience(), scores.getEducation(),
+                scores.getSoftSkills(), scores.getAchievements() }) {
+            if (score != null) {
+                sum += score;
+                count++;
+            }
+        }
+        return count > 0 ? Math.round((float) sum / count) : null;
+    }
+
+    private static String normalize(String fieldName) {
+        return fieldName == null ? "" : fieldName.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Reads one list element positioned at its first token.
+     */
+    @FunctionalInterface
+    private interface ElementReader<T> {
+        T read(JsonParser parser) throws IOException;
     }
 }
@@ -0,0 +1,188 @@
+package com.telus.io.converter;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Locates the first JSON object in free-form model output and repairs the
+ * defects LLMs commonly introduce, in a single pass over the text:
+ * <ul>
+ *   <li>markdown code fences around the JSON</li>
+ *   <li>prose before or after the object</li>
+ *   <li>trailing commas before a closing brace or bracket</li>
+ *   <li>output truncated before the object was closed</li>
+ * </ul>
+ * Strings may be quoted with '"' or with '\'', which the parser accepts, so
+ * brackets and commas inside either kind are left alone.
+ * The repairs applied are reported so callers can track how often each one is needed.
+ */
+public final class TolerantJsonExtractor {
+
+    private static final String CODE_FENCE = "```";
+
+    /**
+     * A repair applied while extracting the JSON object.
+     */
+    public enum Repair {
+        CODE_FENCE,
+        SURROUNDING_TEXT,
+        TRAILING_COMMA,
+        UNCLOSED_STRUCTURE
+    }
+
+    /**
+     * The extracted JSON and the repairs that were needed to obtain it.
+     */
+    public record Extraction(String json, Set<Repair> repairs) {
+
+        /**
+         * @return The repairs joined with '+', or "none" if the text was clean JSON
+         */
+        public String repairPath() {
+            if (repairs.isEmpty()) {
+                return "none";
+            }
+            return repairs.stream()
+                    .map(repair -> repair.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                    .collect(Collectors.joining("+"));
+        }
+    }
+
+    private TolerantJsonExtractor() {
+    }
+
+    /**
+     * Extract and repair the first JSON object in the given text.
+     *
+     * @param text The model output
+     * @return The extraction, or empty if the text contains no JSON object
+     */
+    public static Optional<Extraction> extract(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+        int start = text.indexOf('{');
+        if (start < 0) {
+            return Optional.empty();
+        }
+
+        EnumSet<Repair> repairs = EnumSet.noneOf(Repair.class);
+        String prefix = text.substring(0, start).strip();
+        if (prefix.startsWith(CODE_FENCE)) {
+            repairs.add(Repair.CODE_FENCE);
+            // Anything beyond the fence line (e.g. "```json") is prose
+            if (prefix.indexOf('\n') >= 0) {
+                repairs.add(Repair.SURROUNDING_TEXT);
+            }
+        } else if (!prefix.isEmpty()) {
+            repairs.add(Repair.SURROUNDING_TEXT);
+            if (prefix.endsWith(CODE_FENCE) || prefix.contains(CODE_FENCE + "json")) {
+                repairs.add(Repair.CODE_FENCE);
+            }
+        }
+
+        StringBuilder out = new StringBuilder(text.length() - start);
+        StringBuilder closers = new StringBuilder();
+        boolean inString = false;
+        char quote = '"';
+        boolean escaped = false;
+        boolean pendingComma = false;
+        int end = -1;
+
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (inString) {
+                out.append(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == quote) {
+                    inString = false;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"', '\'' -> {
+                    pendingComma = flushComma(out, pendingComma);
+                    inString = true;
+                    quote = c;
+                    out.append(c);
+                }
+                case '{', '[' -> {
+                    pendingComma = flushComma(out, pendingComma);
+                    closers.append(c == '{' ? '}' : ']');
+                    out.append(c);
+                }
+                case '}', ']' -> {
+                    if (pendingComma) {
+                        repairs.add(Repair.TRAILING_COMMA);
+                        pendingComma = false;
+                    }
+                    if (closers.length() > 0) {
+                        // Emit the expected closer so a mismatched bracket cannot unbalance the output
+                        out.append(closers.charAt(closers.length() - 1));
+                        closers.setLength(closers.length() - 1);
+                    }
+                    if (closers.length() == 0) {
+                        end = i;
+                    }
+                }
+                case ',' -> {
+                    if (pendingComma) {
+                        repairs.add(Repair.TRAILING_COMMA);
+                    }
+                    pendingComma = true;
+                }
+                default -> {
+                    if (!Character.isWhitespace(c)) {
+                        pendingComma = flushComma(out, pendingComma);
+                    }
+                    out.append(c);
+                }
+            }
+
+            if (end >= 0) {
+                break;
+            }
+        }
+
+        if (end < 0) {
+            // Output was cut off: close the open string and structures
+            if (inString) {
+                if (escaped) {
+                    out.setLength(out.length() - 1);
+                }
+                out.append(quote);
+            }
+            if (pendingComma) {
+                repairs.add(Repair.TRAILING_COMMA);
+            }
+            out.append(closers.reverse());
+            repairs.add(Repair.UNCLOSED_STRUCTURE);
+        } else {
+            String suffix = text.substring(end + 1).strip();
+            if (suffix.startsWith(CODE_FENCE)) {
+                repairs.add(Repair.CODE_FENCE);
+                suffix = suffix.substring(CODE_FENCE.length()).strip();
+            }
+            if (!suffix.isEmpty()) {
+                repairs.add(Repair.SURROUNDING_TEXT);
+            }
+        }
+
+        return Optional.of(new Extraction(out.toString(), repairs));
+    }
+
+    private static boolean flushComma(StringBuilder out, boolean pendingComma) {
+        if (pendingComma) {
+            out.append(',');
+        }
+        return false;
+    }
+}
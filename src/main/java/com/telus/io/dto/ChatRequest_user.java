@@ -10,6 +10,8 @@ public class ChatRequest_user {
     
     private String message;
     private UUID currentResumeId;
+    // The user the conversation belongs to; chat memory is keyed by it. Optional, the HTTP session is used without it
+    private String userId;
     
     // Default constructor
     public ChatRequest_user() {
@@ -38,6 +40,14 @@ public class ChatRequest_user {
         this.currentResumeId = currentResumeId;
     }
     
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
    
     
     @Override
@@ -45,6 +55,7 @@ public class ChatRequest_user {
         return "ChatRequest{" +
                 "message='" + message + '\'' +
                 ", currentResumeId=" + currentResumeId +
+                ", userId='" + userId + '\'' +
                 ", currentJobDescription='" + 
                 '}';
     }
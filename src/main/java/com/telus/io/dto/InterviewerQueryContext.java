@@ -0,0 +1,54 @@
+package com.telus.io.dto;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-request state for an interviewer matching query.
+ * 
+ * The query is embedded once when the context is created, and the pgvector
+ * literal is encoded once, so every stage of a matching request reuses them
+ * instead of calling the embedding model again. The candidates found by the
+ * vector search are kept here for later stages.
+ */
+public class InterviewerQueryContext {
+    
+    private final String query;
+    private final float[] embedding;
+    private final String vectorLiteral;
+    private List<Map<String, Object>> candidates = Collections.emptyList();
+    
+    public InterviewerQueryContext(String query, float[] embedding, String vectorLiteral) {
+        this.query = query;
+        this.embedding = embedding;
+        this.vectorLiteral = vectorLiteral;
+    }
+    
+    public String getQuery() {
+        return query;
+    }
+    
+    public float[] getEmbedding() {
+        return embedding;
+    }
+    
+    /**
+     * @return The embedding encoded as a pgvector literal, ready to bind as ?::vector
+     */
+    public String getVectorLiteral() {
+        return vectorLiteral;
+    }
+    
+    /**
+     * @return The scored candidates from the last vector search, each with the keys
+     *         "interviewer", "similarity" and "projection"
+     */
+    public List<Map<String, Object>> getCandidates() {
+        return candidates;
+    }
+    
+    public void setCandidates(List<Map<String, Object>> candidates) {
+        this.candidates = candidates != null ? candidates : Collections.emptyList();
+    }
+}
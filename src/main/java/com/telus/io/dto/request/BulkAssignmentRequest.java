@@ -0,0 +1,68 @@
+package com.telus.io.dto.request;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for assigning a batch of candidates to interviewers over a date range.
+ */
+public class BulkAssignmentRequest {
+    
+    private List<UUID> resumeIds;
+    private String startDate;
+    private String endDate;
+    private Double minSimilarity;
+    private boolean reserve;
+    
+    public List<UUID> getResumeIds() {
+        return resumeIds;
+    }
+    
+    public void setResumeIds(List<UUID> resumeIds) {
+        this.resumeIds = resumeIds;
+    }
+    
+    /**
+     * @return The first interview date in format YYYY-MM-DD
+     */
+    public String getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+    
+    /**
+     * @return The last interview date in format YYYY-MM-DD, inclusive
+     */
+    public String getEndDate() {
+        return endDate;
+    }
+    
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+    
+    /**
+     * @return The minimum similarity for a candidate-interviewer pair, or null for the configured threshold
+     */
+    public Double getMinSimilarity() {
+        return minSimilarity;
+    }
+    
+    public void setMinSimilarity(Double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+    
+    /**
+     * @return Whether to reserve the slots of the computed schedule, or only return it
+     */
+    public boolean isReserve() {
+        return reserve;
+    }
+    
+    public void setReserve(boolean reserve) {
+        this.reserve = reserve;
+    }
+}
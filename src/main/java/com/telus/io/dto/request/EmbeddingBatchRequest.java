@@ -0,0 +1,31 @@
+package com.telus.io.dto.request;
+
+import java.util.List;
+
+/**
+ * DTO for embedding a batch of texts.
+ */
+public class EmbeddingBatchRequest {
+    
+    private List<String> texts;
+    private String encoding = "base64";
+    
+    public List<String> getTexts() {
+        return texts;
+    }
+    
+    public void setTexts(List<String> texts) {
+        this.texts = texts;
+    }
+    
+    /**
+     * @return How vectors are returned: "base64" (little-endian float32) or "json"
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+    
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+}
@@ -2,6 +2,9 @@ package com.telus.io.dto.request;
 
 public class JobDescriptionRequest {
 
+	// Generation is sharded (see CandidateGenerationService), so the count is no longer bound by one response
+	private static final int MAX_COUNT = 100;
+
 	private String jobDescription;
 	private int count = 10; // Default to 5 candidates if not specified
 
@@ -19,7 +22,7 @@ public class JobDescriptionRequest {
 	}
 
 	public void setCount(int count) {
-		// Ensure count is between 1 and 10 to prevent abuse
-		this.count = Math.min(Math.max(count, 1), 10);
+		// Ensure count is between 1 and MAX_COUNT to prevent abuse
+		this.count = Math.min(Math.max(count, 1), MAX_COUNT);
 	}
 }
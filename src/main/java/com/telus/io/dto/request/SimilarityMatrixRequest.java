@@ -0,0 +1,40 @@
+package com.telus.io.dto.request;
+
+import java.util.List;
+
+/**
+ * DTO for computing the similarity of every row text with every column text.
+ */
+public class SimilarityMatrixRequest {
+    
+    private List<String> rows;
+    private List<String> columns;
+    private String encoding = "base64";
+    
+    public List<String> getRows() {
+        return rows;
+    }
+    
+    public void setRows(List<String> rows) {
+        this.rows = rows;
+    }
+    
+    public List<String> getColumns() {
+        return columns;
+    }
+    
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+    
+    /**
+     * @return How the matrix is returned: "base64" (little-endian float32, row-major), "json" or "binary"
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+    
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+}
@@ -0,0 +1,67 @@
+package com.telus.io.dto.request;
+
+import java.util.UUID;
+
+/**
+ * DTO for reserving an interview slot for a candidate.
+ */
+public class SlotReservationRequest {
+    
+    private UUID interviewerId;
+    private String date;
+    private UUID resumeId;
+    private UUID evaluationId;
+    private Double matchScore;
+    
+    public SlotReservationRequest() {
+    }
+    
+    public SlotReservationRequest(UUID interviewerId, String date, UUID resumeId) {
+        this.interviewerId = interviewerId;
+        this.date = date;
+        this.resumeId = resumeId;
+    }
+    
+    public UUID getInterviewerId() {
+        return interviewerId;
+    }
+    
+    public void setInterviewerId(UUID interviewerId) {
+        this.interviewerId = interviewerId;
+    }
+    
+    /**
+     * @return The interview date in format YYYY-MM-DD
+     */
+    public String getDate() {
+        return date;
+    }
+    
+    public void setDate(String date) {
+        this.date = date;
+    }
+    
+    public UUID getResumeId() {
+        return resumeId;
+    }
+    
+    public void setResumeId(UUID resumeId) {
+        this.resumeId = resumeId;
+    }
+    
+    public UUID getEvaluationId() {
+        return evaluationId;
+    }
+    
+    public void setEvaluationId(UUID evaluationId) {
+        this.evaluationId = evaluationId;
+    }
+    
+    public Double getMatchScore() {
+        return matchScore;
+    }
+    
+    public void setMatchScore(Double matchScore) {
+        this.matchScore = matchScore;
+    }
+}
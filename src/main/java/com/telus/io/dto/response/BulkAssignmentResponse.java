@@ -0,0 +1,123 @@
+package com.telus.io.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a bulk candidate-to-interviewer schedule.
+ */
+public class BulkAssignmentResponse {
+    
+    /**
+     * One candidate assigned to an interviewer on a date.
+     */
+    public static class Assignment {
+        
+        private UUID resumeId;
+        private UUID interviewerId;
+        private String interviewerName;
+        private String date;
+        private double similarity;
+        private boolean reserved;
+        private UUID assignmentId;
+        
+        public Assignment() {
+        }
+        
+        public Assignment(UUID resumeId, UUID interviewerId, String interviewerName, String date, double similarity) {
+            this.resumeId = resumeId;
+            this.interviewerId = interviewerId;
+            this.interviewerName = interviewerName;
+            this.date = date;
+            this.similarity = similarity;
+        }
+        
+        public UUID getResumeId() {
+            return resumeId;
+        }
+        
+        public void setResumeId(UUID resumeId) {
+            this.resumeId = resumeId;
+        }
+        
+        public UUID getInterviewerId() {
+            return interviewerId;
+        }
+        
+        public void setInterviewerId(UUID interviewerId) {
+            this.interviewerId = interviewerId;
+        }
+        
+        public String getInterviewerName() {
+            return interviewerName;
+        }
+        
+        public void setInterviewerName(String interviewerName) {
+            this.interviewerName = interviewerName;
+        }
+        
+        public String getDate() {
+            return date;
+        }
+        
+        public void setDate(String date) {
+            this.date = date;
+        }
+        
+        public double getSimilarity() {
+            return similarity;
+        }
+        
+        public void setSimilarity(double similarity) {
+            this.similarity = similarity;
+        }
+        
+        public boolean isReserved() {
+            return reserved;
+        }
+        
+        public void setReserved(boolean reserved) {
+            this.reserved = reserved;
+        }
+        
+        public UUID getAssignmentId() {
+            return assignmentId;
+        }
+        
+        public void setAssignmentId(UUID assignmentId) {
+            this.assignmentId = assignmentId;
+        }
+    }
+    
+    private List<Assignment> assignments = new ArrayList<>();
+    private List<UUID> unassignedResumeIds = new ArrayList<>();
+    private double totalSimilarity;
+    
+    public List<Assignment> getAssignments() {
+        return assignments;
+    }
+    
+    public void setAssignments(List<Assignment> assignments) {
+        this.assignments = assignments;
+    }
+    
+    /**
+     * @return Candidates that could not be assigned, for lack of capacity or of a similar enough interviewer
+     */
+    public List<UUID> getUnassignedResumeIds() {
+        return unassignedResumeIds;
+    }
+    
+    public void setUnassignedResumeIds(List<UUID> unassignedResumeIds) {
+        this.unassignedResumeIds = unassignedResumeIds;
+    }
+    
+    public double getTotalSimilarity() {
+        return totalSimilarity;
+    }
+    
+    public void setTotalSimilarity(double totalSimilarity) {
+        this.totalSimilarity = totalSimilarity;
+    }
+}
@@ -0,0 +1,90 @@
+package com.telus.io.dto.response;
+
+import java.util.UUID;
+
+/**
+ * DTO for the outcome of an interview slot reservation.
+ */
+public class SlotReservationResponse {
+    
+    private UUID interviewerId;
+    private String date;
+    private UUID resumeId;
+    private boolean reserved;
+    private UUID assignmentId;
+    private int remainingSlots;
+    private String message;
+    
+    public SlotReservationResponse() {
+    }
+    
+    public SlotReservationResponse(UUID interviewerId, String date, UUID resumeId, boolean reserved,
+            UUID assignmentId, int remainingSlots, String message) {
+        this.interviewerId = interviewerId;
+        this.date = date;
+        this.resumeId = resumeId;
+        this.reserved = reserved;
+        this.assignmentId = assignmentId;
+        this.remainingSlots = remainingSlots;
+        this.message = message;
+    }
+    
+    public UUID getInterviewerId() {
+        return interviewerId;
+    }
+    
+    public void setInterviewerId(UUID interviewerId) {
+        this.interviewerId = interviewerId;
+    }
+    
+    public String getDate() {
+        return date;
+    }
+    
+    public void setDate(String date) {
+        this.date = date;
+    }
+    
+    public UUID getResumeId() {
+        return resumeId;
+    }
+    
+    public void setResumeId(UUID resumeId) {
+        this.resumeId = resumeId;
+    }
+    
+    public boolean isReserved() {
+        return reserved;
+    }
+    
+    public void setReserved(boolean reserved) {
+        this.reserved = reserved;
+    }
+    
+    /**
+     * @return The interview assignment recorded for the reservation, or null if none was recorded
+     */
+    public UUID getAssignmentId() {
+        return assignmentId;
+    }
+    
+    public void setAssignmentId(UUID assignmentId) {
+        this.assignmentId = assignmentId;
+    }
+    
+    public int getRemainingSlots() {
+        return remainingSlots;
+    }
+    
+    public void setRemainingSlots(int remainingSlots) {
+        this.remainingSlots = remainingSlots;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -16,6 +16,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Version;
 
 /**
@@ -24,7 +25,9 @@ import jakarta.persistence.Version;
  * Also serves as an entity for database operations.
  */
 @Entity
-@Table(name = "candidate_evaluations")
+// One evaluation per resume; lock requests rely on it to create the row exactly once
+@Table(name = "candidate_evaluations",
+       uniqueConstraints = @UniqueConstraint(name = "uq_candidate_evaluations_resume_id", columnNames = "resume_Id"))
 public class CandidateEvaluationModel {
     
     @Override
@@ -127,6 +130,10 @@ public class CandidateEvaluationModel {
     private String managerId;
     private LocalDateTime lockedAt;
     
+    // SHA-256 of the evaluation data last applied, for change detection without loading the collections
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     // For optimistic locking
 //    @Version
 //    private Long version;
@@ -313,6 +320,14 @@ public class CandidateEvaluationModel {
         this.lockedAt = lockedAt;
     }
     
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    
 //    public Long getVersion() {
 //        return version;
 //    }
@@ -0,0 +1,94 @@
+package com.telus.io.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Typed form of the metadata stored with each interviewer vector store entry.
+ * 
+ * The key names match the original untyped metadata so existing rows still decode.
+ * Rows written before versioning have no schemaVersion or revision and decode as
+ * version 1, revision 0.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class InterviewerMetadata {
+    
+    public static final int CURRENT_SCHEMA_VERSION = 2;
+    
+    private int schemaVersion = 1;
+    private long revision;
+    private String interviewerId;
+    private String name;
+    private String email;
+    private int experienceYears;
+    private int tier;
+    private List<String> technicalExpertise;
+    private List<String> specializations;
+    
+    /**
+     * Build the metadata for an interviewer at the given revision.
+     * 
+     * @param interviewer The interviewer profile
+     * @param revision The revision of the entry, one higher on every rewrite
+     * @return The metadata
+     */
+    public static InterviewerMetadata from(InterviewerProfile interviewer, long revision) {
+        InterviewerMetadata metadata = new InterviewerMetadata();
+        metadata.setSchemaVersion(CURRENT_SCHEMA_VERSION);
+        metadata.setRevision(revision);
+        metadata.setInterviewerId(interviewer.getId().toString());
+        metadata.setName(interviewer.getName());
+        metadata.setEmail(interviewer.getEmail());
+        metadata.setExperienceYears(interviewer.getExperienceYears());
+        metadata.setTier(interviewer.getInterviewerTier());
+        metadata.setTechnicalExpertise(interviewer.getTechnicalExpertise());
+        metadata.setSpecializations(interviewer.getSpecializations());
+        return metadata;
+    }
+    
+    /**
+     * Convert to the map stored in the jsonb metadata column.
+     * 
+     * @return The metadata as a map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("schemaVersion", schemaVersion);
+        map.put("revision", revision);
+        map.put("interviewerId", interviewerId);
+        map.put("name", name);
+        map.put("email", email);
+        map.put("experienceYears", experienceYears);
+        map.put("tier", tier);
+        if (technicalExpertise != null) {
+            map.put("technicalExpertise", technicalExpertise);
+        }
+        if (specializations != null) {
+            map.put("specializations", specializations);
+        }
+        return map;
+    }
+    
+    // Getters and setters
+    public int getSchemaVersion() { return schemaVersion; }
+    public void setSchemaVersion(int schemaVersion) { this.schemaVersion = schemaVersion; }
+    public long getRevision() { return revision; }
+    public void setRevision(long revision) { this.revision = revision; }
+    public String getInterviewerId() { return interviewerId; }
+    public void setInterviewerId(String interviewerId) { this.interviewerId = interviewerId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public int getExperienceYears() { return experienceYears; }
+    public void setExperienceYears(int experienceYears) { this.experienceYears = experienceYears; }
+    public int getTier() { return tier; }
+    public void setTier(int tier) { this.tier = tier; }
+    public List<String> getTechnicalExpertise() { return technicalExpertise; }
+    public void setTechnicalExpertise(List<String> technicalExpertise) { this.technicalExpertise = technicalExpertise; }
+    public List<String> getSpecializations() { return specializations; }
+    public void setSpecializations(List<String> specializations) { this.specializations = specializations; }
+}
@@ -0,0 +1,61 @@
+package com.telus.io.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, pre-decoded view of an interviewer's vector store metadata.
+ * Instances are cached and shared across searches, so callers that need a
+ * mutable profile get a fresh copy from {@link #toProfile()}.
+ */
+public record InterviewerProjection(
+        UUID id,
+        long revision,
+        String name,
+        String email,
+        int experienceYears,
+        int tier,
+        List<String> technicalExpertise,
+        List<String> specializations) {
+    
+    /**
+     * Decode a projection from typed metadata.
+     * 
+     * @param metadata The stored metadata
+     * @return The projection
+     */
+    public static InterviewerProjection from(InterviewerMetadata metadata) {
+        return new InterviewerProjection(
+                UUID.fromString(metadata.getInterviewerId()),
+                metadata.getRevision(),
+                metadata.getName(),
+                metadata.getEmail(),
+                metadata.getExperienceYears(),
+                metadata.getTier(),
+                immutableCopy(metadata.getTechnicalExpertise()),
+                immutableCopy(metadata.getSpecializations()));
+    }
+    
+    /**
+     * Create a detached profile populated from this projection.
+     * 
+     * @return A new InterviewerProfile instance
+     */
+    public InterviewerProfile toProfile() {
+        InterviewerProfile interviewer = new InterviewerProfile();
+        interviewer.setId(id);
+        interviewer.setName(name);
+        interviewer.setEmail(email);
+        interviewer.setExperienceYears(experienceYears);
+        interviewer.setInterviewerTier(tier);
+        interviewer.setTechnicalExpertise(technicalExpertise != null ? new ArrayList<>(technicalExpertise) : null);
+        interviewer.setSpecializations(specializations != null ? new ArrayList<>(specializations) : null);
+        return interviewer;
+    }
+    
+    private static List<String> immutableCopy(List<String> values) {
+        return values != null ? Collections.unmodifiableList(new ArrayList<>(values)) : null;
+    }
+}
@@ -1,10 +1,14 @@
 package com.telus.io.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.telus.io.model.CandidateEvaluationModel;
@@ -40,4 +44,58 @@ public interface CandidateEvaluationRepository extends JpaRepository<CandidateEv
      * @return An Optional containing the candidate evaluation if found, or empty if not found
      */
     Optional<CandidateEvaluationModel> findByResumeId(UUID resumeId);
+    
+    /**
+     * Atomically move the lock of a resume's evaluation to a manager, or release it.
+     * Only applies if the evaluation is unlocked or already held by the manager,
+     * and if the lock state actually changes, so concurrent managers cannot both
+     * take the lock.
+     * 
+     * @param resumeId The resume ID
+     * @param locked The new lock state
+     * @param managerId The requesting manager
+     * @param changedAt The time of the change
+     * @return 1 if the lock changed, 0 if the evaluation does not exist, is held by
+     *         another manager, or is already in the requested state
+     */
+    @Modifying
+    @Query("UPDATE CandidateEvaluationModel e SET e.locked = :locked, e.managerId = :managerId, e.lockedAt = :changedAt "
+            + "WHERE e.resumeId = :resumeId AND (e.locked = false OR e.managerId = :managerId) "
+            + "AND (e.locked <> :locked OR e.managerId IS NULL OR e.managerId <> :managerId)")
+    int transitionLock(
+            @Param("resumeId") UUID resumeId,
+            @Param("locked") boolean locked,
+            @Param("managerId") String managerId,
+            @Param("changedAt") LocalDateTime changedAt);
+    
+    /**
+     * Create an unlocked evaluation for a resume unless one already exists. Relies
+     * on the unique index on resume_id, so concurrent first requests for a resume
+     * create exactly one row; a request that loses waits for the winner to commit.
+     * 
+     * @return 1 if the evaluation was created, 0 if one already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO candidate_evaluations (id, resume_id, name, email, phone_number, score, locked, status) "
+            + "VALUES (:id, :resumeId, :name, :email, :phoneNumber, 0, false, 'OPEN') "
+            + "ON CONFLICT (resume_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("id") UUID id,
+            @Param("resumeId") UUID resumeId,
+            @Param("name") String name,
+            @Param("email") String email,
+            @Param("phoneNumber") String phoneNumber);
+    
+    /**
+     * Check that the unique index {@link #insertIfAbsent} relies on exists. Without it
+     * ON CONFLICT (resume_id) fails on every insert.
+     * 
+     * @return true if candidate_evaluations has a valid, non-partial unique index on resume_id alone
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pg_index i "
+            + "JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0] "
+            + "WHERE i.indrelid = to_regclass('candidate_evaluations') AND i.indisunique AND i.indisvalid "
+            + "AND i.indnatts = 1 AND i.indpred IS NULL AND i.indexprs IS NULL AND a.attname = 'resume_id')",
+            nativeQuery = true)
+    boolean hasUniqueResumeIdIndex();
 }
@@ -0,0 +1,155 @@
+package com.telus.io.scheduler;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks whether each vector store table has entries, so request paths can
+ * check for an empty store without querying the table every time.
+ *
+ * Emptiness is learned from a single EXISTS probe and then kept current by
+ * writes: an insert marks the table as non-empty, a delete marks it unknown so
+ * the next check probes again. A periodic refresh re-probes every table and
+ * reads the approximate row count from the table statistics, which covers
+ * writes made by other nodes or outside the application. A probe only stores
+ * its result if no write was recorded while it ran, so a probe that saw the
+ * table before a concurrent insert cannot mark it empty again.
+ *
+ * Gauges: vector.store.empty (1 when empty) and vector.store.rows, tagged table.
+ */
+@Component
+public class VectorStoreStateTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorStoreStateTracker.class);
+
+    /**
+     * The tracked vector store tables.
+     */
+    public enum Table {
+        INTERVIEWER("interviewer_vector_store"),
+        RESUME("resume_vector_store");
+
+        private final String tableName;
+
+        Table(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+    }
+
+    /**
+     * What is known about a table's emptiness. Every write records a new
+     * instance, so a probe can tell by identity whether one happened meanwhile.
+     */
+    private static final class Observation {
+        // null until probed, and again after a delete
+        final Boolean hasEntries;
+
+        Observation(Boolean hasEntries) {
+            this.hasEntries = hasEntries;
+        }
+    }
+
+    private static final class TableState {
+        final AtomicReference<Observation> observation = new AtomicReference<>(new Observation(null));
+        volatile long approximateRows;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Table, TableState> states = new EnumMap<>(Table.class);
+
+    public VectorStoreStateTracker(JdbcTemplate jdbcTemplate, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (Table table : Table.values()) {
+            TableState state = new TableState();
+            states.put(table, state);
+            Gauge.builder("vector.store.empty", state, s -> Boolean.FALSE.equals(s.observation.get().hasEntries) ? 1 : 0)
+                    .description("Whether the vector store table is empty (1) or not (0)")
+                    .tag("table", table.getTableName())
+                    .register(registry);
+            Gauge.builder("vector.store.rows", state, s -> s.approximateRows)
+                    .description("Approximate number of rows in the vector store table")
+                    .tag("table", table.getTableName())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Check whether a vector store table has entries, probing it only if the state is unknown.
+     *
+     * @param table The table
+     * @return True if the table has at least one entry
+     */
+    public boolean hasEntries(Table table) {
+        Boolean hasEntries = states.get(table).observation.get().hasEntries;
+        return hasEntries != null ? hasEntries : probe(table);
+    }
+
+    /**
+     * Record that rows were inserted into a table.
+     *
+     * @param table The table
+     */
+    public void recordInsert(Table table) {
+        states.get(table).observation.set(new Observation(Boolean.TRUE));
+    }
+
+    /**
+     * Record that rows may have been deleted from a table; the next check probes it again.
+     *
+     * @param table The table
+     */
+    public void recordDelete(Table table) {
+        states.get(table).observation.set(new Observation(null));
+    }
+
+    /**
+     * Re-probe every table and refresh the approximate row counts.
+     */
+    @Scheduled(fixedDelayString = "${app.vector-store.state-refresh-ms:60000}",
+            initialDelayString = "${app.vector-store.state-refresh-ms:60000}")
+    public void refresh() {
+        for (Table table : Table.values()) {
+            probe(table);
+            try {
+                // Planner statistics: no table scan, accurate to the last analyze
+                Long rows = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(n_live_tup, 0) FROM pg_stat_user_tables WHERE relname = ?",
+                        Long.class, table.getTableName());
+                states.get(table).approximateRows = rows != null ? rows : 0;
+            } catch (DataAccessException e) {
+                logger.debug("Could not read row statistics for {}: {}", table.getTableName(), e.getMessage());
+            }
+        }
+    }
+
+    private boolean probe(Table table) {
+        AtomicReference<Observation> observation = states.get(table).observation;
+        Observation before = observation.get();
+        try {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + table.getTableName() + ")", Boolean.class);
+            boolean hasEntries = Boolean.TRUE.equals(exists);
+            // A write recorded since the probe started is newer than its result
+            observation.compareAndSet(before, new Observation(hasEntries));
+            return hasEntries;
+        } catch (DataAccessException e) {
+            logger.error("Error checking if {} has entries: {}", table.getTableName(), e.getMessage(), e);
+            return false;
+        }
+    }
+}
@@ -4,120 +4,514 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.telus.io.dto.SyncResult;
+import com.telus.io.scheduler.VectorSyncCoordinator.Shard;
+import com.telus.io.scheduler.VectorSyncCoordinator.ShardControl;
 import com.telus.io.service.ResumeStorageService;
+import com.telus.io.service.SyncProgressListener;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.Executor;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Enhanced scheduler for vector store synchronization.
  * This is now the primary way resumes enter the vector store system.
+ *
+ * Runs are coordinated across nodes by {@link VectorSyncCoordinator}: one node
+ * starts a run, and every node works its shards with
+ * app.vector-sync.workers-per-node workers on the resume processing executor.
+ * Nodes that were not running when the run started join it on their next poll.
+ *
+ * Manual syncs are tracked background jobs: {@link #startSync} returns the run
+ * ID at once, and the job's progress, throttle and cancellation are read and
+ * changed through the coordinator, from any node. The embedding rate limit is
+ * shared by this node's workers.
+ *
+ * Runs are stored in the vector_sync_runs and vector_sync_shards tables from
+ * schema.sql. When app.vector-sync.enabled is off (until those tables exist),
+ * each node syncs on its own instead: a sync is a single-shard job in this
+ * node's memory, with the same progress, throttle and cancellation, and only
+ * the last job is kept.
  */
 @Component
 public class VectorStoreSyncScheduler {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(VectorStoreSyncScheduler.class);
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    
+
     private final ResumeStorageService storageService;
-    private final AtomicBoolean syncInProgress = new AtomicBoolean(false);
-    private LocalDateTime lastSyncTime;
-    private SyncResult lastSyncResult;
-    
+    private final VectorSyncCoordinator coordinator;
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    // Earliest time, in System.nanoTime, at which this node's next embedding may start
+    private final AtomicLong nextEmbeddingAt = new AtomicLong(System.nanoTime());
+    // The running or last job of this node while coordination is disabled
+    private volatile LocalSyncJob localJob;
+
     @Autowired
     @Qualifier("resumeProcessingExecutor")
     private Executor resumeProcessingExecutor;
-    
-    public VectorStoreSyncScheduler(ResumeStorageService storageService) {
+
+    @Value("${app.vector-sync.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.vector-sync.workers-per-node:2}")
+    private int workersPerNode;
+
+    @Value("${app.vector-sync.progress-interval-ms:2000}")
+    private long progressIntervalMs;
+
+    @Value("${app.vector-sync.max-embeddings-per-second:0}")
+    private double defaultMaxEmbeddingsPerSecond;
+
+    public VectorStoreSyncScheduler(ResumeStorageService storageService, VectorSyncCoordinator coordinator) {
         this.storageService = storageService;
+        this.coordinator = coordinator;
     }
-    
+
     /**
-     * Synchronize the vector store with the database daily at 2 AM.
-     * This ensures that:
+     * Synchronize the vector store with the database on the app.vector-sync.cron
+     * schedule, e.g. "0 0 2 * * ?" for 2 AM daily. Off by default ("-"), since
+     * the sync re-embeds every missing resume. This ensures that:
      * 1. Every resume in the database has exactly one entry in the vector store
      * 2. There are no orphaned entries in the vector store
      * 3. There are no duplicate entries in the vector store
+     *
+     * Every node fires this; one starts the run and the others join it. The
+     * shards are worked on the resume processing executor so the scheduler
+     * thread is not held for the length of the run. While coordination is
+     * disabled, each node runs its own single-node sync.
      */
-    @Scheduled(cron = "0 0 2 * * ?") // Run at 2 AM every day
+    @Scheduled(cron = "${app.vector-sync.cron:-}")
     public void scheduledSync() {
         logger.info("Starting scheduled vector store synchronization");
-        
+
         try {
-            SyncResult result = synchronizeVectorStore();
-            logger.info("Scheduled vector store synchronization completed: {}", result);
+            if (!enabled) {
+                startLocalSync(VectorSyncCoordinator.TRIGGER_SCHEDULED, null);
+                return;
+            }
+            Optional<UUID> runId = coordinator.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null);
+            if (runId.isPresent()) {
+                startWorkers(runId.get());
+            } else {
+                logger.info("Another node is starting the vector store synchronization; joining on the next poll");
+            }
         } catch (Exception e) {
             logger.error("Error during scheduled vector store synchronization", e);
         }
     }
-    
+
     /**
-     * Manually trigger a synchronization.
-     * This method is thread-safe and prevents multiple synchronizations from running simultaneously.
-     * 
-     * @return The result of the synchronization, or null if a sync is already in progress
+     * Renew this node's shard leases and join a run started by another node.
      */
-    public SyncResult triggerSync() {
-        if (syncInProgress.compareAndSet(false, true)) {
-            try {
-                logger.info("Starting manual vector store synchronization");
-                SyncResult result = synchronizeVectorStore();
-                logger.info("Manual vector store synchronization completed: {}", result);
-                return result;
-            } catch (Exception e) {
-                logger.error("Error during manual vector store synchronization", e);
-                return null;
-            } finally {
-                syncInProgress.set(false);
+    @Scheduled(fixedDelayString = "${app.vector-sync.poll-ms:30000}",
+            initialDelayString = "${app.vector-sync.poll-ms:30000}")
+    public void pollRuns() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            coordinator.renewLeases();
+            if (activeWorkers.get() == 0) {
+                coordinator.findRunningRun().ifPresent(this::startWorkers);
+            }
+        } catch (Exception e) {
+            logger.error("Error polling vector store synchronization runs", e);
+        }
+    }
+
+    /**
+     * Manually start a synchronization as a background job. Other nodes join
+     * it on their next poll.
+     *
+     * @param maxEmbeddingsPerSecond The embedding rate limit per node, or null for the default
+     * @return The job ID, or empty if a sync is already in progress or being started by another node
+     */
+    public Optional<UUID> startSync(Double maxEmbeddingsPerSecond) {
+        if (!enabled) {
+            return startLocalSync(VectorSyncCoordinator.TRIGGER_MANUAL, maxEmbeddingsPerSecond);
+        }
+        Optional<UUID> runId = coordinator.startNewRun(VectorSyncCoordinator.TRIGGER_MANUAL, maxEmbeddingsPerSecond);
+        if (runId.isEmpty()) {
+            logger.warn("Sync already in progress, ignoring trigger request");
+            return Optional.empty();
+        }
+        logger.info("Starting manual vector store synchronization job {}", runId.get());
+        startWorkers(runId.get());
+        return runId;
+    }
+
+    /**
+     * Cancel a running job on every node.
+     *
+     * @param jobId The job ID
+     * @return Whether the job was running
+     */
+    public boolean cancelSync(UUID jobId) {
+        if (!enabled) {
+            LocalSyncJob job = findLocalJob(jobId).filter(LocalSyncJob::isRunning).orElse(null);
+            if (job == null || job.cancelRequestedAt != null) {
+                return false;
             }
-        } else {
+            job.cancelRequestedAt = LocalDateTime.now();
+            return true;
+        }
+        return coordinator.requestCancel(jobId);
+    }
+
+    /**
+     * Change the embedding rate limit of a running job.
+     *
+     * @param jobId The job ID
+     * @param maxEmbeddingsPerSecond The limit per node, or 0 for none
+     * @return Whether the job was running
+     */
+    public boolean throttleSync(UUID jobId, double maxEmbeddingsPerSecond) {
+        if (!enabled) {
+            return findLocalJob(jobId).filter(LocalSyncJob::isRunning)
+                    .map(job -> {
+                        job.maxEmbeddingsPerSecond = maxEmbeddingsPerSecond;
+                        return true;
+                    })
+                    .orElse(false);
+        }
+        return coordinator.updateThrottle(jobId, maxEmbeddingsPerSecond);
+    }
+
+    /**
+     * Get the state and progress of a job.
+     *
+     * @param jobId The job ID
+     * @return The job, or empty if it does not exist or has been purged from the history
+     */
+    public Optional<Map<String, Object>> getSyncJob(UUID jobId) {
+        if (!enabled) {
+            return findLocalJob(jobId).map(LocalSyncJob::toJob);
+        }
+        return coordinator.describeRun(jobId);
+    }
+
+    /**
+     * List recent jobs, newest first.
+     *
+     * @param limit The maximum number of jobs
+     * @return The jobs
+     */
+    public List<Map<String, Object>> listSyncJobs(int limit) {
+        if (!enabled) {
+            LocalSyncJob job = localJob;
+            return job != null ? List.of(job.toJob()) : List.of();
+        }
+        return coordinator.listRuns(limit);
+    }
+
+    /**
+     * Start a single-node sync job on the resume processing executor, unless one is running.
+     */
+    private synchronized Optional<UUID> startLocalSync(String triggerType, Double maxEmbeddingsPerSecond) {
+        if (localJob != null && localJob.isRunning()) {
             logger.warn("Sync already in progress, ignoring trigger request");
-            return null;
+            return Optional.empty();
+        }
+        LocalSyncJob job = new LocalSyncJob(triggerType,
+                maxEmbeddingsPerSecond != null ? maxEmbeddingsPerSecond : defaultMaxEmbeddingsPerSecond);
+        localJob = job;
+        logger.info("Starting single-node vector store synchronization job {}", job.id);
+        try {
+            resumeProcessingExecutor.execute(job::run);
+        } catch (RuntimeException e) {
+            job.finish(VectorSyncCoordinator.FAILED, null);
+            throw e;
+        }
+        return Optional.of(job.id);
+    }
+
+    private Optional<LocalSyncJob> findLocalJob(UUID jobId) {
+        LocalSyncJob job = localJob;
+        return job != null && job.id.equals(jobId) ? Optional.of(job) : Optional.empty();
+    }
+
+    /**
+     * Start this node's workers on a run, unless they are already working.
+     */
+    private void startWorkers(UUID runId) {
+        if (!activeWorkers.compareAndSet(0, workersPerNode)) {
+            return;
+        }
+        logger.info("Node {} working vector sync run {} with {} workers", coordinator.getNodeId(), runId, workersPerNode);
+        for (int i = 0; i < workersPerNode; i++) {
+            try {
+                resumeProcessingExecutor.execute(() -> workShards(runId));
+            } catch (RuntimeException e) {
+                logger.error("Error starting vector sync worker: {}", e.getMessage());
+                activeWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Lease and synchronize shards until none are left, then try to complete the run.
+     */
+    private void workShards(UUID runId) {
+        try {
+            Optional<Shard> claimed;
+            while ((claimed = coordinator.claimShard(runId)).isPresent()) {
+                Shard shard = claimed.get();
+                ShardProgress progress = new ShardProgress(shard);
+                try {
+                    SyncResult result = storageService.synchronizeShard(shard.shard(), shard.shardCount(), progress);
+                    if (progress.cancelled) {
+                        coordinator.cancelShard(shard, result);
+                        logger.info("Stopped vector store shard {} of run {} on cancellation", shard.shard(), runId);
+                        break;
+                    } else if (progress.released) {
+                        coordinator.failShard(shard);
+                    } else {
+                        coordinator.completeShard(shard, result);
+                        logger.debug("Synchronized vector store shard {} of run {}: {}", shard.shard(), runId, result);
+                    }
+                } catch (Exception e) {
+                    logger.error("Error synchronizing vector store shard {} of run {}: {}", shard.shard(), runId,
+                            e.getMessage(), e);
+                    coordinator.failShard(shard);
+                }
+            }
+            coordinator.finishRunIfDone(runId);
+        } catch (Exception e) {
+            logger.error("Error working vector sync run {}: {}", runId, e.getMessage(), e);
+        } finally {
+            activeWorkers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wait for this node's next embedding slot under the given rate limit.
+     */
+    private void pace(double maxEmbeddingsPerSecond) throws InterruptedException {
+        if (maxEmbeddingsPerSecond <= 0) {
+            return;
         }
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / maxEmbeddingsPerSecond);
+        long now = System.nanoTime();
+        long slot = Math.max(now, nextEmbeddingAt.getAndUpdate(next -> Math.max(next, now) + interval));
+        TimeUnit.NANOSECONDS.sleep(slot - now);
     }
-    
+
     /**
-     * Synchronize the vector store with the database.
-     * This method is protected by the syncInProgress flag to prevent multiple synchronizations.
-     * 
-     * @return The result of the synchronization
+     * Progress listener of one leased shard: reports progress at most every
+     * app.vector-sync.progress-interval-ms, applies the run's rate limit, and
+     * stops the shard when the run is cancelled or the lease is lost.
      */
-    private SyncResult synchronizeVectorStore() {
-        lastSyncTime = LocalDateTime.now();
-        lastSyncResult = storageService.synchronizeVectorStore();
-        return lastSyncResult;
+    private class ShardProgress implements SyncProgressListener {
+
+        private final Shard shard;
+        private long lastReportAt;
+        private double maxEmbeddingsPerSecond;
+        private boolean cancelled;
+        // The shard is no longer ours to finish: its lease was lost or the worker was interrupted
+        private boolean released;
+
+        ShardProgress(Shard shard) {
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean onProgress(int processed, int total, int missingAdded) {
+            long now = System.currentTimeMillis();
+            if (lastReportAt == 0 || processed >= total || now - lastReportAt >= progressIntervalMs) {
+                lastReportAt = now;
+                Optional<ShardControl> control = coordinator.reportProgress(shard, processed, total, missingAdded);
+                if (control.isEmpty()) {
+                    logger.warn("Lost the lease of vector store shard {} of run {}", shard.shard(), shard.runId());
+                    released = true;
+                    return false;
+                }
+                cancelled = control.get().cancelled();
+                maxEmbeddingsPerSecond = control.get().maxEmbeddingsPerSecond();
+                if (cancelled) {
+                    return false;
+                }
+            }
+            if (processed >= total) {
+                return true;
+            }
+            try {
+                pace(maxEmbeddingsPerSecond);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                released = true;
+                return false;
+            }
+        }
+    }
+
+    /**
+     * A sync job of this node alone, used while coordination is disabled: one
+     * shard covering every resume, tracked in memory.
+     */
+    private class LocalSyncJob implements SyncProgressListener {
+
+        private final UUID id = UUID.randomUUID();
+        private final String triggerType;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile LocalDateTime cancelRequestedAt;
+        private volatile String status = VectorSyncCoordinator.RUNNING;
+        private volatile double maxEmbeddingsPerSecond;
+        private volatile int processed;
+        private volatile int total;
+        private volatile SyncResult result;
+
+        LocalSyncJob(String triggerType, double maxEmbeddingsPerSecond) {
+            this.triggerType = triggerType;
+            this.maxEmbeddingsPerSecond = maxEmbeddingsPerSecond;
+        }
+
+        boolean isRunning() {
+            return VectorSyncCoordinator.RUNNING.equals(status);
+        }
+
+        void run() {
+            activeWorkers.incrementAndGet();
+            try {
+                SyncResult synced = storageService.synchronizeShard(0, 1, this);
+                finish(cancelRequestedAt != null ? VectorSyncCoordinator.CANCELLED : VectorSyncCoordinator.COMPLETED,
+                        synced);
+                logger.info("Single-node vector store synchronization job {} {}: {}", id, status, synced);
+            } catch (Exception e) {
+                logger.error("Error during single-node vector store synchronization job {}: {}", id, e.getMessage(), e);
+                finish(VectorSyncCoordinator.FAILED, null);
+            } finally {
+                activeWorkers.decrementAndGet();
+            }
+        }
+
+        void finish(String finalStatus, SyncResult synced) {
+            result = synced;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        @Override
+        public boolean onProgress(int processed, int total, int missingAdded) {
+            this.processed = processed;
+            this.total = total;
+            if (cancelRequestedAt != null) {
+                return false;
+            }
+            if (processed >= total) {
+                return true;
+            }
+            try {
+                pace(maxEmbeddingsPerSecond);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        Map<String, Object> toJob() {
+            LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+            double rate = processed / (Math.max(1, Duration.between(startedAt, end).toMillis()) / 1000.0);
+            SyncResult synced = result;
+
+            Map<String, Object> job = new LinkedHashMap<>();
+            job.put("jobId", id);
+            job.put("status", status);
+            job.put("trigger", triggerType);
+            job.put("leader", coordinator.getNodeId());
+            job.put("startedAt", startedAt);
+            job.put("finishedAt", finishedAt);
+            job.put("cancelRequestedAt", cancelRequestedAt);
+            job.put("shardCount", 1);
+            job.put("maxEmbeddingsPerSecond", maxEmbeddingsPerSecond);
+            job.put("processed", processed);
+            job.put("total", total);
+            job.put("percentComplete", total > 0 ? Math.min(100.0, Math.round(processed * 1000.0 / total) / 10.0) : 100.0);
+            job.put("ratePerSecond", Math.round(rate * 100) / 100.0);
+            job.put("etaSeconds", isRunning() && rate > 0 ? Math.round(Math.max(0, total - processed) / rate) : null);
+            job.put("duplicatesRemoved", synced != null ? synced.getDuplicatesRemoved() : 0);
+            job.put("missingAdded", synced != null ? synced.getMissingAdded() : 0);
+            job.put("orphansRemoved", synced != null ? synced.getOrphansRemoved() : 0);
+            return job;
+        }
     }
-    
+
     /**
-     * Check if a synchronization is currently in progress.
-     * 
+     * Check if a synchronization is currently in progress on any node.
+     *
      * @return True if a sync is in progress, false otherwise
      */
     public boolean isSyncInProgress() {
-        return syncInProgress.get();
+        if (!enabled) {
+            LocalSyncJob job = localJob;
+            return job != null && job.isRunning();
+        }
+        return coordinator.findRunningRun().isPresent();
     }
-    
+
     /**
      * Get the time of the last synchronization.
-     * 
+     *
      * @return The time of the last synchronization, or null if no sync has been performed
      */
     public String getLastSyncTime() {
-        return lastSyncTime != null ? lastSyncTime.format(formatter) : "Never";
+        if (!enabled) {
+            LocalSyncJob job = localJob;
+            return job != null && !job.isRunning() ? job.startedAt.format(formatter) : "Never";
+        }
+        return coordinator.findLastFinishedRun()
+                .map(run -> ((Timestamp) run.get("started_at")).toLocalDateTime().format(formatter))
+                .orElse("Never");
     }
-    
+
     /**
      * Get the result of the last synchronization.
-     * 
+     *
      * @return The result of the last synchronization, or null if no sync has been performed
      */
     public SyncResult getLastSyncResult() {
-        return lastSyncResult;
+        if (!enabled) {
+            LocalSyncJob job = localJob;
+            return job != null ? job.result : null;
+        }
+        return coordinator.findLastFinishedRun().map(VectorSyncCoordinator::toSyncResult).orElse(null);
+    }
+
+    /**
+     * Get the cluster-wide state of synchronization: this node, and the running run if any.
+     *
+     * @return The state
+     */
+    public Map<String, Object> getClusterStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("nodeId", coordinator.getNodeId());
+        status.put("enabled", enabled);
+        status.put("localWorkers", activeWorkers.get());
+        if (!enabled) {
+            LocalSyncJob job = localJob;
+            status.put("currentRun", job != null && job.isRunning() ? job.toJob() : null);
+            return status;
+        }
+        status.put("currentRun", coordinator.describeRunningRun().orElse(null));
+        coordinator.findLastFinishedRun().ifPresent(run -> status.put("lastRunStatus", run.get("status")));
+        return status;
     }
 }
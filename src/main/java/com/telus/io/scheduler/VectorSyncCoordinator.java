@@ -0,0 +1,450 @@
+package com.telus.io.scheduler;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.telus.io.dto.SyncResult;
+
+/**
+ * Coordinates vector store synchronization across nodes through Postgres.
+ *
+ * A run is created by whichever node wins a transaction-scoped advisory lock
+ * (the leader for that run); the others see the running run and join it. The
+ * run is divided into app.vector-sync.shard-count shards by a hash of the
+ * resume ID, and every participating node leases shards one at a time with
+ * FOR UPDATE SKIP LOCKED, so N nodes divide the work instead of repeating it.
+ * Leases are renewed while a node works and a shard whose lease expires (its
+ * node died) is reclaimed by another node, up to app.vector-sync.max-attempts.
+ * The last node to finish a shard completes the run with the summed results.
+ *
+ * Each run is also the tracked job of a sync: workers report per-shard
+ * progress, which is summed into processed/total counts, a rate and an ETA.
+ * The same report reads the run's embedding rate limit and cancellation flag,
+ * so throttling and cancelling a job take effect on every node within
+ * app.vector-sync.progress-interval-ms. Finished runs are kept as the job
+ * history for app.vector-sync.retention-days.
+ *
+ * Transaction-scoped locks and leases are used instead of session-level
+ * advisory locks, which would be tied to a pooled connection. Every lease,
+ * start, finish and cancellation time is taken from the database clock
+ * (LOCALTIMESTAMP), so nodes with skewed clocks agree on when a lease expires.
+ */
+@Component
+public class VectorSyncCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorSyncCoordinator.class);
+
+    // Arbitrary application-wide key for pg_try_advisory_xact_lock
+    private static final long LEADER_LOCK_KEY = 0x7665637379_6E63L;
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    public static final String CANCELLED = "CANCELLED";
+
+    public static final String TRIGGER_SCHEDULED = "SCHEDULED";
+    public static final String TRIGGER_MANUAL = "MANUAL";
+
+    /**
+     * A shard leased by this node.
+     */
+    public record Shard(UUID runId, int shard, int shardCount) {
+    }
+
+    /**
+     * The run's instructions to a worker, read when it reports progress.
+     *
+     * @param cancelled Whether the run was cancelled
+     * @param maxEmbeddingsPerSecond The embedding rate limit per node, or 0 for none
+     */
+    public record ShardControl(boolean cancelled, double maxEmbeddingsPerSecond) {
+    }
+
+    private static final String CLAIM_SHARD_SQL =
+            "UPDATE vector_sync_shards s SET status = 'RUNNING', owner_node = ?, "
+            + "lease_until = LOCALTIMESTAMP + make_interval(secs => ?), attempts = s.attempts + 1 "
+            + "FROM (SELECT run_id, shard FROM vector_sync_shards "
+            + "      WHERE run_id = ? AND (status = 'PENDING' OR (status = 'RUNNING' AND lease_until < LOCALTIMESTAMP AND attempts < ?)) "
+            + "      ORDER BY shard LIMIT 1 FOR UPDATE SKIP LOCKED) c, vector_sync_runs r "
+            + "WHERE s.run_id = c.run_id AND s.shard = c.shard AND r.run_id = s.run_id AND r.cancel_requested_at IS NULL "
+            + "RETURNING s.shard, r.shard_count";
+
+    private static final String REPORT_PROGRESS_SQL =
+            "UPDATE vector_sync_shards s SET processed_items = ?, total_items = ?, missing_added = ?, "
+            + "lease_until = LOCALTIMESTAMP + make_interval(secs => ?) "
+            + "FROM vector_sync_runs r "
+            + "WHERE s.run_id = ? AND s.shard = ? AND s.owner_node = ? AND s.status = 'RUNNING' AND r.run_id = s.run_id "
+            + "RETURNING r.cancel_requested_at IS NOT NULL AS cancelled, r.max_embeddings_per_second";
+
+    private static final String FINISH_RUN_SQL =
+            "UPDATE vector_sync_runs r SET "
+            + "status = CASE WHEN r.cancel_requested_at IS NOT NULL THEN 'CANCELLED' "
+            + "  WHEN EXISTS (SELECT 1 FROM vector_sync_shards s WHERE s.run_id = r.run_id AND s.status <> 'DONE') "
+            + "  THEN 'FAILED' ELSE 'COMPLETED' END, "
+            + "finished_at = LOCALTIMESTAMP, "
+            + "duplicates_removed = (SELECT COALESCE(SUM(duplicates_removed), 0) FROM vector_sync_shards s WHERE s.run_id = r.run_id), "
+            + "missing_added = (SELECT COALESCE(SUM(missing_added), 0) FROM vector_sync_shards s WHERE s.run_id = r.run_id), "
+            + "orphans_removed = (SELECT COALESCE(SUM(orphans_removed), 0) FROM vector_sync_shards s WHERE s.run_id = r.run_id) "
+            + "WHERE r.run_id = ? AND r.status = 'RUNNING' AND NOT EXISTS ("
+            + "  SELECT 1 FROM vector_sync_shards s WHERE s.run_id = r.run_id AND ("
+            + "    (s.status = 'PENDING' AND r.cancel_requested_at IS NULL) "
+            + "    OR (s.status = 'RUNNING' AND (s.lease_until >= LOCALTIMESTAMP OR (s.attempts < ? AND r.cancel_requested_at IS NULL)))))";
+
+    // Progress is summed from the shards, so it is live while the run is in progress
+    private static final String JOB_SQL =
+            "SELECT r.*, LOCALTIMESTAMP AS db_now, COALESCE(SUM(s.processed_items), 0) AS processed, "
+            + "GREATEST(r.total_items, COALESCE(SUM(s.total_items), 0)) AS total, "
+            + "COALESCE(SUM(s.duplicates_removed), 0) AS shard_duplicates_removed, "
+            + "COALESCE(SUM(s.missing_added), 0) AS shard_missing_added, "
+            + "COALESCE(SUM(s.orphans_removed), 0) AS shard_orphans_removed "
+            + "FROM vector_sync_runs r LEFT JOIN vector_sync_shards s ON s.run_id = r.run_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId;
+
+    @Value("${app.vector-sync.shard-count:16}")
+    private int shardCount;
+
+    @Value("${app.vector-sync.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Value("${app.vector-sync.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.vector-sync.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.vector-sync.max-embeddings-per-second:0}")
+    private double defaultMaxEmbeddingsPerSecond;
+
+    public VectorSyncCoordinator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.vector-sync.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
+    /**
+     * @return The identifier of this node in runs and shard leases
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Start a run if none is running and this node wins the leader lock, or
+     * return the running one.
+     *
+     * @param triggerType {@link #TRIGGER_SCHEDULED} or {@link #TRIGGER_MANUAL}
+     * @param maxEmbeddingsPerSecond The embedding rate limit per node for a new run, or null for the default
+     * @return The run to work on, or empty if another node is creating one right now
+     */
+    public Optional<UUID> startOrJoinRun(String triggerType, Double maxEmbeddingsPerSecond) {
+        return transactionTemplate.execute(status -> {
+            boolean leader = tryLeaderLock();
+            Optional<UUID> running = findRunningRun();
+            if (running.isPresent() || !leader) {
+                running.ifPresent(runId -> logger.info("Node {} joining vector sync run {}", nodeId, runId));
+                return running;
+            }
+            return Optional.of(createRun(triggerType, maxEmbeddingsPerSecond));
+        });
+    }
+
+    /**
+     * Start a new run only if none is running. The check and the insert happen
+     * under the leader lock in one transaction, so a run started concurrently by
+     * another node is reported as a conflict instead of being joined.
+     *
+     * @param triggerType {@link #TRIGGER_SCHEDULED} or {@link #TRIGGER_MANUAL}
+     * @param maxEmbeddingsPerSecond The embedding rate limit per node, or null for the default
+     * @return The new run, or empty if a run is running or being started by another node
+     */
+    public Optional<UUID> startNewRun(String triggerType, Double maxEmbeddingsPerSecond) {
+        return transactionTemplate.execute(status -> {
+            if (!tryLeaderLock() || findRunningRun().isPresent()) {
+                return Optional.empty();
+            }
+            return Optional.of(createRun(triggerType, maxEmbeddingsPerSecond));
+        });
+    }
+
+    private boolean tryLeaderLock() {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, LEADER_LOCK_KEY));
+    }
+
+    /**
+     * Create a run and its shards; the caller holds the leader lock.
+     */
+    private UUID createRun(String triggerType, Double maxEmbeddingsPerSecond) {
+        jdbcTemplate.update("DELETE FROM vector_sync_runs WHERE finished_at < LOCALTIMESTAMP - make_interval(days => ?)",
+                retentionDays);
+
+        UUID runId = UUID.randomUUID();
+        jdbcTemplate.update(
+                "INSERT INTO vector_sync_runs (run_id, leader_node, shard_count, status, started_at, trigger_type, "
+                + "max_embeddings_per_second, total_items) "
+                + "SELECT ?, ?, ?, ?, LOCALTIMESTAMP, ?, ?, count(*) FROM resumes",
+                runId, nodeId, shardCount, RUNNING, triggerType,
+                maxEmbeddingsPerSecond != null ? maxEmbeddingsPerSecond : defaultMaxEmbeddingsPerSecond);
+        jdbcTemplate.update("INSERT INTO vector_sync_shards (run_id, shard) SELECT ?, generate_series(0, ? - 1)",
+                runId, shardCount);
+        logger.info("Node {} leads vector sync run {} with {} shards", nodeId, runId, shardCount);
+        return runId;
+    }
+
+    /**
+     * Lease the next unfinished shard of a run.
+     *
+     * @param runId The run ID
+     * @return The shard, or empty if every shard is finished or leased by a live node
+     */
+    public Optional<Shard> claimShard(UUID runId) {
+        List<Shard> claimed = jdbcTemplate.query(CLAIM_SHARD_SQL,
+                (rs, rowNum) -> new Shard(runId, rs.getInt("shard"), rs.getInt("shard_count")),
+                nodeId, leaseSeconds, runId, maxAttempts);
+        return claimed.stream().findFirst();
+    }
+
+    /**
+     * Record the progress of a leased shard and renew its lease.
+     *
+     * @return The run's instructions, or empty if the lease was lost to another node
+     */
+    public Optional<ShardControl> reportProgress(Shard shard, int processed, int total, int missingAdded) {
+        List<ShardControl> controls = jdbcTemplate.query(REPORT_PROGRESS_SQL,
+                (rs, rowNum) -> new ShardControl(rs.getBoolean("cancelled"), rs.getDouble("max_embeddings_per_second")),
+                processed, total, missingAdded, leaseSeconds,
+                shard.runId(), shard.shard(), nodeId);
+        return controls.stream().findFirst();
+    }
+
+    /**
+     * Record a finished shard, unless its lease was lost to another node.
+     */
+    public void completeShard(Shard shard, SyncResult result) {
+        finishShard(shard, "DONE", result);
+    }
+
+    /**
+     * Record a shard stopped by cancellation, with what it did before stopping.
+     */
+    public void cancelShard(Shard shard, SyncResult result) {
+        finishShard(shard, CANCELLED, result);
+    }
+
+    private void finishShard(Shard shard, String status, SyncResult result) {
+        jdbcTemplate.update(
+                "UPDATE vector_sync_shards SET status = ?, lease_until = NULL, finished_at = LOCALTIMESTAMP, "
+                + "duplicates_removed = ?, missing_added = ?, orphans_removed = ?, "
+                + "processed_items = CASE WHEN ? = 'DONE' THEN total_items ELSE processed_items END "
+                + "WHERE run_id = ? AND shard = ? AND owner_node = ? AND status = 'RUNNING'",
+                status, result.getDuplicatesRemoved(), result.getMissingAdded(),
+                result.getOrphansRemoved(), status, shard.runId(), shard.shard(), nodeId);
+    }
+
+    /**
+     * Release a failed shard for another attempt, or mark it failed after the last attempt.
+     */
+    public void failShard(Shard shard) {
+        jdbcTemplate.update(
+                "UPDATE vector_sync_shards SET status = CASE WHEN attempts < ? THEN 'PENDING' ELSE 'FAILED' END, "
+                + "owner_node = NULL, lease_until = NULL "
+                + "WHERE run_id = ? AND shard = ? AND owner_node = ? AND status = 'RUNNING'",
+                maxAttempts, shard.runId(), shard.shard(), nodeId);
+    }
+
+    /**
+     * Extend the leases of the shards this node is working on.
+     */
+    public void renewLeases() {
+        jdbcTemplate.update(
+                "UPDATE vector_sync_shards SET lease_until = LOCALTIMESTAMP + make_interval(secs => ?) "
+                + "WHERE owner_node = ? AND status = 'RUNNING'",
+                leaseSeconds, nodeId);
+    }
+
+    /**
+     * Complete a run once none of its shards can make progress.
+     *
+     * @param runId The run ID
+     * @return Whether this call completed the run
+     */
+    public boolean finishRunIfDone(UUID runId) {
+        boolean finished = jdbcTemplate.update(FINISH_RUN_SQL, runId, maxAttempts) > 0;
+        if (finished) {
+            logger.info("Node {} finished vector sync run {}", nodeId, runId);
+        }
+        return finished;
+    }
+
+    /**
+     * Ask every node to stop working on a run. The run becomes CANCELLED once
+     * the shards in progress have stopped.
+     *
+     * @param runId The run ID
+     * @return Whether the run was running and is now being cancelled
+     */
+    public boolean requestCancel(UUID runId) {
+        boolean requested = jdbcTemplate.update(
+                "UPDATE vector_sync_runs SET cancel_requested_at = LOCALTIMESTAMP "
+                + "WHERE run_id = ? AND status = 'RUNNING' AND cancel_requested_at IS NULL",
+                runId) > 0;
+        if (requested) {
+            logger.info("Node {} requested cancellation of vector sync run {}", nodeId, runId);
+            finishRunIfDone(runId);
+        }
+        return requested;
+    }
+
+    /**
+     * Change the embedding rate limit of a running run.
+     *
+     * @param runId The run ID
+     * @param maxEmbeddingsPerSecond The limit per node, or 0 for none
+     * @return Whether the run was running
+     */
+    public boolean updateThrottle(UUID runId, double maxEmbeddingsPerSecond) {
+        return jdbcTemplate.update(
+                "UPDATE vector_sync_runs SET max_embeddings_per_second = ? WHERE run_id = ? AND status = 'RUNNING'",
+                maxEmbeddingsPerSecond, runId) > 0;
+    }
+
+    /**
+     * @return The running run, if any
+     */
+    public Optional<UUID> findRunningRun() {
+        return jdbcTemplate.queryForList("SELECT run_id FROM vector_sync_runs WHERE status = ? LIMIT 1",
+                UUID.class, RUNNING).stream().findFirst();
+    }
+
+    /**
+     * @return The most recently finished run, if any
+     */
+    public Optional<Map<String, Object>> findLastFinishedRun() {
+        return jdbcTemplate.queryForList(
+                "SELECT * FROM vector_sync_runs WHERE status <> ? ORDER BY started_at DESC LIMIT 1", RUNNING)
+                .stream().findFirst();
+    }
+
+    /**
+     * Describe the running run as a job.
+     *
+     * @return The job, or empty if no run is in progress
+     */
+    public Optional<Map<String, Object>> describeRunningRun() {
+        return findRunningRun().flatMap(this::describeRun);
+    }
+
+    /**
+     * Describe a run as a job: its state, progress, rate, ETA and results,
+     * with shard counts by status and the nodes holding leases.
+     *
+     * @param runId The run ID
+     * @return The job, or empty if the run does not exist
+     */
+    public Optional<Map<String, Object>> describeRun(UUID runId) {
+        return jdbcTemplate.queryForList(JOB_SQL + "WHERE r.run_id = ? GROUP BY r.run_id", runId).stream()
+                .findFirst()
+                .map(run -> {
+                    Map<String, Object> job = toJob(run);
+                    Map<String, Object> shards = new LinkedHashMap<>();
+                    jdbcTemplate.query("SELECT status, count(*) AS shards FROM vector_sync_shards WHERE run_id = ? GROUP BY status",
+                            rs -> {
+                                shards.put(rs.getString("status"), rs.getLong("shards"));
+                            }, runId);
+                    Map<String, Object> owners = new LinkedHashMap<>();
+                    jdbcTemplate.query("SELECT owner_node, count(*) AS shards FROM vector_sync_shards "
+                            + "WHERE run_id = ? AND status = 'RUNNING' GROUP BY owner_node",
+                            rs -> {
+                                owners.put(rs.getString("owner_node"), rs.getLong("shards"));
+                            }, runId);
+                    job.put("shards", shards);
+                    job.put("activeNodes", owners);
+                    return job;
+                });
+    }
+
+    /**
+     * List the most recent runs as jobs, newest first.
+     *
+     * @param limit The maximum number of runs
+     * @return The jobs
+     */
+    public List<Map<String, Object>> listRuns(int limit) {
+        return jdbcTemplate.queryForList(JOB_SQL + "GROUP BY r.run_id ORDER BY r.started_at DESC LIMIT ?", limit)
+                .stream()
+                .map(this::toJob)
+                .toList();
+    }
+
+    private Map<String, Object> toJob(Map<String, Object> run) {
+        LocalDateTime startedAt = ((Timestamp) run.get("started_at")).toLocalDateTime();
+        Timestamp finishedAt = (Timestamp) run.get("finished_at");
+        LocalDateTime end = (finishedAt != null ? finishedAt : (Timestamp) run.get("db_now")).toLocalDateTime();
+        long processed = ((Number) run.get("processed")).longValue();
+        long total = ((Number) run.get("total")).longValue();
+        double elapsedSeconds = Math.max(1, Duration.between(startedAt, end).toMillis()) / 1000.0;
+        double rate = processed / elapsedSeconds;
+
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("jobId", run.get("run_id"));
+        job.put("status", run.get("status"));
+        job.put("trigger", run.get("trigger_type"));
+        job.put("leader", run.get("leader_node"));
+        job.put("startedAt", startedAt);
+        job.put("finishedAt", finishedAt != null ? finishedAt.toLocalDateTime() : null);
+        Timestamp cancelRequestedAt = (Timestamp) run.get("cancel_requested_at");
+        job.put("cancelRequestedAt", cancelRequestedAt != null ? cancelRequestedAt.toLocalDateTime() : null);
+        job.put("shardCount", run.get("shard_count"));
+        job.put("maxEmbeddingsPerSecond", run.get("max_embeddings_per_second"));
+        job.put("processed", processed);
+        job.put("total", total);
+        job.put("percentComplete", total > 0 ? Math.min(100.0, Math.round(processed * 1000.0 / total) / 10.0) : 100.0);
+        job.put("ratePerSecond", Math.round(rate * 100) / 100.0);
+        job.put("etaSeconds", RUNNING.equals(run.get("status")) && rate > 0
+                ? Math.round(Math.max(0, total - processed) / rate) : null);
+        job.put("duplicatesRemoved", run.get("shard_duplicates_removed"));
+        job.put("missingAdded", run.get("shard_missing_added"));
+        job.put("orphansRemoved", run.get("shard_orphans_removed"));
+        return job;
+    }
+
+    /**
+     * Convert a run row to a sync result.
+     */
+    public static SyncResult toSyncResult(Map<String, Object> run) {
+        return new SyncResult(((Number) run.get("duplicates_removed")).intValue(),
+                ((Number) run.get("missing_added")).intValue(), ((Number) run.get("orphans_removed")).intValue());
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + ProcessHandle.current().pid();
+    }
+}
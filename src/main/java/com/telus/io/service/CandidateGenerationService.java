@@ -0,0 +1,187 @@
+package com.telus.io.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.telus.io.model.Resume;
+import com.telus.io.model.ResumeAnalysis;
+import com.telus.io.model.ResumeMatch;
+import com.telus.io.util.CandidateBlockParser;
+import com.telus.io.util.CandidateBlockParser.CandidateBlock;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Generates fictional candidate profiles for a job description, for demos and
+ * load tests.
+ *
+ * A request for N candidates is split into shards of
+ * app.candidates.generation.shard-size candidates, generated by up to
+ * app.candidates.generation.max-concurrency parallel streamed model calls.
+ * Each candidate is parsed and emitted as soon as its block is complete, so the
+ * first candidates arrive after one short generation instead of after the whole
+ * response, and large counts stay within the model's output limit.
+ */
+@Service
+public class CandidateGenerationService {
+
+	private static final Logger logger = LoggerFactory.getLogger(CandidateGenerationService.class);
+
+	private final ChatClient chatClient;
+	private final Random random = new Random();
+
+	@Value("${app.candidates.generation.shard-size:5}")
+	private int shardSize;
+
+	@Value("${app.candidates.generation.max-concurrency:4}")
+	private int maxConcurrency;
+
+	public CandidateGenerationService(ChatClient chatClient) {
+		this.chatClient = chatClient;
+	}
+
+	/**
+	 * Stream generated candidates as they become ready. Candidates from different
+	 * shards are interleaved. A failed shard is logged and skipped, so fewer than
+	 * count candidates may be emitted. Cancelling the subscription cancels the
+	 * outstanding model calls.
+	 *
+	 * @param jobDescription The job description
+	 * @param count The number of candidates
+	 * @return The candidates
+	 */
+	public Flux<ResumeMatch> streamCandidates(String jobDescription, int count) {
+		int shards = (count + shardSize - 1) / shardSize;
+		logger.info("Generating {} candidate profiles in {} shards of up to {}", count, shards, shardSize);
+
+		return Flux.range(0, shards)
+				.flatMap(shard -> streamShard(jobDescription, Math.min(shardSize, count - shard * shardSize), shard,
+						shards), maxConcurrency)
+				.take(count);
+	}
+
+	/**
+	 * Generate candidates and wait for all of them.
+	 *
+	 * @param jobDescription The job description
+	 * @param count The number of candidates
+	 * @return The candidates
+	 */
+	public List<ResumeMatch> generateCandidates(String jobDescription, int count) {
+		List<ResumeMatch> candidates = streamCandidates(jobDescription, count).collectList().block();
+		return candidates != null ? candidates : List.of();
+	}
+
+	private Flux<ResumeMatch> streamShard(String jobDescription, int shardCount, int shard, int shards) {
+		return Flux.defer(() -> {
+			CandidateBlockParser parser = new CandidateBlockParser();
+			return chatClient.prompt().system(systemPrompt(shardCount, shard, shards))
+					.user("Job Description: " + jobDescription).stream().content()
+					.concatMapIterable(parser::feed)
+					.concatWith(Flux.defer(() -> Flux.fromIterable(parser.finish())))
+					.map(this::toResumeMatch)
+					.take(shardCount);
+		}).onErrorResume(e -> {
+			logger.error("Error generating candidate shard {} of {}: {}", shard + 1, shards, e.getMessage(), e);
+			return Flux.empty();
+		});
+	}
+
+	private String systemPrompt(int count, int shard, int shards) {
+		return "You are a resume generator that creates fictional candidate profiles tailored to match a job description. "
+				+ "Generate EXACTLY " + count
+				+ " candidates with varying levels of qualification (some excellent matches, some good matches, and some average matches). "
+				+ (shards > 1 ? "This is batch " + (shard + 1) + " of " + shards
+						+ " generated independently, so use uncommon, diverse names. " : "")
+				+ "Your response must follow this exact format for each candidate:\n\n"
+				+ CandidateBlockParser.START_MARKER + "\n"
+				+ "NAME: [candidate name]\n" + "EMAIL: [email]\n" + "PHONE: [phone number]\n"
+				+ "SUMMARY: [brief professional summary that relates to the job description]\n"
+				+ "SKILLS: [comma-separated list of skills relevant to the job description]\n"
+				+ "EXPERIENCE: [brief experience summary highlighting relevance to the job description]\n"
+				+ CandidateBlockParser.END_MARKER + "\n\n"
+				+ "Repeat this format for each candidate. Do not include any other text or formatting.";
+	}
+
+	private ResumeMatch toResumeMatch(CandidateBlock block) {
+		String name = block.name();
+		String skills = block.skills();
+		String experience = block.experience();
+		LocalDateTime now = LocalDateTime.now();
+
+		Resume resume = new Resume();
+		resume.setId(UUID.randomUUID());
+		resume.setName(name);
+		resume.setEmail(block.email());
+		resume.setPhoneNumber(block.phone());
+		resume.setFullText(block.summary() + "\n\nSkills: " + skills + "\n\nExperience: " + experience);
+		resume.setFileType("AI-generated");
+		resume.setOriginalFileName(name.replace(" ", "_") + "_resume.pdf");
+		resume.setUploadedAt(now);
+		resume.setUpdatedAt(now);
+		resume.setLocked(false);
+
+		ResumeAnalysis analysis = new ResumeAnalysis();
+		analysis.setExecutiveSummary(block.summary());
+
+		// Random score between 70-95
+		int score = random.nextInt(26) + 70;
+		analysis.setOverallScore(score);
+
+		String[] skillsArray = skills.split(",");
+		List<ResumeAnalysis.KeyStrength> keyStrengths = new ArrayList<>();
+		Map<String, String> skillExplanations = new HashMap<>();
+		for (int i = 0; i < Math.min(3, skillsArray.length); i++) {
+			String skill = skillsArray[i].trim();
+			ResumeAnalysis.KeyStrength strength = new ResumeAnalysis.KeyStrength();
+			strength.setStrength(skill);
+			strength.setEvidence("Demonstrated in professional experience");
+			keyStrengths.add(strength);
+			skillExplanations.put(skill, "Demonstrated proficiency in " + skill);
+		}
+		analysis.setKeyStrengths(keyStrengths);
+		analysis.setSkillExplanations(skillExplanations);
+
+		List<ResumeAnalysis.ImprovementArea> improvementAreas = new ArrayList<>();
+		ResumeAnalysis.ImprovementArea area = new ResumeAnalysis.ImprovementArea();
+		area.setGap("Could benefit from more specific achievements");
+		area.setSuggestion("Add quantifiable results to demonstrate impact");
+		improvementAreas.add(area);
+		analysis.setImprovementAreas(improvementAreas);
+
+		ResumeAnalysis.CategoryScores categoryScores = new ResumeAnalysis.CategoryScores();
+		categoryScores.setTechnicalSkills(random.nextInt(21) + 70);
+		categoryScores.setExperience(random.nextInt(21) + 70);
+		categoryScores.setEducation(random.nextInt(21) + 70);
+		categoryScores.setSoftSkills(random.nextInt(21) + 70);
+		categoryScores.setAchievements(random.nextInt(21) + 70);
+		analysis.setCategoryScores(categoryScores);
+
+		ResumeAnalysis.Recommendation recommendation = new ResumeAnalysis.Recommendation();
+		recommendation.setType(score > 85 ? "Strong Match" : "Potential Match");
+		recommendation.setReason(score > 85 ? "Candidate has strong technical skills and relevant experience"
+				: "Candidate has relevant skills but may need additional training");
+		analysis.setRecommendation(recommendation);
+
+		ResumeMatch match = new ResumeMatch();
+		match.setResume(resume);
+		match.setAnalysis(analysis);
+		match.setScore(score);
+		match.setExplanation("Candidate has " + experience.split(" ")[0] + " of experience in "
+				+ skillsArray[0].trim() + " and related technologies.");
+		match.setLocked(false);
+		match.setManagerId(null); // No manager assigned by default
+		return match;
+	}
+}
@@ -0,0 +1,97 @@
+package com.telus.io.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Service;
+
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.VectorMath;
+
+/**
+ * Batch embedding and similarity computation for the embedding endpoints.
+ *
+ * Texts are embedded with one upstream call per batch of
+ * app.embedding.batch-size texts instead of one call per text; similarity
+ * matrices are computed in memory with {@link VectorMath}.
+ */
+@Service
+public class EmbeddingComputeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddingComputeService.class);
+
+    private static final String BATCH_OPERATION = "embedding-batch";
+
+    private final EmbeddingModel embeddingModel;
+    private final RetryTemplate aiRetryTemplate;
+    private final AiMetrics aiMetrics;
+
+    @Value("${app.embedding.batch-size:256}")
+    private int batchSize;
+
+    @Value("${app.embedding.max-texts:4096}")
+    private int maxTexts;
+
+    public EmbeddingComputeService(EmbeddingModel embeddingModel, RetryTemplate aiRetryTemplate, AiMetrics aiMetrics) {
+        this.embeddingModel = embeddingModel;
+        this.aiRetryTemplate = aiRetryTemplate;
+        this.aiMetrics = aiMetrics;
+    }
+
+    /**
+     * Embed texts in as few upstream calls as possible.
+     *
+     * @param texts The texts
+     * @return One embedding per text, in order
+     * @throws IllegalArgumentException if there are no texts, too many, or a blank one
+     */
+    public List<float[]> embedAll(List<String> texts) {
+        if (texts == null || texts.isEmpty()) {
+            throw new IllegalArgumentException("At least one text is required");
+        }
+        if (texts.size() > maxTexts) {
+            throw new IllegalArgumentException(String.format("At most %d texts can be embedded at once", maxTexts));
+        }
+        for (String text : texts) {
+            if (text == null || text.isBlank()) {
+                throw new IllegalArgumentException("Texts must not be blank");
+            }
+        }
+
+        List<float[]> embeddings = new ArrayList<>(texts.size());
+        for (int start = 0; start < texts.size(); start += batchSize) {
+            List<String> batch = texts.subList(start, Math.min(start + batchSize, texts.size()));
+            embeddings.addAll(aiRetryTemplate.execute(context -> aiMetrics.recordEmbedding(BATCH_OPERATION, context,
+                    () -> embeddingModel.embed(batch))));
+        }
+        logger.debug("Embedded {} texts in {} upstream calls", texts.size(), (texts.size() + batchSize - 1) / batchSize);
+        return embeddings;
+    }
+
+    /**
+     * Embed two lists of texts together and compute the cosine similarity of
+     * every text in the first list with every text in the second.
+     *
+     * @param rows The row texts
+     * @param columns The column texts
+     * @return The rows x columns similarity matrix, row-major
+     */
+    public float[] similarityMatrix(List<String> rows, List<String> columns) {
+        if (rows == null || rows.isEmpty() || columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Both rows and columns must contain at least one text");
+        }
+        List<String> texts = new ArrayList<>(rows.size() + columns.size());
+        texts.addAll(rows);
+        texts.addAll(columns);
+        List<float[]> embeddings = embedAll(texts);
+
+        float[][] rowVectors = embeddings.subList(0, rows.size()).toArray(new float[0][]);
+        float[][] columnVectors = embeddings.subList(rows.size(), embeddings.size()).toArray(new float[0][]);
+        return VectorMath.cosineSimilarityMatrix(rowVectors, columnVectors);
+    }
+}
@@ -0,0 +1,135 @@
+package com.telus.io.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens for entity cache invalidations broadcast by other nodes with Postgres
+ * NOTIFY and evicts the matching entries from the local {@link EntityCacheService},
+ * or from the local {@link ResumeContextCache} for resume context entries.
+ *
+ * Holds one dedicated connection while running, opened with the datasource
+ * settings but outside the Hikari pool: a pooled connection would be taken from
+ * the pool for good and could be retired by maxLifetime, dropping the LISTEN.
+ * Reconnects after a failure.
+ * Only active when app.cache.entities.notify-enabled is set.
+ */
+@Component
+public class EntityCacheInvalidationListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheInvalidationListener.class);
+
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final EntityCacheService entityCacheService;
+    private final ResumeContextCache resumeContextCache;
+
+    @Value("${app.cache.entities.notify-enabled:false}")
+    private boolean enabled;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public EntityCacheInvalidationListener(DataSourceProperties dataSourceProperties,
+            EntityCacheService entityCacheService, ResumeContextCache resumeContextCache) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.entityCacheService = entityCacheService;
+        this.resumeContextCache = resumeContextCache;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "entity-cache-invalidation");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        logger.info("Listening for entity cache invalidations on channel {}", EntityCacheService.INVALIDATION_CHANNEL);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            listenerThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + EntityCacheService.INVALIDATION_CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Entity cache invalidation listener failed, reconnecting in {} ms: {}",
+                        RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Handle a payload of the form "nodeId|type|id".
+     */
+    private void handle(String payload) {
+        String[] parts = payload != null ? payload.split("\\|") : new String[0];
+        if (parts.length != 3) {
+            logger.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (EntityCacheService.NODE_ID.equals(parts[0])) {
+            return;
+        }
+        try {
+            UUID id = UUID.fromString(parts[2]);
+            if (ResumeContextCache.CACHE_NAME.equals(parts[1])) {
+                resumeContextCache.evictLocal(id);
+            } else {
+                entityCacheService.evictLocal(parts[1], id);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring cache invalidation with invalid ID: {}", payload);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.telus.io.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.telus.io.model.InterviewerProfile;
+import com.telus.io.model.Resume;
+import com.telus.io.repository.InterviewerProfileRepository;
+import com.telus.io.repository.ResumeRepository;
+import com.telus.io.util.AiMetrics;
+
+/**
+ * Read-through cache for interviewer profiles and resumes on read-only paths.
+ *
+ * The cache holds private copies of the loaded entities and every lookup
+ * returns a fresh copy, so a caller that modifies the returned entity cannot
+ * change what other callers see. Callers that modify and save an entity must
+ * still load it from the repository, and must call the matching evict method
+ * after saving or deleting. Evictions are repeated after the surrounding
+ * transaction commits, so a concurrent read cannot re-cache the old row, and are
+ * optionally broadcast to other nodes with Postgres NOTIFY
+ * (see {@link EntityCacheInvalidationListener}).
+ */
+@Service
+public class EntityCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheService.class);
+
+    public static final String INVALIDATION_CHANNEL = "entity_cache_invalidation";
+
+    static final String INTERVIEWER = "interviewer";
+    static final String RESUME = "resume";
+
+    // Identifies this node so it can ignore its own invalidation notifications
+    static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final InterviewerProfileRepository interviewerRepository;
+    private final ResumeRepository resumeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final AiMetrics aiMetrics;
+
+    private final Cache<UUID, InterviewerProfile> interviewers;
+    private final Cache<UUID, Resume> resumes;
+
+    @Value("${app.cache.entities.notify-enabled:false}")
+    private boolean notifyEnabled;
+
+    public EntityCacheService(
+            InterviewerProfileRepository interviewerRepository,
+            ResumeRepository resumeRepository,
+            JdbcTemplate jdbcTemplate,
+            AiMetrics aiMetrics,
+            @Value("${app.cache.entities.interviewer-max-size:1000}") long interviewerMaxSize,
+            @Value("${app.cache.entities.resume-max-size:500}") long resumeMaxSize,
+            @Value("${app.cache.entities.ttl-seconds:300}") long ttlSeconds) {
+        this.interviewerRepository = interviewerRepository;
+        this.resumeRepository = resumeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.aiMetrics = aiMetrics;
+        this.interviewers = Caffeine.newBuilder()
+                .maximumSize(interviewerMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.resumes = Caffeine.newBuilder()
+                .maximumSize(resumeMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Find an interviewer, loading it from the database on a cache miss.
+     *
+     * @param id The interviewer ID
+     * @return The interviewer, or empty if it does not exist
+     */
+    public Optional<InterviewerProfile> findInterviewer(UUID id) {
+        InterviewerProfile cached = interviewers.getIfPresent(id);
+        aiMetrics.recordCacheAccess(INTERVIEWER, cached != null);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<InterviewerProfile> loaded = interviewerRepository.findById(id);
+        loaded.ifPresent(interviewer -> interviewers.put(id, copyOf(interviewer)));
+        return loaded;
+    }
+
+    /**
+     * Find a resume, loading it from the database on a cache miss.
+     *
+     * @param id The resume ID
+     * @return The resume, or empty if it does not exist
+     */
+    public Optional<Resume> findResume(UUID id) {
+        Resume cached = resumes.getIfPresent(id);
+        aiMetrics.recordCacheAccess(RESUME, cached != null);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        Optional<Resume> loaded = resumeRepository.findById(id);
+        loaded.ifPresent(resume -> resumes.put(id, copyOf(resume)));
+        return loaded;
+    }
+
+    /**
+     * Evict an interviewer after it was created, updated or deleted.
+     *
+     * @param id The interviewer ID
+     */
+    public void evictInterviewer(UUID id) {
+        evict(INTERVIEWER, id);
+    }
+
+    /**
+     * Evict a resume after it was created, updated or deleted.
+     *
+     * @param id The resume ID
+     */
+    public void evictResume(UUID id) {
+        evict(RESUME, id);
+    }
+
+    /**
+     * Evict an entry on this node only, e.g. on a notification from another node.
+     *
+     * @param type The entity type, "interviewer" or "resume"
+     * @param id The entity ID
+     */
+    void evictLocal(String type, UUID id) {
+        if (INTERVIEWER.equals(type)) {
+            interviewers.invalidate(id);
+        } else if (RESUME.equals(type)) {
+            resumes.invalidate(id);
+        } else {
+            logger.warn("Ignoring cache invalidation for unknown entity type: {}", type);
+        }
+    }
+
+    private void evict(String type, UUID id) {
+        if (id == null) {
+            return;
+        }
+        evictLocal(type, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(type, id);
+                    broadcast(type, id);
+                }
+            });
+        } else {
+            broadcast(type, id);
+        }
+    }
+
+    /**
+     * Broadcast an invalidation to the other nodes, if enabled. Also used by
+     * {@link ResumeContextCache}, whose entries are routed back to it by
+     * {@link EntityCacheInvalidationListener}.
+     *
+     * @param type The entity or cache type
+     * @param id The entity ID
+     */
+    void broadcast(String type, UUID id) {
+        if (!notifyEnabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", INVALIDATION_CHANNEL,
+                    NODE_ID + "|" + type + "|" + id);
+        } catch (DataAccessException e) {
+            // Other nodes still converge when their entries expire
+            logger.warn("Failed to broadcast cache invalidation for {} {}: {}", type, id, e.getMessage());
+        }
+    }
+
+    private static InterviewerProfile copyOf(InterviewerProfile interviewer) {
+        InterviewerProfile copy = new InterviewerProfile();
+        copy.setId(interviewer.getId());
+        copy.setName(interviewer.getName());
+        copy.setEmail(interviewer.getEmail());
+        copy.setPhoneNumber(interviewer.getPhoneNumber());
+        copy.setExperienceYears(interviewer.getExperienceYears());
+        copy.setInterviewerTier(interviewer.getInterviewerTier());
+        copy.setMaxInterviewsPerDay(interviewer.getMaxInterviewsPerDay());
+        copy.setTechnicalExpertise(interviewer.getTechnicalExpertise() != null
+                ? new ArrayList<>(interviewer.getTechnicalExpertise()) : null);
+        copy.setSpecializations(interviewer.getSpecializations() != null
+                ? new ArrayList<>(interviewer.getSpecializations()) : null);
+        copy.setAvailability(interviewer.getAvailability() != null
+                ? new HashMap<>(interviewer.getAvailability()) : null);
+        copy.setCreatedAt(interviewer.getCreatedAt());
+        copy.setUpdatedAt(interviewer.getUpdatedAt());
+        return copy;
+    }
+
+    private static Resume copyOf(Resume resume) {
+        Resume copy = new Resume();
+        copy.setId(resume.getId());
+        copy.setName(resume.getName());
+        copy.setEmail(resume.getEmail());
+        copy.setPhoneNumber(resume.getPhoneNumber());
+        copy.setFullText(resume.getFullText());
+        copy.setUploadedAt(resume.getUploadedAt());
+        copy.setUpdatedAt(resume.getUpdatedAt());
+        copy.setFileType(resume.getFileType());
+        copy.setOriginalFileName(resume.getOriginalFileName());
+        copy.setLocked(resume.isLocked());
+        return copy;
+    }
+}
@@ -0,0 +1,300 @@
+package com.telus.io.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.VectorMath;
+
+/**
+ * Semantic cache for generated job descriptions and interview questions.
+ *
+ * Prompts are normalized (Unicode form, case, whitespace, trailing
+ * punctuation) and looked up first by the hash of the normalized text, then by
+ * the nearest stored prompt of the same kind whose embedding similarity is at
+ * least app.generation-cache.similarity-threshold. Entries are keyed by the
+ * hash of the prompt template (the system prompt) as well, so changing a
+ * template stops its old responses from being served. Entries live in the
+ * generation_cache table, so they survive restarts and are shared by every
+ * node, and each entry carries its own expiry. Concurrent requests for the
+ * same normalized prompt on one node wait for a single generation.
+ *
+ * The cache never fails a request: lookup and store errors are logged and the
+ * response is generated as if the cache were disabled.
+ */
+@Service
+public class GenerationResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationResponseCache.class);
+
+    public static final String KIND_JOB_DESCRIPTION = "job-description";
+    public static final String KIND_INTERVIEW_QUESTIONS = "interview-questions";
+
+    private static final String CACHE_NAME = "generation-";
+    private static final String EMBEDDING_OPERATION = "generation-cache";
+
+    /**
+     * A generated or cached value.
+     *
+     * @param value The value
+     * @param cached Whether the value came from the cache or from a concurrent identical request
+     */
+    public record Result<T>(T value, boolean cached) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmbeddingModel embeddingModel;
+    private final RetryTemplate aiRetryTemplate;
+    private final AiMetrics aiMetrics;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.generation-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.generation-cache.similarity-threshold:0.97}")
+    private double similarityThreshold;
+
+    @Value("${app.generation-cache.job-description.ttl-hours:168}")
+    private long jobDescriptionTtlHours;
+
+    @Value("${app.generation-cache.interview-questions.ttl-hours:72}")
+    private long interviewQuestionsTtlHours;
+
+    public GenerationResponseCache(JdbcTemplate jdbcTemplate, EmbeddingModel embeddingModel,
+            RetryTemplate aiRetryTemplate, AiMetrics aiMetrics, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.embeddingModel = embeddingModel;
+        this.aiRetryTemplate = aiRetryTemplate;
+        this.aiMetrics = aiMetrics;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Return a cached value for a prompt, or generate and cache one.
+     *
+     * @param kind The kind of generation, {@link #KIND_JOB_DESCRIPTION} or {@link #KIND_INTERVIEW_QUESTIONS}
+     * @param template The prompt template the value is generated with
+     * @param prompt The prompt
+     * @param type The type of the generated value
+     * @param fresh Whether to skip the lookup and replace any cached value
+     * @param ttl How long to keep the new entry, or null for the default of its kind
+     * @param generator Generates the value on a miss
+     * @return The value, and whether it was cached
+     */
+    public <T> Result<T> getOrGenerate(String kind, String template, String prompt, Class<T> type, boolean fresh,
+            Duration ttl, Supplier<T> generator) {
+        if (!enabled) {
+            return new Result<>(generator.get(), false);
+        }
+
+        String normalized = normalize(prompt);
+        String templateHash = sha256(template != null ? template : "");
+        String hash = sha256(templateHash + "\n" + normalized);
+
+        if (!fresh) {
+            T exact = findExact(kind, hash, type);
+            if (exact != null) {
+                aiMetrics.recordCacheAccess(CACHE_NAME + kind, true);
+                logger.debug("Exact {} cache hit", kind);
+                return new Result<>(exact, true);
+            }
+        }
+
+        String key = kind + ":" + hash;
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        if (!fresh) {
+            CompletableFuture<Object> leader = inFlight.putIfAbsent(key, pending);
+            if (leader != null) {
+                logger.debug("Waiting for a concurrent {} generation of the same prompt", kind);
+                return new Result<>(type.cast(await(leader)), true);
+            }
+        }
+
+        try {
+            float[] embedding = embed(normalized);
+            if (!fresh && embedding != null) {
+                T similar = findSimilar(kind, templateHash, embedding, type);
+                if (similar != null) {
+                    aiMetrics.recordCacheAccess(CACHE_NAME + kind, true);
+                    pending.complete(similar);
+                    return new Result<>(similar, true);
+                }
+            }
+            aiMetrics.recordCacheAccess(CACHE_NAME + kind, false);
+
+            T value = generator.get();
+            pending.complete(value);
+            if (value != null && embedding != null) {
+                store(kind, templateHash, hash, normalized, embedding, value, ttl != null ? ttl : defaultTtl(kind));
+            }
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (!fresh) {
+                inFlight.remove(key, pending);
+            }
+        }
+    }
+
+    /**
+     * Delete expired entries.
+     */
+    @Scheduled(fixedDelayString = "${app.generation-cache.eviction-interval-ms:3600000}",
+            initialDelayString = "${app.generation-cache.eviction-interval-ms:3600000}")
+    public void evictExpired() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int evicted = jdbcTemplate.update("DELETE FROM generation_cache WHERE expires_at < ?",
+                    Timestamp.from(Instant.now()));
+            if (evicted > 0) {
+                logger.info("Evicted {} expired generation cache entries", evicted);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Error evicting expired generation cache entries: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Normalize a prompt so that trivially different prompts share an entry.
+     */
+    static String normalize(String prompt) {
+        String normalized = Normalizer.normalize(prompt, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+        return normalized.replaceAll("[.!?;,\\s]+$", "");
+    }
+
+    private <T> T findExact(String kind, String hash, Class<T> type) {
+        try {
+            List<String> responses = jdbcTemplate.queryForList(
+                    "UPDATE generation_cache SET hit_count = hit_count + 1 " +
+                    "WHERE kind = ? AND prompt_hash = ? AND expires_at > ? RETURNING response",
+                    String.class, kind, hash, Timestamp.from(Instant.now()));
+            return responses.isEmpty() ? null : deserialize(responses.get(0), type);
+        } catch (DataAccessException e) {
+            logger.warn("Error looking up {} cache entry: {}", kind, e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T findSimilar(String kind, String templateHash, float[] embedding, Class<T> type) {
+        try {
+            String vector = VectorMath.toLiteral(embedding);
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, response, 1 - (embedding <=> ?::vector) AS similarity FROM generation_cache " +
+                    "WHERE kind = ? AND template_hash = ? AND expires_at > ? ORDER BY embedding <=> ?::vector LIMIT 1",
+                    vector, kind, templateHash, Timestamp.from(Instant.now()), vector);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            Map<String, Object> row = rows.get(0);
+            double similarity = ((Number) row.get("similarity")).doubleValue();
+            if (similarity < similarityThreshold) {
+                logger.debug("Nearest {} cache entry has similarity {}, below {}", kind, similarity, similarityThreshold);
+                return null;
+            }
+            T value = deserialize((String) row.get("response"), type);
+            if (value != null) {
+                jdbcTemplate.update("UPDATE generation_cache SET hit_count = hit_count + 1 WHERE id = ?", row.get("id"));
+                logger.debug("Semantic {} cache hit with similarity {}", kind, similarity);
+            }
+            return value;
+        } catch (DataAccessException e) {
+            logger.warn("Error searching {} cache entries: {}", kind, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(String kind, String templateHash, String hash, String normalized, float[] embedding, Object value,
+            Duration ttl) {
+        try {
+            Instant now = Instant.now();
+            jdbcTemplate.update(
+                    "INSERT INTO generation_cache (id, kind, template_hash, prompt_hash, normalized_prompt, embedding, response, created_at, expires_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?::vector, ?, ?, ?) " +
+                    "ON CONFLICT (kind, prompt_hash) DO UPDATE SET template_hash = EXCLUDED.template_hash, " +
+                    "normalized_prompt = EXCLUDED.normalized_prompt, " +
+                    "embedding = EXCLUDED.embedding, response = EXCLUDED.response, hit_count = 0, " +
+                    "created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at",
+                    UUID.randomUUID(), kind, templateHash, hash, normalized, VectorMath.toLiteral(embedding),
+                    objectMapper.writeValueAsString(value), Timestamp.from(now), Timestamp.from(now.plus(ttl)));
+        } catch (JsonProcessingException | DataAccessException e) {
+            logger.warn("Error storing {} cache entry: {}", kind, e.getMessage());
+        }
+    }
+
+    private float[] embed(String normalized) {
+        try {
+            return aiRetryTemplate.execute(context -> aiMetrics.recordEmbedding(EMBEDDING_OPERATION, context,
+                    () -> embeddingModel.embed(normalized)));
+        } catch (RuntimeException e) {
+            logger.warn("Error embedding prompt for the generation cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> T deserialize(String response, Class<T> type) {
+        try {
+            return objectMapper.readValue(response, type);
+        } catch (JsonProcessingException e) {
+            // The cached shape no longer matches the type; regenerate
+            logger.warn("Ignoring unreadable generation cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Duration defaultTtl(String kind) {
+        return Duration.ofHours(KIND_JOB_DESCRIPTION.equals(kind) ? jobDescriptionTtlHours : interviewQuestionsTtlHours);
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.telus.io.service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.telus.io.exception.AiServiceException;
+
+/**
+ * Issues AI calls with optional request hedging to cut tail latency.
+ *
+ * When hedging is enabled, a call that has not completed after the configured
+ * percentile of recent latency for its operation gets a duplicate request.
+ * The first response wins and the other attempt is cancelled. The number of
+ * duplicate requests is capped by a global budget relative to primary calls.
+ */
+@Service
+public class HedgedAiExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedAiExecutor.class);
+
+    @Value("${app.ai.hedging.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ai.hedging.percentile:0.95}")
+    private double percentile;
+
+    @Value("${app.ai.hedging.budget-ratio:0.05}")
+    private double budgetRatio;
+
+    @Value("${app.ai.hedging.min-delay-ms:1000}")
+    private long minDelayMs;
+
+    @Value("${app.ai.hedging.max-delay-ms:20000}")
+    private long maxDelayMs;
+
+    @Value("${app.ai.hedging.window-size:200}")
+    private int windowSize;
+
+    @Value("${app.ai.hedging.min-samples:20}")
+    private int minSamples;
+
+    private final Executor hedgingExecutor;
+    private final Map<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong primaryCalls = new AtomicLong();
+    private final AtomicLong hedgedCalls = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    public HedgedAiExecutor(@Qualifier("aiHedgingExecutor") Executor hedgingExecutor) {
+        this.hedgingExecutor = hedgingExecutor;
+    }
+
+    /**
+     * Execute an AI call, hedging it if it runs longer than usual for its operation.
+     *
+     * @param operation A short name for the kind of call, used to keep separate latency statistics
+     * @param call The AI call to execute
+     * @return The result of whichever attempt completed first
+     */
+    public <T> T call(String operation, Supplier<T> call) {
+        LatencyWindow window = windows.computeIfAbsent(operation, k -> new LatencyWindow(windowSize));
+        primaryCalls.incrementAndGet();
+
+        long hedgeDelayMs = enabled ? window.percentile(percentile, minSamples) : -1;
+        if (hedgeDelayMs < 0) {
+            // Hedging disabled or not enough samples yet - run on the calling thread
+            return timed(window, call);
+        }
+        hedgeDelayMs = Math.min(maxDelayMs, Math.max(minDelayMs, hedgeDelayMs));
+
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        FutureTask<T> primary = attempt(window, call, winner, pending, false);
+
+        try {
+            hedgingExecutor.execute(primary);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Hedging executor saturated, running {} call without hedging", operation);
+            return timed(window, call);
+        }
+
+        FutureTask<T> hedge = null;
+        try {
+            try {
+                return winner.get(hedgeDelayMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (tryAcquireHedge()) {
+                    logger.info("AI call for {} exceeded {}ms, issuing hedged request", operation, hedgeDelayMs);
+                    pending.incrementAndGet();
+                    hedge = attempt(window, call, winner, pending, true);
+                    try {
+                        hedgingExecutor.execute(hedge);
+                    } catch (RejectedExecutionException rejected) {
+                        pending.decrementAndGet();
+                        hedgedCalls.decrementAndGet();
+                        hedge = null;
+                    }
+                }
+                return winner.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AiServiceException("Interrupted while waiting for AI call: " + operation, e);
+        } catch (ExecutionException e) {
+            throw unwrap(operation, e.getCause());
+        } finally {
+            // Cancel whichever attempt is still running; cancelling a completed task is a no-op
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Get a snapshot of hedging statistics.
+     *
+     * @return Counters for primary calls, hedged calls and calls won by the hedge
+     */
+    public Map<String, Object> getStats() {
+        return Map.of(
+                "enabled", enabled,
+                "primaryCalls", primaryCalls.get(),
+                "hedgedCalls", hedgedCalls.get(),
+                "hedgeWins", hedgeWins.get());
+    }
+
+    private <T> FutureTask<T> attempt(LatencyWindow window, Supplier<T> call,
+            CompletableFuture<T> winner, AtomicInteger pending, boolean isHedge) {
+        return new FutureTask<>(() -> {
+            try {
+                T result = timed(window, call);
+                if (winner.complete(result) && isHedge) {
+                    hedgeWins.incrementAndGet();
+                }
+                return result;
+            } catch (Throwable t) {
+                // Only fail the call once every attempt has failed
+                if (pending.decrementAndGet() == 0) {
+                    winner.completeExceptionally(t);
+                }
+                throw t;
+            }
+        });
+    }
+
+    private <T> T timed(LatencyWindow window, Supplier<T> call) {
+        long start = System.nanoTime();
+        T result = call.get();
+        window.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * Reserve a hedge from the global budget.
+     *
+     * @return true if a hedged request may be issued
+     */
+    private boolean tryAcquireHedge() {
+        while (true) {
+            long issued = hedgedCalls.get();
+            if (issued + 1 > budgetRatio * primaryCalls.get()) {
+                return false;
+            }
+            if (hedgedCalls.compareAndSet(issued, issued + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private RuntimeException unwrap(String operation, Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new AiServiceException("AI call failed for " + operation, cause);
+    }
+
+    /**
+     * Fixed-size ring buffer of recent latencies for one operation.
+     */
+    private static class LatencyWindow {
+
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[Math.max(1, size)];
+        }
+
+        synchronized void record(long latencyMs) {
+            samples[next] = latencyMs;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                count++;
+            }
+        }
+
+        /**
+         * @return The latency at the given percentile, or -1 if there are fewer than minSamples samples
+         */
+        synchronized long percentile(double p, int minSamples) {
+            if (count == 0 || count < minSamples) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(p * count) - 1;
+            return sorted[Math.min(count - 1, Math.max(0, index))];
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.telus.io.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.telus.io.dto.request.SlotReservationRequest;
+import com.telus.io.dto.response.SlotReservationResponse;
+
+/**
+ * Service for reserving interview slots.
+ *
+ * Slots are kept in the interviewer_slots table, one row per interviewer and
+ * day, and a reservation is a single conditional UPDATE on that row. Concurrent
+ * reservations for the same slot therefore never overbook and never need a
+ * read-modify-write of the interviewer profile.
+ */
+public interface InterviewSlotService {
+
+    /**
+     * Synchronize an interviewer's slots with their configured availability.
+     * Each value is the day's capacity; slots already reserved stay reserved.
+     * Days missing from the availability are removed, except days with
+     * reservations, which are kept but take no more.
+     *
+     * @param interviewerId The ID of the interviewer
+     * @param availability Map of dates (YYYY-MM-DD) to slot capacity
+     */
+    void syncSlots(UUID interviewerId, Map<String, Integer> availability);
+
+    /**
+     * Create slots from the availability of every interviewer that has none yet.
+     *
+     * @return The number of slot days created
+     */
+    int seedMissingSlots();
+
+    /**
+     * Get the number of unreserved slots for an interviewer on a specific date.
+     *
+     * @param interviewerId The ID of the interviewer
+     * @param date The date to check (in format YYYY-MM-DD)
+     * @return The number of remaining slots, or 0 if none available
+     */
+    int getRemainingSlots(UUID interviewerId, String date);
+
+    /**
+     * Get how many more interviews each interviewer can take on each day of a
+     * date range: the remaining slots, further limited by maxInterviewsPerDay
+     * minus the interviews already reserved that day. Days without capacity are omitted.
+     *
+     * @param interviewerIds The IDs of the interviewers
+     * @param from The first date of the range
+     * @param to The last date of the range, inclusive
+     * @return Map of interviewer ID to remaining capacity per date
+     */
+    Map<UUID, Map<LocalDate, Integer>> getDailyCapacity(Collection<UUID> interviewerIds, LocalDate from, LocalDate to);
+
+    /**
+     * Reserve one slot and, when a resume is given, record the interview assignment.
+     *
+     * @param request The reservation request
+     * @return The outcome of the reservation
+     */
+    SlotReservationResponse reserve(SlotReservationRequest request);
+
+    /**
+     * Reserve a batch of slots in one transaction. A request without a free
+     * slot does not affect the others, but an error recording the assignments
+     * rolls back the whole batch.
+     *
+     * @param requests The reservation requests
+     * @return The outcome of each reservation, in request order
+     */
+    List<SlotReservationResponse> reserveAll(List<SlotReservationRequest> requests);
+}
@@ -0,0 +1,25 @@
+package com.telus.io.service;
+
+import com.telus.io.dto.request.BulkAssignmentRequest;
+import com.telus.io.dto.response.BulkAssignmentResponse;
+
+/**
+ * Service for assigning batches of candidates to interviewers.
+ *
+ * Unlike matching each candidate independently, an assignment respects each
+ * interviewer's remaining slots and maxInterviewsPerDay, so the most similar
+ * interviewer is not recommended to every candidate.
+ */
+public interface InterviewerAssignmentService {
+
+    /**
+     * Compute a schedule that assigns as many candidates as possible within
+     * interviewer capacity, maximizing total similarity among such schedules,
+     * and optionally reserve its slots.
+     *
+     * @param request The candidates, date range and options
+     * @return The schedule and the candidates that could not be assigned
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    BulkAssignmentResponse assign(BulkAssignmentRequest request);
+}
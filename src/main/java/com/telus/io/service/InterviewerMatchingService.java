@@ -53,6 +53,21 @@ public interface InterviewerMatchingService {
      */
     List<InterviewerProfile> findInterviewersWithFilters(String query, Map<String, String> filters, int limit);
     
+    /**
+     * Find suitable interviewers based on a text query, key/value filters and a filter expression.
+     * All filters are combined with AND and applied inside the vector query.
+     * 
+     * @param query The query describing the required expertise
+     * @param filters Key/value filters, e.g. {"tier": "1,2", "experienceYears": ">=5"} (may be null)
+     * @param filterExpression A filter expression, e.g. "technicalExpertise == 'Java' || specializations == 'Cloud'"
+     *                         (may be null)
+     * @param limit The maximum number of interviewers to return
+     * @return A list of interviewer profiles ordered by relevance
+     * @throws IllegalArgumentException if a filter is invalid
+     */
+    List<InterviewerProfile> findInterviewersWithFilters(
+            String query, Map<String, String> filters, String filterExpression, int limit);
+    
     /**
      * Check if an interviewer is available on a specific date.
      * 
@@ -0,0 +1,436 @@
+package com.telus.io.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.telus.io.util.AiMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * JDBC-backed chat memory with a token window, rolling summarization and idle eviction.
+ *
+ * Messages are stored in chat_messages and survive restarts and are shared by
+ * all nodes. {@link #get} returns the conversation summary, if any, as a system
+ * message followed by the newest messages that fit in the token window, so the
+ * prompt stays bounded however long the conversation grows. Once the stored
+ * messages exceed the summarization threshold, the ones outside the window are
+ * folded into the summary by the chat model in the background and deleted.
+ *
+ * By default {@link #add} writes through, so every node sees a message as
+ * soon as it is added. With app.chat.memory.write-behind.enabled, messages are
+ * buffered and a scheduled flush writes them in batches, each in one
+ * transaction. A message leaves the buffer only after its batch commits; a
+ * failed batch stays buffered and is retried by the next flush. Reads on this
+ * node see buffered messages, and are excluded while a batch is being
+ * committed so a message is seen exactly once. Other nodes do not see buffered
+ * messages until they are flushed, which is why write-behind is opt-in.
+ * Conversations idle for longer than the TTL are deleted.
+ *
+ * Token counts are estimated as one token per four characters. Conversation
+ * IDs must identify a user or session (see
+ * {@link ResumeAwareChatService#conversationId}); blank IDs and the advisor's
+ * default ID are rejected.
+ *
+ * Only created with app.chat.memory.jdbc.enabled; otherwise an in-memory
+ * MessageWindowChatMemory is used (see SimpleFuelixConfig).
+ */
+@Service
+@ConditionalOnProperty(name = "app.chat.memory.jdbc.enabled", havingValue = "true")
+public class JdbcSummarizingChatMemory implements ChatMemory {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcSummarizingChatMemory.class);
+
+    private static final String SUMMARY_OPERATION = "chat-memory-summary";
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private static final String UPSERT_CONVERSATION_SQL =
+            "INSERT INTO chat_conversations (conversation_id, last_active_at) VALUES (?, CURRENT_TIMESTAMP) "
+            + "ON CONFLICT (conversation_id) DO UPDATE SET last_active_at = CURRENT_TIMESTAMP";
+
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO chat_messages (conversation_id, message_type, content, token_estimate) VALUES (?, ?, ?, ?)";
+
+    private record StoredMessage(long id, Message message, int tokens) {
+    }
+
+    private record PendingMessage(String conversationId, Message message) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChatModel chatModel;
+    private final RetryTemplate aiRetryTemplate;
+    private final AiMetrics aiMetrics;
+    private final Executor aiOperationsExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    // Only flush and clear remove messages, both under this object's monitor, so a
+    // flushed batch is always the head of the queue when it is removed
+    private final ConcurrentLinkedQueue<PendingMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Held for writing while a batch is committed and removed from the buffer, so a read
+    // sees each message either in the table or in the buffer, never in both or neither
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+    private final Set<String> summarizing = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.chat.memory.window-tokens:2000}")
+    private int windowTokens;
+
+    @Value("${app.chat.memory.summarize-threshold-tokens:4000}")
+    private int summarizeThresholdTokens;
+
+    @Value("${app.chat.memory.ttl-hours:72}")
+    private long ttlHours;
+
+    @Value("${app.chat.memory.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+
+    @Value("${app.chat.memory.write-behind.batch-size:100}")
+    private int writeBehindBatchSize;
+
+    @Value("${app.chat.memory.write-behind.max-buffered:10000}")
+    private int writeBehindMaxBuffered;
+
+    public JdbcSummarizingChatMemory(
+            JdbcTemplate jdbcTemplate,
+            ChatModel chatModel,
+            RetryTemplate aiRetryTemplate,
+            AiMetrics aiMetrics,
+            @Qualifier("aiOperationsExecutor") Executor aiOperationsExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chatModel = chatModel;
+        this.aiRetryTemplate = aiRetryTemplate;
+        this.aiMetrics = aiMetrics;
+        this.aiOperationsExecutor = aiOperationsExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        requireConversationId(conversationId);
+        List<Message> storable = new ArrayList<>();
+        for (Message message : messages) {
+            // The summary is regenerated from stored turns, never stored as a turn itself
+            if (message.getMessageType() != MessageType.SYSTEM && message.getText() != null) {
+                storable.add(message);
+            }
+        }
+        if (storable.isEmpty()) {
+            return;
+        }
+
+        if (writeBehindEnabled && pendingCount.get() >= writeBehindMaxBuffered) {
+            // The buffer only fills while flushes fail; try once more before bypassing it
+            flush();
+        }
+        if (!writeBehindEnabled || pendingCount.get() >= writeBehindMaxBuffered) {
+            if (writeBehindEnabled) {
+                logger.warn("Chat memory buffer is full, writing conversation {} through", conversationId);
+            }
+            write(conversationId, storable);
+            summarizeIfNeeded(conversationId);
+            return;
+        }
+        for (Message message : storable) {
+            pending.add(new PendingMessage(conversationId, message));
+        }
+        if (pendingCount.addAndGet(storable.size()) >= writeBehindBatchSize) {
+            aiOperationsExecutor.execute(this::flush);
+        }
+    }
+
+    @Override
+    public List<Message> get(String conversationId) {
+        requireConversationId(conversationId);
+        String summary;
+        List<Message> recent = new ArrayList<>();
+        flushLock.readLock().lock();
+        try {
+            try {
+                List<String> summaries = jdbcTemplate.queryForList(
+                        "SELECT summary FROM chat_conversations WHERE conversation_id = ?", String.class, conversationId);
+                summary = summaries.isEmpty() ? null : summaries.get(0);
+                for (StoredMessage message : loadMessages(conversationId)) {
+                    recent.add(message.message());
+                }
+            } catch (DataAccessException e) {
+                logger.error("Error loading chat memory for conversation {}: {}", conversationId, e.getMessage(), e);
+                summary = null;
+            }
+            for (PendingMessage message : pending) {
+                if (message.conversationId().equals(conversationId)) {
+                    recent.add(message.message());
+                }
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+
+        // Newest messages that fit in the window, kept in conversation order
+        List<Message> window = new ArrayList<>();
+        int tokens = 0;
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            int messageTokens = estimateTokens(recent.get(i).getText());
+            if (!window.isEmpty() && tokens + messageTokens > windowTokens) {
+                break;
+            }
+            window.add(recent.get(i));
+            tokens += messageTokens;
+        }
+        Collections.reverse(window);
+
+        if (summary != null && !summary.isBlank()) {
+            window.add(0, new SystemMessage("Summary of the earlier conversation: " + summary));
+        }
+        return window;
+    }
+
+    @Override
+    public synchronized void clear(String conversationId) {
+        requireConversationId(conversationId);
+        pending.removeIf(message -> {
+            if (message.conversationId().equals(conversationId)) {
+                pendingCount.decrementAndGet();
+                return true;
+            }
+            return false;
+        });
+        try {
+            jdbcTemplate.update("DELETE FROM chat_conversations WHERE conversation_id = ?", conversationId);
+        } catch (DataAccessException e) {
+            logger.error("Error clearing chat memory for conversation {}: {}", conversationId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Write buffered messages in batches. A batch is removed from the buffer only
+     * once it has committed; if it fails, it and everything after it stay
+     * buffered for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.memory.write-behind.flush-ms:500}")
+    public synchronized void flush() {
+        while (!pending.isEmpty()) {
+            List<PendingMessage> batch = new ArrayList<>(writeBehindBatchSize);
+            Iterator<PendingMessage> head = pending.iterator();
+            while (head.hasNext() && batch.size() < writeBehindBatchSize) {
+                batch.add(head.next());
+            }
+
+            // Conversations are upserted in key order so concurrent flushes on other nodes cannot deadlock
+            Map<String, List<Message>> byConversation = new TreeMap<>();
+            for (PendingMessage message : batch) {
+                byConversation.computeIfAbsent(message.conversationId(), id -> new ArrayList<>()).add(message.message());
+            }
+            List<Object[]> conversations = new ArrayList<>();
+            List<Object[]> rows = new ArrayList<>();
+            byConversation.forEach((conversationId, messages) -> {
+                conversations.add(new Object[] { conversationId });
+                for (Message m : messages) {
+                    rows.add(messageRow(conversationId, m));
+                }
+            });
+
+            flushLock.writeLock().lock();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(UPSERT_CONVERSATION_SQL, conversations);
+                    jdbcTemplate.batchUpdate(INSERT_MESSAGE_SQL, rows);
+                });
+                for (int i = 0; i < batch.size(); i++) {
+                    pending.poll();
+                }
+                pendingCount.addAndGet(-batch.size());
+            } catch (RuntimeException e) {
+                logger.error("Error flushing {} chat messages, keeping them buffered for the next flush: {}",
+                        rows.size(), e.getMessage(), e);
+                return;
+            } finally {
+                flushLock.writeLock().unlock();
+            }
+            logger.debug("Flushed {} chat messages for {} conversations", rows.size(), conversations.size());
+            byConversation.keySet().forEach(this::summarizeIfNeeded);
+        }
+    }
+
+    /**
+     * Delete conversations that have been idle for longer than the TTL.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.memory.eviction-interval-ms:3600000}",
+            initialDelayString = "${app.chat.memory.eviction-interval-ms:3600000}")
+    public void evictIdleConversations() {
+        try {
+            int evicted = jdbcTemplate.update("DELETE FROM chat_conversations WHERE last_active_at < ?",
+                    Timestamp.from(Instant.now().minus(ttlHours, ChronoUnit.HOURS)));
+            if (evicted > 0) {
+                logger.info("Evicted {} chat conversations idle for more than {} hours", evicted, ttlHours);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Error evicting idle chat conversations: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void write(String conversationId, List<Message> messages) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Message message : messages) {
+            rows.add(messageRow(conversationId, message));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(UPSERT_CONVERSATION_SQL, conversationId);
+                jdbcTemplate.batchUpdate(INSERT_MESSAGE_SQL, rows);
+            });
+        } catch (RuntimeException e) {
+            logger.error("Error saving chat memory for conversation {}: {}", conversationId, e.getMessage(), e);
+        }
+    }
+
+    private void summarizeIfNeeded(String conversationId) {
+        Integer storedTokens;
+        try {
+            storedTokens = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(token_estimate), 0) FROM chat_messages WHERE conversation_id = ?",
+                    Integer.class, conversationId);
+        } catch (DataAccessException e) {
+            logger.warn("Could not measure chat memory for conversation {}: {}", conversationId, e.getMessage());
+            return;
+        }
+        if (storedTokens == null || storedTokens <= summarizeThresholdTokens || !summarizing.add(conversationId)) {
+            return;
+        }
+        aiOperationsExecutor.execute(() -> {
+            try {
+                summarize(conversationId);
+            } finally {
+                summarizing.remove(conversationId);
+            }
+        });
+    }
+
+    /**
+     * Fold the messages outside the token window into the conversation summary and delete them.
+     */
+    private void summarize(String conversationId) {
+        List<StoredMessage> stored = loadMessages(conversationId);
+        int keptTokens = 0;
+        int firstKept = stored.size();
+        while (firstKept > 0 && keptTokens + stored.get(firstKept - 1).tokens() <= windowTokens) {
+            firstKept--;
+            keptTokens += stored.get(firstKept).tokens();
+        }
+        if (firstKept == 0) {
+            return;
+        }
+        List<StoredMessage> older = stored.subList(0, firstKept);
+
+        List<String> summaries = jdbcTemplate.queryForList(
+                "SELECT summary FROM chat_conversations WHERE conversation_id = ?", String.class, conversationId);
+        String previousSummary = summaries.isEmpty() ? null : summaries.get(0);
+
+        StringBuilder prompt = new StringBuilder();
+        prompt.append("Summarize the following conversation between a recruiter and an AI assistant about ")
+                .append("candidates and resumes. Keep names, skills, scores, decisions and open questions. ")
+                .append("Answer with the summary only, in at most 200 words.\n\n");
+        if (previousSummary != null && !previousSummary.isBlank()) {
+            prompt.append("Summary so far: ").append(previousSummary).append("\n\n");
+        }
+        for (StoredMessage message : older) {
+            prompt.append(message.message().getMessageType().getValue()).append(": ")
+                    .append(message.message().getText()).append('\n');
+        }
+
+        String summary;
+        try {
+            ChatResponse response = aiRetryTemplate.execute(context -> aiMetrics.recordChat(SUMMARY_OPERATION, context,
+                    () -> chatModel.call(new Prompt(prompt.toString()))));
+            summary = response.getResult().getOutput().getText();
+        } catch (RuntimeException e) {
+            // The window still bounds the prompt; summarization is retried after the next write
+            aiMetrics.recordChatFallback(SUMMARY_OPERATION);
+            logger.warn("Could not summarize chat memory for conversation {}: {}", conversationId, e.getMessage());
+            return;
+        }
+
+        long lastSummarizedId = older.get(older.size() - 1).id();
+        jdbcTemplate.update("UPDATE chat_conversations SET summary = ? WHERE conversation_id = ?",
+                summary, conversationId);
+        jdbcTemplate.update("DELETE FROM chat_messages WHERE conversation_id = ? AND id <= ?",
+                conversationId, lastSummarizedId);
+        logger.info("Summarized {} chat messages for conversation {}", older.size(), conversationId);
+    }
+
+    private List<StoredMessage> loadMessages(String conversationId) {
+        return jdbcTemplate.query(
+                "SELECT id, message_type, content, token_estimate FROM chat_messages "
+                + "WHERE conversation_id = ? ORDER BY id",
+                (rs, rowNum) -> new StoredMessage(rs.getLong("id"),
+                        toMessage(rs.getString("message_type"), rs.getString("content")),
+                        rs.getInt("token_estimate")),
+                conversationId);
+    }
+
+    /**
+     * Conversations are persisted and shared by every node, so a missing ID, or
+     * the advisor's "default" fallback, would mix different users' histories.
+     */
+    private static void requireConversationId(String conversationId) {
+        if (conversationId == null || conversationId.isBlank()
+                || ChatMemory.DEFAULT_CONVERSATION_ID.equals(conversationId)) {
+            throw new IllegalArgumentException("A per-user conversation ID is required");
+        }
+    }
+
+    private static Object[] messageRow(String conversationId, Message message) {
+        return new Object[] { conversationId, message.getMessageType().name(), message.getText(),
+                estimateTokens(message.getText()) };
+    }
+
+    private static Message toMessage(String type, String content) {
+        return MessageType.ASSISTANT.name().equals(type) ? new AssistantMessage(content) : new UserMessage(content);
+    }
+
+    private static int estimateTokens(String text) {
+        return text == null ? 0 : Math.max(1, text.length() / CHARS_PER_TOKEN);
+    }
+}
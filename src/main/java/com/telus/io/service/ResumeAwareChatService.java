@@ -3,21 +3,27 @@ package com.telus.io.service;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
 import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.document.Document;
-import org.springframework.ai.vectorstore.VectorStore;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import com.telus.io.config.ResumeVectorStoreConfig;
 import com.telus.io.dto.ChatMessage;
 import com.telus.io.dto.ChatResponse;
 import com.telus.io.repository.ResumeRepository;
+import com.telus.io.util.AiMetrics;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Service for handling chat interactions with resume context awareness.
@@ -28,23 +34,31 @@ public class ResumeAwareChatService {
 
 	private static final Logger logger = LoggerFactory.getLogger(ResumeAwareChatService.class);
 
+	private static final String CHAT_STREAM_OPERATION = "resume-chat-stream";
+	// chat_conversations.conversation_id is VARCHAR(100); the resume part takes the rest
+	public static final int MAX_USER_ID_LENGTH = 50;
+
 	private final ChatClient chatClient;
 	// private final ResumeRepository resumeRepository;
 	private final ChatMemory chatMemory;
+	private final MessageChatMemoryAdvisor memoryAdvisor;
 
-	private final VectorStore resumeVectorStore;
+	private final ResumeContextCache resumeContextCache;
+	private final AiMetrics aiMetrics;
 
 	public ResumeAwareChatService(ChatClient chatClient, ResumeRepository resumeRepository,
-			@Qualifier("resumeVectorStore") VectorStore resumeVectorStore, // ADD THIS!
-			ChatMemory chatMemory) {
+			ResumeContextCache resumeContextCache, ChatMemory chatMemory, AiMetrics aiMetrics) {
 		this.chatClient = chatClient;
 		// this.resumeRepository = resumeRepository;
 		this.chatMemory = chatMemory;
-		this.resumeVectorStore = resumeVectorStore; // ADD THIS!
+		this.memoryAdvisor = MessageChatMemoryAdvisor.builder(chatMemory).build();
+		this.resumeContextCache = resumeContextCache;
+		this.aiMetrics = aiMetrics;
 	}
 
-	public ChatResponse chat_local(UUID currentResumeId, String message) {
-		logger.info("Processing chat message from user {}: {}", currentResumeId, message);
+	public ChatResponse chat_local(String userId, UUID currentResumeId, String message) {
+		String conversationId = conversationId(userId, currentResumeId);
+		logger.info("Processing chat message for conversation {}: {}", conversationId, message);
 
 		// Check for special commands
 
@@ -53,12 +67,75 @@ public class ResumeAwareChatService {
 
 		// Regular chat - use ChatClient with memory
 		String response = chatClient.prompt().system(systemPrompt).user(message)
-				.advisors(a -> a.param(ChatMemory.CONVERSATION_ID, currentResumeId)).call().content();
+				.advisors(memoryAdvisor)
+				.advisors(a -> a.param(ChatMemory.CONVERSATION_ID, conversationId)).call().content();
 
-		logger.info("Generated response for user {}: {}", currentResumeId, response);
+		logger.info("Generated response for conversation {}: {}", conversationId, response);
 		return new ChatResponse(response);
 	}
 
+	/**
+	 * Stream a chat answer token by token. The resume context is retrieved on a
+	 * bounded-elastic thread, the conversation history is sent with the prompt,
+	 * and the exchange is written to chat memory once the stream completes.
+	 * Cancelling the subscription (e.g. the client disconnects) cancels the
+	 * upstream model call, and nothing is written to memory.
+	 * 
+	 * @param userId The user or session the conversation belongs to
+	 * @param currentResumeId The resume the conversation is about, may be null
+	 * @param message The user's message
+	 * @return The answer tokens
+	 */
+	public Flux<String> streamChat(String userId, UUID currentResumeId, String message) {
+		String conversationId = conversationId(userId, currentResumeId);
+
+		return Flux.defer(() -> {
+			long start = System.nanoTime();
+			String systemPrompt = createSystemPrompt_CHAT(currentResumeId, message);
+			List<Message> history = chatMemory.get(conversationId);
+			StringBuilder answer = new StringBuilder();
+			AtomicBoolean firstToken = new AtomicBoolean(true);
+
+			return chatClient.prompt().system(systemPrompt).messages(history).user(message).stream().content()
+					.doOnNext(token -> {
+						if (firstToken.compareAndSet(true, false)) {
+							aiMetrics.recordFirstToken(CHAT_STREAM_OPERATION, System.nanoTime() - start);
+						}
+						answer.append(token);
+					})
+					// Runs only when the stream completes; kept off the model client's event loop since it blocks
+					.concatWith(Mono.<String>fromRunnable(() -> {
+						chatMemory.add(conversationId,
+								List.of(new UserMessage(message), new AssistantMessage(answer.toString())));
+						logger.info("Streamed response for conversation {} ({} chars)", conversationId,
+								answer.length());
+					}).subscribeOn(Schedulers.boundedElastic()))
+					.doOnCancel(() -> logger.info("Chat stream for conversation {} cancelled after {} chars",
+							conversationId, answer.length()))
+					.doOnError(e -> logger.error("Chat stream for conversation {} failed: {}", conversationId,
+							e.getMessage(), e));
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	/**
+	 * The chat memory key of a conversation: one per user (or session) and
+	 * resume, so users never see each other's history.
+	 * 
+	 * @param userId The user or session, required
+	 * @param resumeId The resume the conversation is about, may be null
+	 * @return The conversation ID
+	 * @throws IllegalArgumentException If the user ID is blank or too long
+	 */
+	public static String conversationId(String userId, UUID resumeId) {
+		if (userId == null || userId.isBlank()) {
+			throw new IllegalArgumentException("userId is required");
+		}
+		if (userId.length() > MAX_USER_ID_LENGTH) {
+			throw new IllegalArgumentException("userId must be at most " + MAX_USER_ID_LENGTH + " characters");
+		}
+		return "user:" + userId + (resumeId != null ? ":resume:" + resumeId : "");
+	}
+
 	// Update this method
 	private String createSystemPrompt_CHAT(UUID resumeId, String message) {
 		StringBuilder prompt = new StringBuilder();
@@ -66,7 +143,7 @@ public class ResumeAwareChatService {
 
 		if (resumeId != null) {
 			// Use the new resume-specific search method
-			List<Document> relevantSections = getRelevantResumeContext(resumeId, message);
+			List<Document> relevantSections = getRelevantResumeContext(resumeId);
 
 			if (!relevantSections.isEmpty()) {
 				prompt.append("Here are the relevant sections from the resume: ");
@@ -84,14 +161,10 @@ public class ResumeAwareChatService {
 		return prompt.toString();
 	}
 
-	// Simple method that uses the vector store's new capability
-	private List<Document> getRelevantResumeContext(UUID resumeId, String message) {
+	// The resume context is cached per resume, so follow-up questions skip the vector store
+	private List<Document> getRelevantResumeContext(UUID resumeId) {
 		try {
-			// Cast to your custom implementation and use the new method
-			ResumeVectorStoreConfig.ResumeVectorStore customStore = (ResumeVectorStoreConfig.ResumeVectorStore) resumeVectorStore;
-
-			return customStore.similaritySearchByResumeId(message, resumeId, 3);
-
+			return resumeContextCache.findResumeContext(resumeId);
 		} catch (Exception e) {
 			logger.error("Error in vector search for resume {}: {}", resumeId, e.getMessage(), e);
 			return List.of();
@@ -102,13 +175,14 @@ public class ResumeAwareChatService {
 	 * Get the chat history for a user.
 	 * 
 	 * @param userId The ID of the user
+	 * @param resumeId The resume the conversation is about, may be null
 	 * @return A list of chat messages
 	 */
-	public List<ChatMessage> getChatHistory(String userId) {
+	public List<ChatMessage> getChatHistory(String userId, UUID resumeId) {
 		List<ChatMessage> history = new ArrayList<>();
 
 		// Get messages from chat memory
-		List<Message> messages = chatMemory.get(userId);
+		List<Message> messages = chatMemory.get(conversationId(userId, resumeId));
 
 		// Convert to ChatMessage objects
 		for (Message message : messages) {
@@ -0,0 +1,102 @@
+package com.telus.io.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.telus.io.config.ResumeVectorStoreConfig.ResumeVectorStore;
+import com.telus.io.util.AiMetrics;
+
+/**
+ * Caches the stored documents of the resume a chat conversation is about, so
+ * follow-up questions do not run a vector query per turn.
+ *
+ * resume_vector_store holds one document per resume, so the whole resume is the
+ * context and the question does not need to be embedded. Entries expire after
+ * app.cache.resume-context.ttl-seconds and are evicted when the resume is
+ * re-indexed or deleted; evictions are broadcast to other nodes on the
+ * {@link EntityCacheService} invalidation channel.
+ */
+@Service
+public class ResumeContextCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeContextCache.class);
+
+    static final String CACHE_NAME = "resume-context";
+
+    private final ResumeVectorStore resumeVectorStore;
+    private final EntityCacheService entityCacheService;
+    private final AiMetrics aiMetrics;
+    private final Cache<UUID, List<Document>> documents;
+
+    public ResumeContextCache(
+            @Qualifier("resumeVectorStore") VectorStore resumeVectorStore,
+            EntityCacheService entityCacheService,
+            AiMetrics aiMetrics,
+            @Value("${app.cache.resume-context.max-size:500}") long maxSize,
+            @Value("${app.cache.resume-context.ttl-seconds:1800}") long ttlSeconds) {
+        if (!(resumeVectorStore instanceof ResumeVectorStore store)) {
+            throw new IllegalStateException("resumeVectorStore must be a ResumeVectorStore, was "
+                    + resumeVectorStore.getClass().getName());
+        }
+        this.resumeVectorStore = store;
+        this.entityCacheService = entityCacheService;
+        this.aiMetrics = aiMetrics;
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * Find the stored context of a resume.
+     *
+     * @param resumeId The resume ID
+     * @return The resume documents, or an empty list if the resume is not indexed
+     */
+    public List<Document> findResumeContext(UUID resumeId) {
+        List<Document> cached = documents.getIfPresent(resumeId);
+        aiMetrics.recordCacheAccess(CACHE_NAME, cached != null);
+        if (cached != null) {
+            return cached;
+        }
+        List<Document> loaded = resumeVectorStore.findDocumentsByResumeId(resumeId);
+        logger.debug("Loaded {} documents of resume {} into the context cache", loaded.size(), resumeId);
+        if (!loaded.isEmpty()) {
+            documents.put(resumeId, List.copyOf(loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * Evict a resume after it was re-indexed or deleted, on this node and on
+     * the other nodes.
+     *
+     * @param resumeId The resume ID
+     */
+    public void evict(UUID resumeId) {
+        if (resumeId != null) {
+            documents.invalidate(resumeId);
+            entityCacheService.broadcast(CACHE_NAME, resumeId);
+        }
+    }
+
+    /**
+     * Evict a resume on this node only, on a notification from another node.
+     *
+     * @param resumeId The resume ID
+     */
+    void evictLocal(UUID resumeId) {
+        documents.invalidate(resumeId);
+    }
+}
@@ -81,5 +81,16 @@ public interface ResumeStorageService {
      */
     SyncResult synchronizeVectorStore();
     
+    /**
+     * Synchronize one shard of the vector store, so that several nodes can share
+     * a synchronization. Resumes are assigned to shards by a hash of their ID.
+     * 
+     * @param shard The shard index, from 0
+     * @param shardCount The number of shards
+     * @param listener Receives progress, and stops the synchronization by returning false
+     * @return The result of synchronizing the shard, partial if it was stopped
+     */
+    SyncResult synchronizeShard(int shard, int shardCount, SyncProgressListener listener);
+    
     public void saveToVectorStore(Resume resume) ;
 }
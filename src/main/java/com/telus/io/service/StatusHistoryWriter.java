@@ -0,0 +1,218 @@
+package com.telus.io.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.telus.io.model.CandidateStatusHistory;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind writer for candidate status history.
+ *
+ * With write-behind enabled, the transaction that changes a status only
+ * inserts the entry into the narrow candidate_status_history_outbox table,
+ * which has no foreign keys or secondary indexes. Once it commits, the entry
+ * is queued in memory and written to candidate_status_history in JDBC batches
+ * when app.status-history.write-behind.batch-size entries are queued or every
+ * flush-ms, off the request thread; the flush deletes the outbox rows of the
+ * entries it wrote.
+ *
+ * The outbox row is only the durability record: if queued entries are lost
+ * (crash, full queue, failed flush), {@link #recoverPending} moves outbox rows
+ * older than the recovery grace period into the history table on any node.
+ */
+@Service
+public class StatusHistoryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusHistoryWriter.class);
+
+    private static final String HISTORY_COLUMNS = "id, resume_id, evaluation_id, previous_status, previous_custom_status, "
+            + "new_status, new_custom_status, changed_by, changed_at, comments";
+
+    // The recovery job may have moved an entry before its flush ran
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO candidate_status_history (" + HISTORY_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (id) DO NOTHING";
+
+    private static final String INSERT_OUTBOX_SQL =
+            "INSERT INTO candidate_status_history_outbox (" + HISTORY_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_OUTBOX_SQL = "DELETE FROM candidate_status_history_outbox WHERE id = ?";
+
+    // Rows another node is recovering are skipped rather than waited for
+    private static final String RECOVER_OUTBOX_SQL =
+            "WITH moved AS ("
+            + "  DELETE FROM candidate_status_history_outbox WHERE id IN ("
+            + "    SELECT id FROM candidate_status_history_outbox "
+            + "    WHERE changed_at < LOCALTIMESTAMP - make_interval(secs => ?) "
+            + "    ORDER BY changed_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "  RETURNING " + HISTORY_COLUMNS
+            + ") "
+            + "INSERT INTO candidate_status_history (" + HISTORY_COLUMNS + ") "
+            + "SELECT " + HISTORY_COLUMNS + " FROM moved ON CONFLICT (id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor resumeProcessingExecutor;
+    private final BlockingQueue<CandidateStatusHistory> pending;
+
+    @Value("${app.status-history.write-behind.enabled:true}")
+    private boolean writeBehindEnabled;
+
+    @Value("${app.status-history.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.status-history.recovery-grace-seconds:300}")
+    private long recoveryGraceSeconds;
+
+    public StatusHistoryWriter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("resumeProcessingExecutor") Executor resumeProcessingExecutor,
+            @Value("${app.status-history.write-behind.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A flush is its own unit of work, whatever transaction it is called from
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.resumeProcessingExecutor = resumeProcessingExecutor;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * @return The time of a status change being made now, at the microsecond
+     *         precision of the columns
+     */
+    public LocalDateTime changeTime() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Record a status change. With write-behind enabled, the entry is written
+     * to the outbox in the current transaction and queued for the history
+     * table once it commits; otherwise it is written directly to the history
+     * table in the current transaction.
+     *
+     * @param history The history entry, with its ID set
+     */
+    public void write(CandidateStatusHistory history) {
+        if (!writeBehindEnabled) {
+            insert(INSERT_HISTORY_SQL, List.of(history));
+            return;
+        }
+        insert(INSERT_OUTBOX_SQL, List.of(history));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(history);
+                }
+            });
+        } else {
+            enqueue(history);
+        }
+    }
+
+    /**
+     * Write queued entries to the history table in batches and delete their outbox rows.
+     */
+    @Scheduled(fixedDelayString = "${app.status-history.write-behind.flush-ms:500}")
+    public synchronized void flush() {
+        List<CandidateStatusHistory> batch = new ArrayList<>(batchSize);
+        while (pending.drainTo(batch, batchSize) > 0) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    insert(INSERT_HISTORY_SQL, batch);
+                    jdbcTemplate.batchUpdate(DELETE_OUTBOX_SQL,
+                            batch.stream().map(history -> new Object[] { history.getId() }).toList());
+                });
+                logger.debug("Flushed {} status history entries", batch.size());
+            } catch (DataAccessException e) {
+                // The outbox rows are still there, so recoverPending writes these entries later
+                logger.error("Error flushing {} status history entries, leaving them to outbox recovery: {}",
+                        batch.size(), e.getMessage(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Move outbox rows whose queued entries were lost into the history table,
+     * a batch per transaction, until none older than the grace period are left.
+     */
+    @Scheduled(fixedDelayString = "${app.status-history.recovery-interval-ms:60000}",
+            initialDelayString = "${app.status-history.recovery-interval-ms:60000}")
+    public void recoverPending() {
+        if (!writeBehindEnabled) {
+            return;
+        }
+        try {
+            int recovered = 0;
+            Integer moved;
+            do {
+                moved = transactionTemplate.execute(status ->
+                        jdbcTemplate.update(RECOVER_OUTBOX_SQL, recoveryGraceSeconds, batchSize));
+                recovered += moved != null ? moved : 0;
+            } while (moved != null && moved == batchSize);
+            if (recovered > 0) {
+                logger.warn("Recovered {} status history entries from the outbox", recovered);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Error recovering status history entries: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void enqueue(CandidateStatusHistory history) {
+        if (!pending.offer(history)) {
+            logger.warn("Status history queue is full, leaving entry for resume {} to outbox recovery",
+                    history.getResumeId());
+            return;
+        }
+        if (pending.size() >= batchSize) {
+            resumeProcessingExecutor.execute(this::flush);
+        }
+    }
+
+    private void insert(String sql, List<CandidateStatusHistory> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (CandidateStatusHistory history : entries) {
+            rows.add(new Object[] {
+                    history.getId(),
+                    history.getResumeId(),
+                    history.getEvaluationId(),
+                    history.getPreviousStatus() != null ? history.getPreviousStatus().name() : null,
+                    history.getPreviousCustomStatus(),
+                    history.getNewStatus() != null ? history.getNewStatus().name() : null,
+                    history.getNewCustomStatus(),
+                    history.getChangedBy(),
+                    Timestamp.valueOf(history.getChangedAt()),
+                    history.getComments() });
+        }
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+}
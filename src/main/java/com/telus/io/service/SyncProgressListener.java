@@ -0,0 +1,24 @@
+package com.telus.io.service;
+
+/**
+ * Receives progress of a vector store synchronization and can stop it.
+ */
+@FunctionalInterface
+public interface SyncProgressListener {
+
+    /**
+     * A listener that ignores progress and never stops the synchronization.
+     */
+    SyncProgressListener NONE = (processed, total, missingAdded) -> true;
+
+    /**
+     * Called after the set-based checks and after each missing resume is embedded.
+     * May block, for example to limit the embedding rate.
+     *
+     * @param processed The number of resumes checked so far
+     * @param total The number of resumes to check
+     * @param missingAdded The number of missing entries added so far
+     * @return True to continue, false to stop the synchronization
+     */
+    boolean onProgress(int processed, int total, int missingAdded);
+}
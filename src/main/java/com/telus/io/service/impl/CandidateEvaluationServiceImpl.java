@@ -2,6 +2,7 @@
 package com.telus.io.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -26,6 +27,8 @@ import com.telus.io.service.CandidateEvaluationService;
 import com.telus.io.util.EntityComparisonUtils;
 import com.telus.io.util.StatusHistoryUtil;
 
+import jakarta.annotation.PostConstruct;
+
 @Service
 public class CandidateEvaluationServiceImpl implements CandidateEvaluationService {
 
@@ -46,6 +49,20 @@ public class CandidateEvaluationServiceImpl implements CandidateEvaluationServic
 		this.statusHistoryUtil = statusHistoryUtil;
 	}
 
+	/**
+	 * Refuse to start without the unique index on resume_id, which lock requests
+	 * need to create evaluations. Where schema.sql is not run (spring.sql.init.mode=never),
+	 * Hibernate only logs a failed unique constraint, e.g. because of duplicate
+	 * evaluations, and every first lock request would fail instead.
+	 */
+	@PostConstruct
+	void verifyUniqueResumeIndex() {
+		if (!evaluationRepository.hasUniqueResumeIdIndex()) {
+			throw new IllegalStateException("candidate_evaluations has no unique index on resume_id. Merge duplicate "
+					+ "evaluations and create uq_candidate_evaluations_resume_id as in schema.sql before starting.");
+		}
+	}
+
 	@Transactional(readOnly = true)
 	public List<CandidateEvaluationModel> findByLocked(boolean locked) {
 		return evaluationRepository.findByLocked(locked);
@@ -57,66 +74,103 @@ public class CandidateEvaluationServiceImpl implements CandidateEvaluationServic
 				.map(lock -> lock.getManagerId().equals(managerId)).orElse(false);
 	}
 
+	/**
+	 * Apply a lock request with one read of the evaluation row, made after the
+	 * lock transition; the first request for a resume also reads the resume and
+	 * reads the row again once it has created and locked it.
+	 * 
+	 * The lock transition is a single conditional UPDATE that only succeeds if
+	 * the evaluation is unlocked or held by the requesting manager, so racing
+	 * managers cannot both take the lock. Evaluation data changes are detected
+	 * by comparing a content hash of the request with the stored one, so the
+	 * key strength and improvement area collections are neither loaded nor
+	 * diffed; when the data changed they are replaced.
+	 */
 	@Transactional
 	public CandidateEvaluationModel processLockRequest(LockResumeRequest request) {
-		logger.debug("Processing lock request for resume ID: {}, manager ID: {}", request.getResumeId(),
-				request.getManagerId());
-
-		Resume resume = resumeRepository.findById(request.getResumeId())
-				.orElseThrow(() -> new ResourceNotFoundException("Resume", "id", request.getResumeId()));
-
-		Optional<CandidateEvaluationModel> existingLockOpt = evaluationRepository
-				.findByResumeIdAndLocked(request.getResumeId(), true);
-
-		if (existingLockOpt.isPresent() && !existingLockOpt.get().getManagerId().equals(request.getManagerId())) {
-			throw new CandidateAlreadyLockedException(request.getResumeId(), existingLockOpt.get().getManagerId());
+		UUID resumeId = request.getResumeId();
+		String managerId = request.getManagerId();
+		logger.debug("Processing lock request for resume ID: {}, manager ID: {}", resumeId, managerId);
+
+		LocalDateTime changedAt = statusHistoryUtil.changeTime();
+		int lockChanged = transitionLock(request, changedAt);
+
+		// Read after the UPDATE, so the row reflects the lock transition
+		Optional<CandidateEvaluationModel> found = evaluationRepository.findByResumeId(resumeId);
+		boolean created = false;
+		if (found.isEmpty()) {
+			// First request for this resume: create the row, then take the lock like any other request.
+			// A concurrent first request either creates it first or waits on the unique index.
+			Resume resume = resumeRepository.findById(resumeId)
+					.orElseThrow(() -> new ResourceNotFoundException("Resume", "id", resumeId));
+			created = evaluationRepository.insertIfAbsent(UUID.randomUUID(), resumeId, resume.getName(),
+					resume.getEmail(), resume.getPhoneNumber()) > 0;
+			lockChanged = transitionLock(request, changedAt);
+			found = evaluationRepository.findByResumeId(resumeId);
 		}
-
-		Optional<CandidateEvaluationModel> existingEvaluationOpt = evaluationRepository
-				.findByResumeId(request.getResumeId());
-
-		if (existingEvaluationOpt.isPresent()
-				&& isRequestIdenticalToExistingEvaluation(request, existingEvaluationOpt.get())) {
-			logger.debug("No changes detected. Skipping update.");
-			return existingEvaluationOpt.get();
+		CandidateEvaluationModel evaluation = found
+				.orElseThrow(() -> new IllegalStateException("Evaluation for resume " + resumeId + " was not created"));
+		if (lockChanged == 0 && evaluation.isLocked() && !Objects.equals(evaluation.getManagerId(), managerId)) {
+			throw new CandidateAlreadyLockedException(resumeId, evaluation.getManagerId());
 		}
-
-		CandidateEvaluationModel evaluation = existingEvaluationOpt.orElse(new CandidateEvaluationModel());
-		boolean isNew = evaluation.getId() == null;
-
-		if (isNew) {
-			evaluation.setResumeId(request.getResumeId());
-			evaluation.setName(resume.getName());
-			evaluation.setEmail(resume.getEmail());
-			evaluation.setPhoneNumber(resume.getPhoneNumber());
+		if (created) {
+			return initializeEvaluation(request, evaluation, changedAt);
 		}
 
-		applyRequestToEvaluation(request, evaluation);
-
-		if (!updateEvaluationIfChanged(evaluation)) {
-			logger.debug("No actual changes to save after diff.");
+		String contentHash = request.hasEvaluationData() ? contentHash(request) : null;
+		if (contentHash == null || contentHash.equals(evaluation.getContentHash())) {
+			if (lockChanged == 0) {
+				logger.debug("No changes detected. Skipping update.");
+				return evaluation;
+			}
+			recordStatusChange(evaluation, evaluation.getStatus(), evaluation.getCustomStatus(), changedAt, null);
 			return evaluation;
 		}
 
+		CandidateStatus previousStatus = evaluation.getStatus();
+		String previousCustomStatus = evaluation.getCustomStatus();
+		applyEvaluationData(request, evaluation);
+		evaluation.setContentHash(contentHash);
 		CandidateEvaluationModel saved = evaluationRepository.save(evaluation);
 
-		statusHistoryUtil.recordStatusChange(request.getResumeId(), saved.getId(), null, // previousStatus
-				null, // previousCustomStatus
-				saved.getStatus(), saved.getCustomStatus(), saved.getManagerId(),
-				isNew ? "New candidate initialized" : null);
+		recordStatusChange(saved, previousStatus, previousCustomStatus, changedAt, null);
+		return saved;
+	}
+
+	private int transitionLock(LockResumeRequest request, LocalDateTime changedAt) {
+		return evaluationRepository.transitionLock(request.getResumeId(), request.isLocked(), request.getManagerId(),
+				changedAt);
+	}
 
+	/**
+	 * Fill in a row just created by {@link CandidateEvaluationRepository#insertIfAbsent}
+	 * and already locked for the requesting manager.
+	 */
+	private CandidateEvaluationModel initializeEvaluation(LockResumeRequest request, CandidateEvaluationModel evaluation,
+			LocalDateTime changedAt) {
+		applyEvaluationData(request, evaluation);
+		if (request.hasEvaluationData()) {
+			evaluation.setContentHash(contentHash(request));
+		}
+		CandidateEvaluationModel saved = evaluationRepository.save(evaluation);
+
+		recordStatusChange(saved, null, null, changedAt, "New candidate initialized");
 		return saved;
 	}
 
-	private void applyRequestToEvaluation(LockResumeRequest request, CandidateEvaluationModel evaluation) {
+	private void recordStatusChange(CandidateEvaluationModel evaluation, CandidateStatus previousStatus,
+			String previousCustomStatus, LocalDateTime changedAt, String comments) {
+		statusHistoryUtil.recordStatusChange(evaluation.getResumeId(), evaluation.getId(), previousStatus,
+				previousCustomStatus, evaluation.getStatus(), evaluation.getCustomStatus(), evaluation.getManagerId(),
+				comments, changedAt);
+	}
+
+	private void applyEvaluationData(LockResumeRequest request, CandidateEvaluationModel evaluation) {
 		evaluation.setExecutiveSummary(request.getExecutiveSummary());
-		evaluation.setKeyStrengths(request.getKeyStrengths());
-		evaluation.setImprovementAreas(request.getImprovementAreas());
+		evaluation.setKeyStrengths(copyOf(request.getKeyStrengths()));
+		evaluation.setImprovementAreas(copyOf(request.getImprovementAreas()));
 
 		evaluation.setScore(request.getScore());
-		evaluation.setLocked(request.isLocked());
-		evaluation.setManagerId(request.getManagerId());
-		evaluation.setLockedAt(LocalDateTime.now());
 
 		evaluation.setRecommendationType(request.getRecommendationType());
 		evaluation.setRecommendationReason(request.getRecommendationReason());
@@ -127,92 +181,50 @@ public class CandidateEvaluationServiceImpl implements CandidateEvaluationServic
 		tryParseInt(request.getSoftSkills()).ifPresent(evaluation::setSoftSkills);
 		tryParseInt(request.getAchievements()).ifPresent(evaluation::setAchievements);
 
-		if (request.getStatus() != null) {
-			try {
-				evaluation.setStatus(CandidateStatus.valueOf(request.getStatus()));
-			} catch (IllegalArgumentException e) {
-				logger.warn("Invalid status: {}", request.getStatus());
-			}
-		}
+		parseStatus(request.getStatus()).ifPresent(evaluation::setStatus);
 	}
 
-	private Optional<Integer> tryParseInt(String value) {
+	/**
+	 * Hash of the evaluation data a request would apply, in the form it is stored.
+	 */
+	private String contentHash(LockResumeRequest request) {
+		return EntityComparisonUtils.contentHash(
+				request.getExecutiveSummary(),
+				request.getScore(),
+				request.getKeyStrengths(),
+				request.getImprovementAreas(),
+				tryParseInt(request.getTechnicalSkills()).orElse(null),
+				tryParseInt(request.getExperience()).orElse(null),
+				tryParseInt(request.getEducation()).orElse(null),
+				tryParseInt(request.getSoftSkills()).orElse(null),
+				tryParseInt(request.getAchievements()).orElse(null),
+				request.getRecommendationType(),
+				request.getRecommendationReason(),
+				parseStatus(request.getStatus()).orElse(null));
+	}
+
+	private Optional<CandidateStatus> parseStatus(String status) {
+		if (status == null) {
+			return Optional.empty();
+		}
 		try {
-			return Optional.ofNullable(value).map(Integer::parseInt);
-		} catch (NumberFormatException e) {
+			return Optional.of(CandidateStatus.valueOf(status));
+		} catch (IllegalArgumentException e) {
+			logger.warn("Invalid status: {}", status);
 			return Optional.empty();
 		}
 	}
 
-	private boolean updateEvaluationIfChanged(CandidateEvaluationModel newEval) {
-		if (newEval.getId() == null)
-			return true;
-
-		CandidateEvaluationModel existing = evaluationRepository.findById(newEval.getId()).orElse(null);
-		if (existing == null)
-			return true;
-
-		if (!hasEvaluationDataChanged(existing, newEval))
-			return false;
-
-		EntityComparisonUtils.handleCollectionChanges(existing.getKeyStrengths(), newEval.getKeyStrengths());
-		EntityComparisonUtils.handleCollectionChanges(existing.getImprovementAreas(), newEval.getImprovementAreas());
-
-		copyNonNullProperties(newEval, existing);
-		return true;
-	}
-
-	private boolean hasEvaluationDataChanged(CandidateEvaluationModel oldEval, CandidateEvaluationModel newEval) {
-		return !Objects.equals(oldEval.getExecutiveSummary(), newEval.getExecutiveSummary())
-				|| !Objects.equals(oldEval.getScore(), newEval.getScore())
-				|| !EntityComparisonUtils.areCollectionsEqual(oldEval.getKeyStrengths(), newEval.getKeyStrengths())
-				|| !EntityComparisonUtils.areCollectionsEqual(oldEval.getImprovementAreas(),
-						newEval.getImprovementAreas());
+	private static List<String> copyOf(List<String> values) {
+		return values != null ? new ArrayList<>(values) : null;
 	}
 
-	private void copyNonNullProperties(CandidateEvaluationModel src, CandidateEvaluationModel target) {
-		if (src.getExecutiveSummary() != null)
-			target.setExecutiveSummary(src.getExecutiveSummary());
-		if (src.getScore() != null)
-			target.setScore(src.getScore());
-		if (src.getTechnicalSkills() != null)
-			target.setTechnicalSkills(src.getTechnicalSkills());
-		if (src.getExperience() != null)
-			target.setExperience(src.getExperience());
-		if (src.getEducation() != null)
-			target.setEducation(src.getEducation());
-		if (src.getSoftSkills() != null)
-			target.setSoftSkills(src.getSoftSkills());
-		if (src.getAchievements() != null)
-			target.setAchievements(src.getAchievements());
-		if (src.getRecommendationType() != null)
-			target.setRecommendationType(src.getRecommendationType());
-		if (src.getRecommendationReason() != null)
-			target.setRecommendationReason(src.getRecommendationReason());
-		if (src.getStatus() != null)
-			target.setStatus(src.getStatus());
-		if (src.getCustomStatus() != null)
-			target.setCustomStatus(src.getCustomStatus());
-		target.setLocked(src.isLocked());
-		target.setLockedAt(src.getLockedAt());
-		target.setManagerId(src.getManagerId());
-	}
-
-	private boolean isRequestIdenticalToExistingEvaluation(LockResumeRequest request,
-			CandidateEvaluationModel existing) {
-		if (existing.isLocked() != request.isLocked())
-			return false;
-		if (!Objects.equals(existing.getManagerId(), request.getManagerId()))
-			return false;
-
-		if (!request.hasEvaluationData())
-			return true;
-
-		return Objects.equals(existing.getExecutiveSummary(), request.getExecutiveSummary())
-				&& EntityComparisonUtils.areCollectionsEqual(existing.getKeyStrengths(), request.getKeyStrengths())
-				&& EntityComparisonUtils.areCollectionsEqual(existing.getImprovementAreas(),
-						request.getImprovementAreas())
-				&& Objects.equals(existing.getScore(), request.getScore());
+	private Optional<Integer> tryParseInt(String value) {
+		try {
+			return Optional.ofNullable(value).map(Integer::parseInt);
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
 	}
 
 	@Override
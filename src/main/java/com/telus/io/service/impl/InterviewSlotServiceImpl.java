@@ -0,0 +1,330 @@
+package com.telus.io.service.impl;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.telus.io.dto.request.SlotReservationRequest;
+import com.telus.io.dto.response.SlotReservationResponse;
+import com.telus.io.model.InterviewerProfile;
+import com.telus.io.service.EntityCacheService;
+import com.telus.io.service.InterviewSlotService;
+
+/**
+ * JDBC implementation of the InterviewSlotService.
+ *
+ * A reservation decrements interviewer_slots.remaining with one conditional
+ * UPDATE, so the row lock is held only for the rest of the transaction and two
+ * reservations can never both take the last slot or go past the interviewer's
+ * max_interviews_per_day. Interviewers whose slots have not been synchronized
+ * yet are seeded from their availability JSON by a set-based background job,
+ * never on the read or reservation path.
+ *
+ * While app.interview-slots.enabled is off, e.g. before the interviewer_slots
+ * table exists, slots are read from and reserved in the availability JSON of
+ * the interviewer profile, as before the table existed; a reservation is then
+ * a conditional UPDATE of that JSON instead, and the daily cap is not applied.
+ */
+@Service
+public class InterviewSlotServiceImpl implements InterviewSlotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewSlotServiceImpl.class);
+
+    private static final String BOOKED_SUBQUERY =
+            "(SELECT COUNT(*) FROM interview_assignments ia "
+            + "WHERE ia.interviewer_id = %s AND ia.interview_date = %s AND ia.status = 'SCHEDULED')";
+
+    // Keeps already reserved slots reserved when the capacity changes
+    private static final String UPSERT_SLOT_SQL =
+            "INSERT INTO interviewer_slots (interviewer_id, slot_date, capacity, remaining) "
+            + "SELECT ?, ?, ?, GREATEST(? - " + String.format(BOOKED_SUBQUERY, "?", "?") + ", 0) "
+            + "ON CONFLICT (interviewer_id, slot_date) DO UPDATE SET "
+            + "capacity = EXCLUDED.capacity, "
+            + "remaining = GREATEST(EXCLUDED.capacity - (interviewer_slots.capacity - interviewer_slots.remaining), 0), "
+            + "updated_at = CURRENT_TIMESTAMP";
+
+    // Days without reservations are removed; reserved days are closed below instead
+    private static final String DELETE_MISSING_SLOTS_SQL =
+            "DELETE FROM interviewer_slots WHERE interviewer_id = ? AND NOT (slot_date = ANY (?::date[])) "
+            + "AND remaining >= capacity";
+
+    // Keeps the reservations of days no longer in the availability, but takes no more
+    private static final String CLOSE_MISSING_SLOTS_SQL =
+            "UPDATE interviewer_slots SET capacity = capacity - remaining, remaining = 0, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE interviewer_id = ? AND NOT (slot_date = ANY (?::date[])) AND remaining > 0";
+
+    // Only seeds interviewers that have no slots at all, so it is a no-op once synchronized
+    private static final String SEED_SLOTS_SQL =
+            "INSERT INTO interviewer_slots (interviewer_id, slot_date, capacity, remaining) "
+            + "SELECT p.id, a.key::date, a.value::int, "
+            + "GREATEST(a.value::int - " + String.format(BOOKED_SUBQUERY, "p.id", "a.key::date") + ", 0) "
+            + "FROM interviewer_profiles p CROSS JOIN LATERAL jsonb_each_text(p.availability) a "
+            + "WHERE a.key ~ '^\\d{4}-\\d{2}-\\d{2}$' AND a.value ~ '^\\d+$' "
+            + "AND NOT EXISTS (SELECT 1 FROM interviewer_slots s WHERE s.interviewer_id = p.id) "
+            + "ON CONFLICT (interviewer_id, slot_date) DO NOTHING";
+
+    // capacity - remaining is what is already reserved that day
+    private static final String SELECT_DAILY_CAPACITY_SQL =
+            "SELECT s.interviewer_id, s.slot_date, "
+            + "LEAST(s.remaining, GREATEST(p.max_interviews_per_day - (s.capacity - s.remaining), 0)) AS available "
+            + "FROM interviewer_slots s JOIN interviewer_profiles p ON p.id = s.interviewer_id "
+            + "WHERE s.interviewer_id = ANY (?) AND s.slot_date BETWEEN ? AND ? AND s.remaining > 0";
+
+    private static final String SELECT_REMAINING_SQL =
+            "SELECT remaining FROM interviewer_slots WHERE interviewer_id = ? AND slot_date = ?";
+
+    // Same daily cap as SELECT_DAILY_CAPACITY_SQL, so a reservation never exceeds what was offered
+    private static final String RESERVE_SLOT_SQL =
+            "UPDATE interviewer_slots s SET remaining = s.remaining - 1, updated_at = CURRENT_TIMESTAMP "
+            + "FROM interviewer_profiles p "
+            + "WHERE p.id = s.interviewer_id AND s.interviewer_id = ? AND s.slot_date = ? AND s.remaining > 0 "
+            + "AND s.capacity - s.remaining < p.max_interviews_per_day RETURNING s.remaining";
+
+    // Availability fallback: decrements the day's count in the profile's availability JSON
+    private static final String RESERVE_AVAILABILITY_SQL =
+            "UPDATE interviewer_profiles SET availability = jsonb_set(availability, ARRAY[?], "
+            + "to_jsonb((availability->>?)::int - 1)), updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND CASE WHEN availability->>? ~ '^\\d+$' THEN (availability->>?)::int > 0 ELSE false END "
+            + "RETURNING (availability->>?)::int";
+
+    private static final String INSERT_ASSIGNMENT_SQL =
+            "INSERT INTO interview_assignments (id, interviewer_id, resume_id, evaluation_id, interview_date, status, match_score) "
+            + "VALUES (?, ?, ?, ?, ?, 'SCHEDULED', ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheService entityCacheService;
+
+    @Value("${app.interview-slots.enabled:false}")
+    private boolean enabled;
+
+    public InterviewSlotServiceImpl(JdbcTemplate jdbcTemplate, EntityCacheService entityCacheService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityCacheService = entityCacheService;
+    }
+
+    @Override
+    @Transactional
+    public void syncSlots(UUID interviewerId, Map<String, Integer> availability) {
+        if (!enabled) {
+            // The availability JSON saved with the profile is what the fallback reserves from
+            return;
+        }
+        List<Object[]> upserts = new ArrayList<>();
+        List<String> dates = new ArrayList<>();
+        if (availability != null) {
+            for (Map.Entry<String, Integer> entry : availability.entrySet()) {
+                LocalDate date = parseDate(entry.getKey());
+                if (date == null) {
+                    logger.warn("Ignoring availability for interviewer {} with invalid date: {}",
+                            interviewerId, entry.getKey());
+                    continue;
+                }
+                int capacity = entry.getValue() != null ? Math.max(entry.getValue(), 0) : 0;
+                upserts.add(new Object[] { interviewerId, date, capacity, capacity, interviewerId, date });
+                dates.add(date.toString());
+            }
+        }
+
+        String keptDates = "{" + String.join(",", dates) + "}";
+        jdbcTemplate.update(DELETE_MISSING_SLOTS_SQL, interviewerId, keptDates);
+        jdbcTemplate.update(CLOSE_MISSING_SLOTS_SQL, interviewerId, keptDates);
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SLOT_SQL, upserts);
+        }
+        logger.debug("Synchronized {} slot days for interviewer {}", upserts.size(), interviewerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getRemainingSlots(UUID interviewerId, String date) {
+        LocalDate slotDate = parseDate(date);
+        if (slotDate == null) {
+            return 0;
+        }
+        if (!enabled) {
+            Integer slots = availability(interviewerId).get(slotDate.toString());
+            return slots != null ? slots : 0;
+        }
+        List<Integer> remaining = jdbcTemplate.queryForList(SELECT_REMAINING_SQL, Integer.class, interviewerId, slotDate);
+        return remaining.isEmpty() ? 0 : remaining.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Map<LocalDate, Integer>> getDailyCapacity(Collection<UUID> interviewerIds,
+            LocalDate from, LocalDate to) {
+        Map<UUID, Map<LocalDate, Integer>> capacity = new HashMap<>();
+        if (interviewerIds == null || interviewerIds.isEmpty()) {
+            return capacity;
+        }
+        if (!enabled) {
+            for (UUID interviewerId : interviewerIds) {
+                availability(interviewerId).forEach((day, slots) -> {
+                    LocalDate date = parseDate(day);
+                    if (date != null && slots != null && slots > 0 && !date.isBefore(from) && !date.isAfter(to)) {
+                        capacity.computeIfAbsent(interviewerId, id -> new TreeMap<>()).put(date, slots);
+                    }
+                });
+            }
+            return capacity;
+        }
+        UUID[] ids = interviewerIds.toArray(new UUID[0]);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_DAILY_CAPACITY_SQL);
+            ps.setArray(1, connection.createArrayOf("uuid", ids));
+            ps.setObject(2, from);
+            ps.setObject(3, to);
+            return ps;
+        }, rs -> {
+            int available = rs.getInt("available");
+            if (available > 0) {
+                capacity.computeIfAbsent(rs.getObject("interviewer_id", UUID.class), id -> new TreeMap<>())
+                        .put(rs.getObject("slot_date", LocalDate.class), available);
+            }
+        });
+        return capacity;
+    }
+
+    /**
+     * Seed the slots of every interviewer that has none from their availability
+     * JSON, shortly after startup and then every app.interview-slots.seed-interval-ms.
+     * Interviewers saved through the service are synchronized by {@link #syncSlots};
+     * this covers profiles written before slots existed or outside the service.
+     */
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${app.interview-slots.seed-initial-delay-ms:10000}",
+            fixedDelayString = "${app.interview-slots.seed-interval-ms:600000}")
+    public int seedMissingSlots() {
+        if (!enabled) {
+            return 0;
+        }
+        int seeded = jdbcTemplate.update(SEED_SLOTS_SQL);
+        if (seeded > 0) {
+            logger.info("Seeded {} slot days from interviewer availability", seeded);
+        }
+        return seeded;
+    }
+
+    @Override
+    @Transactional
+    public SlotReservationResponse reserve(SlotReservationRequest request) {
+        SlotReservationResponse response = reserveSlot(request);
+        if (response.isReserved() && request.getResumeId() != null) {
+            jdbcTemplate.update(INSERT_ASSIGNMENT_SQL, assignmentRow(request, response));
+        }
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public List<SlotReservationResponse> reserveAll(List<SlotReservationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Lock slot rows in a fixed order so concurrent batches cannot deadlock
+        Integer[] order = new Integer[requests.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator
+                .comparing((Integer i) -> String.valueOf(requests.get(i).getInterviewerId()))
+                .thenComparing(i -> String.valueOf(requests.get(i).getDate())));
+
+        SlotReservationResponse[] responses = new SlotReservationResponse[requests.size()];
+        List<Object[]> assignments = new ArrayList<>();
+        for (int i : order) {
+            SlotReservationRequest request = requests.get(i);
+            responses[i] = reserveSlot(request);
+            if (responses[i].isReserved() && request.getResumeId() != null) {
+                assignments.add(assignmentRow(request, responses[i]));
+            }
+        }
+
+        if (!assignments.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT_SQL, assignments);
+        }
+
+        List<SlotReservationResponse> results = Arrays.asList(responses);
+        logger.info("Reserved {} of {} requested interview slots",
+                results.stream().filter(SlotReservationResponse::isReserved).count(), requests.size());
+        return results;
+    }
+
+    /**
+     * Take one slot for the request.
+     * The assignment ID is set on success but the assignment is not inserted.
+     */
+    private SlotReservationResponse reserveSlot(SlotReservationRequest request) {
+        UUID interviewerId = request.getInterviewerId();
+        LocalDate slotDate = parseDate(request.getDate());
+        if (interviewerId == null || slotDate == null) {
+            return result(request, false, null, 0, "Interviewer ID and a date in format YYYY-MM-DD are required");
+        }
+
+        List<Integer> remaining;
+        if (enabled) {
+            remaining = jdbcTemplate.queryForList(RESERVE_SLOT_SQL, Integer.class, interviewerId, slotDate);
+        } else {
+            String day = slotDate.toString();
+            remaining = jdbcTemplate.queryForList(RESERVE_AVAILABILITY_SQL, Integer.class,
+                    day, day, interviewerId, day, day, day);
+            if (!remaining.isEmpty()) {
+                entityCacheService.evictInterviewer(interviewerId);
+            }
+        }
+
+        if (!remaining.isEmpty()) {
+            UUID assignmentId = request.getResumeId() != null ? UUID.randomUUID() : null;
+            return result(request, true, assignmentId, remaining.get(0), "Slot reserved successfully");
+        }
+        if (entityCacheService.findInterviewer(interviewerId).isEmpty()) {
+            return result(request, false, null, 0, "Interviewer not found");
+        }
+        return result(request, false, null, 0, "No slots available on " + slotDate);
+    }
+
+    private Map<String, Integer> availability(UUID interviewerId) {
+        return entityCacheService.findInterviewer(interviewerId)
+                .map(InterviewerProfile::getAvailability)
+                .orElse(Map.of());
+    }
+
+    private static Object[] assignmentRow(SlotReservationRequest request, SlotReservationResponse response) {
+        return new Object[] { response.getAssignmentId(), request.getInterviewerId(), request.getResumeId(),
+                request.getEvaluationId(), parseDate(request.getDate()), request.getMatchScore() };
+    }
+
+    private static SlotReservationResponse result(SlotReservationRequest request, boolean reserved,
+            UUID assignmentId, int remaining, String message) {
+        return new SlotReservationResponse(request.getInterviewerId(), request.getDate(), request.getResumeId(),
+                reserved, assignmentId, remaining, message);
+    }
+
+    private static LocalDate parseDate(String date) {
+        if (date == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.telus.io.service.impl;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.telus.io.config.InterviewerMatchingConfig;
+import com.telus.io.config.InterviewerVectorStoreConfig.InterviewerVectorStoreService;
+import com.telus.io.dto.request.BulkAssignmentRequest;
+import com.telus.io.dto.request.SlotReservationRequest;
+import com.telus.io.dto.response.BulkAssignmentResponse;
+import com.telus.io.dto.response.BulkAssignmentResponse.Assignment;
+import com.telus.io.dto.response.SlotReservationResponse;
+import com.telus.io.model.InterviewerProfile;
+import com.telus.io.model.Resume;
+import com.telus.io.service.EntityCacheService;
+import com.telus.io.service.InterviewSlotService;
+import com.telus.io.service.InterviewerAssignmentService;
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.MinCostFlow;
+
+/**
+ * Implementation of the InterviewerAssignmentService using min-cost flow.
+ *
+ * The similarity matrix is sparse: one query returns, for every candidate with
+ * a stored resume embedding, its most similar interviewers. The flow network is
+ * source -> candidate (capacity 1) -> interviewer (cost 1 - similarity) ->
+ * sink, with one interviewer -> sink edge per day of remaining capacity, costed
+ * by day. The maximum flow of minimum cost is a schedule that assigns as many
+ * candidates as capacity allows and, among those, maximizes total similarity,
+ * filling earlier days first among equally similar schedules.
+ */
+@Service
+public class InterviewerAssignmentServiceImpl implements InterviewerAssignmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewerAssignmentServiceImpl.class);
+
+    // Similarity is scaled to integer costs, one step per millionth of similarity
+    private static final long SIMILARITY_SCALE = 1_000_000L;
+
+    private static final String SIMILARITY_EDGES_SQL =
+            "SELECT r.resume_id, s.interviewer_id, s.name, s.similarity "
+            + "FROM resume_vector_store r CROSS JOIN LATERAL ("
+            + "SELECT ivs.interviewer_id, ip.name, 1 - (ivs.embedding <=> r.embedding) AS similarity "
+            + "FROM interviewer_vector_store ivs JOIN interviewer_profiles ip ON ip.id = ivs.interviewer_id "
+            + "ORDER BY ivs.embedding <=> r.embedding LIMIT ?) s "
+            + "WHERE r.resume_id = ANY (?)";
+
+    private record Edge(UUID resumeId, UUID interviewerId, String interviewerName, double similarity) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InterviewerVectorStoreService vectorStoreService;
+    private final InterviewSlotService slotService;
+    private final EntityCacheService entityCacheService;
+    private final InterviewerMatchingConfig matchingConfig;
+    private final AiMetrics aiMetrics;
+
+    public InterviewerAssignmentServiceImpl(
+            JdbcTemplate jdbcTemplate,
+            @Qualifier("interviewerVectorStoreService") InterviewerVectorStoreService vectorStoreService,
+            InterviewSlotService slotService,
+            EntityCacheService entityCacheService,
+            InterviewerMatchingConfig matchingConfig,
+            AiMetrics aiMetrics) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.vectorStoreService = vectorStoreService;
+        this.slotService = slotService;
+        this.entityCacheService = entityCacheService;
+        this.matchingConfig = matchingConfig;
+        this.aiMetrics = aiMetrics;
+    }
+
+    @Override
+    public BulkAssignmentResponse assign(BulkAssignmentRequest request) {
+        List<UUID> resumeIds = validate(request);
+        LocalDate from = parseDate(request.getStartDate(), "startDate");
+        LocalDate to = parseDate(request.getEndDate(), "endDate");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        double minSimilarity = request.getMinSimilarity() != null
+                ? request.getMinSimilarity() : matchingConfig.getSimilarityThreshold();
+
+        List<Edge> edges = findEdges(resumeIds, minSimilarity);
+        Set<UUID> interviewerIds = new LinkedHashSet<>();
+        edges.forEach(edge -> interviewerIds.add(edge.interviewerId()));
+        Map<UUID, Map<LocalDate, Integer>> capacity = slotService.getDailyCapacity(interviewerIds, from, to);
+
+        BulkAssignmentResponse response = solve(resumeIds, edges, capacity, from);
+        if (request.isReserve() && !response.getAssignments().isEmpty()) {
+            reserve(response.getAssignments());
+        }
+
+        logger.info("Bulk assignment for {} candidates over {} to {}: {} assigned, {} unassigned, total similarity {}",
+                resumeIds.size(), from, to, response.getAssignments().size(),
+                response.getUnassignedResumeIds().size(), String.format("%.3f", response.getTotalSimilarity()));
+        return response;
+    }
+
+    private List<UUID> validate(BulkAssignmentRequest request) {
+        List<UUID> resumeIds = new ArrayList<>();
+        if (request != null && request.getResumeIds() != null) {
+            resumeIds.addAll(new LinkedHashSet<>(request.getResumeIds()));
+            resumeIds.remove(null);
+        }
+        if (resumeIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one resume ID is required");
+        }
+        if (resumeIds.size() > matchingConfig.getAssignmentMaxCandidates()) {
+            throw new IllegalArgumentException(String.format("At most %d candidates can be assigned at once",
+                    matchingConfig.getAssignmentMaxCandidates()));
+        }
+        return resumeIds;
+    }
+
+    /**
+     * Find the most similar interviewers for each candidate above the minimum similarity.
+     * Candidates without a stored resume embedding are embedded from their resume text.
+     */
+    private List<Edge> findEdges(List<UUID> resumeIds, double minSimilarity) {
+        int perCandidate = matchingConfig.getAssignmentCandidateEdges();
+        UUID[] ids = resumeIds.toArray(new UUID[0]);
+        List<Edge> edges = aiMetrics.recordVectorSearch("interviewer", "bulk-assignment", () -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(SIMILARITY_EDGES_SQL);
+                    ps.setInt(1, perCandidate);
+                    ps.setArray(2, connection.createArrayOf("uuid", ids));
+                    return ps;
+                },
+                (rs, rowNum) -> new Edge(
+                        rs.getObject("resume_id", UUID.class),
+                        rs.getObject("interviewer_id", UUID.class),
+                        rs.getString("name"),
+                        rs.getDouble("similarity"))));
+
+        Set<UUID> embedded = new HashSet<>();
+        edges.forEach(edge -> embedded.add(edge.resumeId()));
+        for (UUID resumeId : resumeIds) {
+            if (!embedded.contains(resumeId)) {
+                edges.addAll(findEdgesFromText(resumeId, perCandidate));
+            }
+        }
+
+        edges.removeIf(edge -> edge.similarity() < minSimilarity);
+        return edges;
+    }
+
+    private List<Edge> findEdgesFromText(UUID resumeId, int perCandidate) {
+        List<Edge> edges = new ArrayList<>();
+        Resume resume = entityCacheService.findResume(resumeId).orElse(null);
+        if (resume == null || resume.getFullText() == null) {
+            logger.warn("Resume {} not found or has no text, skipping it in bulk assignment", resumeId);
+            return edges;
+        }
+        try {
+            float[] embedding = vectorStoreService.generateEmbedding("Resume content: " + resume.getFullText());
+            String vectorString = vectorStoreService.convertToVectorString(embedding);
+            for (Map<String, Object> result : vectorStoreService.findSimilarWithScores(vectorString, perCandidate)) {
+                InterviewerProfile interviewer = (InterviewerProfile) result.get("interviewer");
+                edges.add(new Edge(resumeId, interviewer.getId(), interviewer.getName(),
+                        (Double) result.get("similarity")));
+            }
+        } catch (DataAccessException e) {
+            logger.error("Error finding interviewers for resume {}: {}", resumeId, e.getMessage(), e);
+        }
+        return edges;
+    }
+
+    private BulkAssignmentResponse solve(List<UUID> resumeIds, List<Edge> edges,
+            Map<UUID, Map<LocalDate, Integer>> capacity, LocalDate from) {
+        Map<UUID, Integer> candidateNodes = new HashMap<>();
+        for (UUID resumeId : resumeIds) {
+            candidateNodes.put(resumeId, candidateNodes.size() + 1);
+        }
+        Map<UUID, Integer> interviewerNodes = new LinkedHashMap<>();
+        for (UUID interviewerId : capacity.keySet()) {
+            interviewerNodes.put(interviewerId, resumeIds.size() + 1 + interviewerNodes.size());
+        }
+        int source = 0;
+        int sink = resumeIds.size() + interviewerNodes.size() + 1;
+        MinCostFlow flow = new MinCostFlow(sink + 1);
+
+        for (int node : candidateNodes.values()) {
+            flow.addEdge(source, node, 1, 0);
+        }
+        // One similarity step costs more than the day costs of a whole schedule, so days only break ties
+        long latestDay = capacity.values().stream()
+                .flatMap(days -> days.keySet().stream())
+                .mapToLong(day -> ChronoUnit.DAYS.between(from, day))
+                .max().orElse(0);
+        long similarityStep = resumeIds.size() * latestDay + 1;
+        Map<Integer, Edge> matchEdges = new HashMap<>();
+        for (Edge edge : edges) {
+            Integer interviewerNode = interviewerNodes.get(edge.interviewerId());
+            if (interviewerNode == null) {
+                continue;   // No capacity in the date range
+            }
+            long cost = Math.max(0, Math.round((1 - edge.similarity()) * SIMILARITY_SCALE)) * similarityStep;
+            matchEdges.put(flow.addEdge(candidateNodes.get(edge.resumeId()), interviewerNode, 1, cost), edge);
+        }
+        Map<UUID, Map<Integer, LocalDate>> dayEdges = new HashMap<>();
+        for (Map.Entry<UUID, Map<LocalDate, Integer>> entry : capacity.entrySet()) {
+            int interviewerNode = interviewerNodes.get(entry.getKey());
+            Map<Integer, LocalDate> days = new LinkedHashMap<>();
+            for (Map.Entry<LocalDate, Integer> day : entry.getValue().entrySet()) {
+                long dayCost = ChronoUnit.DAYS.between(from, day.getKey());
+                days.put(flow.addEdge(interviewerNode, sink, day.getValue(), dayCost), day.getKey());
+            }
+            dayEdges.put(entry.getKey(), days);
+        }
+
+        flow.solve(source, sink);
+
+        // Spread each interviewer's assigned candidates over the days the flow used
+        Map<UUID, Deque<LocalDate>> interviewerDays = new HashMap<>();
+        dayEdges.forEach((interviewerId, days) -> {
+            Deque<LocalDate> dates = new ArrayDeque<>();
+            days.forEach((edgeId, date) -> {
+                for (int i = 0; i < flow.flow(edgeId); i++) {
+                    dates.add(date);
+                }
+            });
+            interviewerDays.put(interviewerId, dates);
+        });
+
+        BulkAssignmentResponse response = new BulkAssignmentResponse();
+        Set<UUID> assigned = new HashSet<>();
+        double totalSimilarity = 0;
+        for (Map.Entry<Integer, Edge> entry : matchEdges.entrySet()) {
+            if (flow.flow(entry.getKey()) == 0) {
+                continue;
+            }
+            Edge edge = entry.getValue();
+            LocalDate date = interviewerDays.get(edge.interviewerId()).poll();
+            response.getAssignments().add(new Assignment(edge.resumeId(), edge.interviewerId(),
+                    edge.interviewerName(), date.toString(), edge.similarity()));
+            assigned.add(edge.resumeId());
+            totalSimilarity += edge.similarity();
+        }
+        response.getAssignments().sort(Comparator.comparing(Assignment::getDate)
+                .thenComparing(Assignment::getInterviewerName, Comparator.nullsLast(Comparator.naturalOrder())));
+        for (UUID resumeId : resumeIds) {
+            if (!assigned.contains(resumeId)) {
+                response.getUnassignedResumeIds().add(resumeId);
+            }
+        }
+        response.setTotalSimilarity(totalSimilarity);
+        return response;
+    }
+
+    /**
+     * Reserve the scheduled slots. Capacity was read without locks, so a slot
+     * taken concurrently leaves its assignment unreserved.
+     */
+    private void reserve(List<Assignment> assignments) {
+        List<SlotReservationRequest> requests = new ArrayList<>(assignments.size());
+        for (Assignment assignment : assignments) {
+            SlotReservationRequest request = new SlotReservationRequest(
+                    assignment.getInterviewerId(), assignment.getDate(), assignment.getResumeId());
+            request.setMatchScore(assignment.getSimilarity());
+            requests.add(request);
+        }
+        List<SlotReservationResponse> results = slotService.reserveAll(requests);
+        for (int i = 0; i < assignments.size(); i++) {
+            assignments.get(i).setReserved(results.get(i).isReserved());
+            assignments.get(i).setAssignmentId(results.get(i).getAssignmentId());
+        }
+    }
+
+    private static LocalDate parseDate(String date, String field) {
+        if (date == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(field + " must be in format YYYY-MM-DD: " + date);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -13,16 +14,19 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.telus.io.config.InterviewerMatchingConfig;
 import com.telus.io.config.InterviewerVectorStoreConfig.InterviewerVectorStoreService;
+import com.telus.io.dto.InterviewerQueryContext;
+import com.telus.io.dto.request.SlotReservationRequest;
 import com.telus.io.dto.response.InterviewerMatchResponse;
 import com.telus.io.exception.ResourceNotFoundException;
 import com.telus.io.model.CandidateEvaluationModel;
@@ -34,9 +38,14 @@ import com.telus.io.repository.CandidateEvaluationRepository;
 import com.telus.io.repository.InterviewerProfileRepository;
 import com.telus.io.repository.InterviewerVectorStoreRepository;
 import com.telus.io.repository.ResumeRepository;
+import com.telus.io.service.EntityCacheService;
+import com.telus.io.service.HedgedAiExecutor;
+import com.telus.io.service.InterviewSlotService;
 import com.telus.io.service.InterviewerMatchingService;
 import com.telus.io.service.InterviewerProfileService;
 import com.telus.io.service.ResumeStorageService;
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.MetadataFilterCompiler;
 
 
 
@@ -58,6 +67,11 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
     private final InterviewerMatchingConfig matchingConfig;
     private final CandidateEvaluationRepository evaluationRepository;
     private final ChatModel chatModel;
+    private final HedgedAiExecutor hedgedAiExecutor;
+    private final AiMetrics aiMetrics;
+    private final MetadataFilterCompiler filterCompiler;
+    private final EntityCacheService entityCacheService;
+    private final InterviewSlotService slotService;
     private final String interviewerMatchExplanationPrompt;
     
     @Autowired
@@ -72,6 +86,11 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
             InterviewerMatchingConfig matchingConfig,
             CandidateEvaluationRepository evaluationRepository,
             ChatModel chatModel,
+            HedgedAiExecutor hedgedAiExecutor,
+            AiMetrics aiMetrics,
+            MetadataFilterCompiler filterCompiler,
+            EntityCacheService entityCacheService,
+            InterviewSlotService slotService,
             @Qualifier("interviewerMatchExplanationPrompt") String interviewerMatchExplanationPrompt) {
         this.interviewerService = interviewerService;
         this.interviewerRepository = interviewerRepository;
@@ -83,6 +102,11 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
         this.matchingConfig = matchingConfig;
         this.evaluationRepository = evaluationRepository;
         this.chatModel = chatModel;
+        this.hedgedAiExecutor = hedgedAiExecutor;
+        this.aiMetrics = aiMetrics;
+        this.filterCompiler = filterCompiler;
+        this.entityCacheService = entityCacheService;
+        this.slotService = slotService;
         this.interviewerMatchExplanationPrompt = interviewerMatchExplanationPrompt;
     }
     
@@ -233,6 +257,16 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
     
     @Override
     public List<InterviewerProfile> findInterviewersWithFilters(String query, Map<String, String> filters, int limit) {
+        return findInterviewersWithFilters(query, filters, null, limit);
+    }
+    
+    @Override
+    public List<InterviewerProfile> findInterviewersWithFilters(
+            String query, Map<String, String> filters, String filterExpression, int limit) {
+        // Invalid filters are the caller's error, so they are not swallowed below
+        Filter.Expression filter = MetadataFilterCompiler.and(
+                filterCompiler.fromMap(filters), filterCompiler.parse(filterExpression));
+        
         try {
             // Get the similarity threshold from configuration
             final double similarityThreshold = matchingConfig.getSimilarityThreshold();
@@ -243,34 +277,14 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
                 return new ArrayList<>();
             }
             
-            // First get interviewers using the existing method
-            List<InterviewerProfile> interviewers = interviewerService.findInterviewersBySimilarityWithFilters(query, filters, limit * 2);
-            
-            // Then apply similarity threshold filtering
-            // For this, we need to get similarity scores for each interviewer
-            float[] queryEmbedding = vectorStoreService.generateEmbedding(query);
-            String vectorString = vectorStoreService.convertToVectorString(queryEmbedding);
-            
-            // Get similarity scores for all interviewers
-            List<Map<String, Object>> results = vectorStoreService.findSimilarWithScores(vectorString, limit * 3);
+            // Embed the query once and run a single filtered, scored vector query
+            InterviewerQueryContext queryContext = vectorStoreService.createQueryContext(query);
+            List<Map<String, Object>> results = vectorStoreService.findSimilarWithScores(
+                    queryContext, filter, similarityThreshold, limit);
             
-            // Create a map of interviewer ID to similarity score
-            Map<UUID, Double> similarityMap = new HashMap<>();
-            for (Map<String, Object> result : results) {
-                InterviewerProfile interviewer = (InterviewerProfile) result.get("interviewer");
-                Double similarity = (Double) result.get("similarity");
-                if (interviewer != null) {
-                    similarityMap.put(interviewer.getId(), similarity);
-                }
-            }
-            
-            // Filter interviewers by similarity threshold
-            List<InterviewerProfile> filteredInterviewers = interviewers.stream()
-                    .filter(interviewer -> {
-                        Double similarity = similarityMap.get(interviewer.getId());
-                        return similarity != null && similarity >= similarityThreshold;
-                    })
-                    .limit(limit)
+            List<InterviewerProfile> filteredInterviewers = results.stream()
+                    .map(result -> (InterviewerProfile) result.get("interviewer"))
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
             
             // Log the result
@@ -291,62 +305,32 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
     
     @Override
     public boolean isInterviewerAvailable(UUID interviewerId, String date) {
-        InterviewerProfile interviewer = interviewerRepository.findById(interviewerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Interviewer", "id", interviewerId));
-        
-        // Check if the interviewer has availability for the specified date
-        Map<String, Integer> availability = interviewer.getAvailability();
-        if (availability == null || !availability.containsKey(date)) {
-            return false;
-        }
-        
-        // Check if there are available slots
-        return availability.get(date) > 0;
+        return getAvailableSlots(interviewerId, date) > 0;
     }
     
     @Override
     public int getAvailableSlots(UUID interviewerId, String date) {
-        InterviewerProfile interviewer = interviewerRepository.findById(interviewerId)
+        entityCacheService.findInterviewer(interviewerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Interviewer", "id", interviewerId));
         
-        // Get the number of available slots for the specified date
-        Map<String, Integer> availability = interviewer.getAvailability();
-        if (availability == null || !availability.containsKey(date)) {
-            return 0;
-        }
-        
-        return availability.get(date);
+        return slotService.getRemainingSlots(interviewerId, date);
     }
     
     @Override
-    @Transactional
     public boolean reserveTimeSlot(UUID interviewerId, String date) {
-        InterviewerProfile interviewer = interviewerRepository.findById(interviewerId)
+        entityCacheService.findInterviewer(interviewerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Interviewer", "id", interviewerId));
         
-        // Check if the interviewer has availability for the specified date
-        Map<String, Integer> availability = interviewer.getAvailability();
-        if (availability == null || !availability.containsKey(date) || availability.get(date) <= 0) {
-            return false;
-        }
-        
-        // Decrease the number of available slots
-        int availableSlots = availability.get(date);
-        availability.put(date, availableSlots - 1);
-        
-        // Update the interviewer's availability
-        interviewer.setAvailability(availability);
-        interviewerRepository.save(interviewer);
-        
-        return true;
+        // Single conditional UPDATE on the slot row; the profile's availability is not modified
+        return slotService.reserve(new SlotReservationRequest(interviewerId, date, null)).isReserved();
     }
     
     @Override
     public String generateMatchSummary(UUID interviewerId, UUID resumeId) {
-        InterviewerProfile interviewer = interviewerRepository.findById(interviewerId)
+        InterviewerProfile interviewer = entityCacheService.findInterviewer(interviewerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Interviewer", "id", interviewerId));
         
-        Resume resume = resumeRepository.findById(resumeId)
+        Resume resume = entityCacheService.findResume(resumeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resume", "id", resumeId));
         
         // Extract key information from the resume and interviewer
@@ -719,7 +703,9 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
             // Use the ChatModel to generate the explanation
             String explanation = aiRetryTemplate.execute(context -> {
                 try {
-                    return chatModel.call(prompt);
+                    return aiMetrics.recordChat("interviewer-match-explanation", context,
+                            () -> hedgedAiExecutor.call("interviewer-match-explanation", () -> chatModel.call(new Prompt(prompt))))
+                            .getResult().getOutput().getText();
                 } catch (Exception e) {
                     logger.error("Error generating match explanation: {}", e.getMessage(), e);
                     throw new RuntimeException("Failed to generate match explanation", e);
@@ -729,6 +715,7 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
             return explanation;
         } catch (Exception e) {
             logger.error("Error generating match explanation: {}", e.getMessage(), e);
+            aiMetrics.recordChatFallback("interviewer-match-explanation");
             
             // Fallback to a simple explanation if AI fails
             StringBuilder fallbackExplanation = new StringBuilder();
@@ -852,7 +839,9 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
             // Use the ChatModel to generate the explanation
             String explanation = aiRetryTemplate.execute(context -> {
                 try {
-                    return chatModel.call(prompt);
+                    return aiMetrics.recordChat("interviewer-resume-explanation", context,
+                            () -> hedgedAiExecutor.call("interviewer-resume-explanation", () -> chatModel.call(new Prompt(prompt))))
+                            .getResult().getOutput().getText();
                 } catch (Exception e) {
                     logger.error("Error generating match explanation for resume: {}", e.getMessage(), e);
                     throw new RuntimeException("Failed to generate match explanation for resume", e);
@@ -862,6 +851,7 @@ public class InterviewerMatchingServiceImpl implements InterviewerMatchingServic
             return explanation;
         } catch (Exception e) {
             logger.error("Error generating match explanation for resume: {}", e.getMessage(), e);
+            aiMetrics.recordChatFallback("interviewer-resume-explanation");
             
             // Fallback to a simple explanation if AI fails
             StringBuilder fallbackExplanation = new StringBuilder();
@@ -1,9 +1,9 @@
 package com.telus.io.service.impl;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -12,6 +12,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.filter.Filter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.retry.support.RetryTemplate;
@@ -20,12 +21,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.telus.io.config.InterviewerVectorStoreConfig.InterviewerVectorStoreService;
+import com.telus.io.dto.InterviewerQueryContext;
 import com.telus.io.exception.ResourceNotFoundException;
+import com.telus.io.model.InterviewerMetadata;
 import com.telus.io.model.InterviewerProfile;
 import com.telus.io.model.InterviewerVectorStore;
 import com.telus.io.repository.InterviewerProfileRepository;
 import com.telus.io.repository.InterviewerVectorStoreRepository;
+import com.telus.io.scheduler.VectorStoreStateTracker;
+import com.telus.io.service.EntityCacheService;
+import com.telus.io.service.InterviewSlotService;
 import com.telus.io.service.InterviewerProfileService;
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.MetadataFilterCompiler;
 
 
 /**
@@ -41,6 +49,11 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
     private final InterviewerVectorStoreService vectorStoreService;
     private final EmbeddingModel embeddingModel;
     private final RetryTemplate aiRetryTemplate;
+    private final AiMetrics aiMetrics;
+    private final MetadataFilterCompiler filterCompiler;
+    private final EntityCacheService entityCacheService;
+    private final VectorStoreStateTracker stateTracker;
+    private final InterviewSlotService slotService;
    // private final ObjectMapper objectMapper;
     
     @Autowired
@@ -50,19 +63,32 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
             @Qualifier("interviewerVectorStoreService") InterviewerVectorStoreService vectorStoreService,
             EmbeddingModel embeddingModel,
             RetryTemplate aiRetryTemplate,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            AiMetrics aiMetrics,
+            MetadataFilterCompiler filterCompiler,
+            EntityCacheService entityCacheService,
+            VectorStoreStateTracker stateTracker,
+            InterviewSlotService slotService) {
         this.interviewerRepository = interviewerRepository;
         this.vectorStoreRepository = vectorStoreRepository;
         this.vectorStoreService = vectorStoreService;
         this.embeddingModel = embeddingModel;
         this.aiRetryTemplate = aiRetryTemplate;
+        this.aiMetrics = aiMetrics;
+        this.filterCompiler = filterCompiler;
+        this.entityCacheService = entityCacheService;
+        this.stateTracker = stateTracker;
+        this.slotService = slotService;
        // this.objectMapper = objectMapper;
     }
     
     @Override
     @Transactional
     public InterviewerProfile createInterviewer(InterviewerProfile interviewer) {
-        InterviewerProfile savedInterviewer = interviewerRepository.save(interviewer);
+        // Flush so the slot rows can reference the new profile
+        InterviewerProfile savedInterviewer = interviewerRepository.saveAndFlush(interviewer);
+        entityCacheService.evictInterviewer(savedInterviewer.getId());
+        slotService.syncSlots(savedInterviewer.getId(), savedInterviewer.getAvailability());
         updateVectorStore(savedInterviewer);
         return savedInterviewer;
     }
@@ -89,6 +115,10 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
         }
         
         InterviewerProfile updatedInterviewer = interviewerRepository.save(existingInterviewer);
+        entityCacheService.evictInterviewer(id);
+        if (interviewer.getAvailability() != null) {
+            slotService.syncSlots(id, interviewer.getAvailability());
+        }
         
         // Update vector store
         updateVectorStore(updatedInterviewer);
@@ -116,9 +146,12 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
     public void deleteInterviewer(UUID id) {
         // Delete from vector store first
         vectorStoreRepository.deleteByInterviewerId(id);
+        vectorStoreService.evictProjection(id);
+        stateTracker.recordDelete(VectorStoreStateTracker.Table.INTERVIEWER);
         
         // Then delete the interviewer
         interviewerRepository.deleteById(id);
+        entityCacheService.evictInterviewer(id);
     }
     
     @Override
@@ -162,7 +195,10 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
                 .orElseThrow(() -> new ResourceNotFoundException("Interviewer", "id", id));
         
         interviewer.setAvailability(availability);
-        return interviewerRepository.save(interviewer);
+        InterviewerProfile updatedInterviewer = interviewerRepository.save(interviewer);
+        entityCacheService.evictInterviewer(id);
+        slotService.syncSlots(id, availability);
+        return updatedInterviewer;
     }
     
     @Override
@@ -193,23 +229,18 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
             return findInterviewersBySimilarity(query, limit);
         }
         
+        Filter.Expression filter = filterCompiler.fromMap(filters);
+        
         try {
-            // Generate embedding for the query
-            float[] queryEmbedding = generateEmbedding(query);
-            String vectorString = convertToVectorString(queryEmbedding);
-            
-            // For simplicity, we'll just use the first filter
-            Map.Entry<String, String> firstFilter = filters.entrySet().iterator().next();
-            String metadataKey = firstFilter.getKey();
-            String metadataValue = firstFilter.getValue();
-            
-            // Use the JDBC-based service for similarity search with filter
-            List<InterviewerVectorStore> results = vectorStoreService.findSimilarWithMetadataFilter(
-                    vectorString, metadataKey, metadataValue, limit);
+            // All filters are compiled into the vector query; no similarity floor is applied here
+            InterviewerQueryContext queryContext = vectorStoreService.createQueryContext(query);
+            List<Map<String, Object>> results = vectorStoreService.findSimilarWithScores(
+                    queryContext, filter, -1.0, limit);
             
             // Extract interviewer profiles
             return results.stream()
-                    .map(InterviewerVectorStore::getInterviewer)
+                    .map(result -> (InterviewerProfile) result.get("interviewer"))
+                    .filter(Objects::nonNull)
                     .collect(Collectors.toList());
         } catch (Exception e) {
             logger.error("Error performing similarity search with filters: {}", e.getMessage(), e);
@@ -225,12 +256,15 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
      */
     private void updateVectorStore(InterviewerProfile interviewer) {
         try {
+            // Read before the delete; every rewrite gets the next revision so cached projections of the old entry are replaced
+            long revision = vectorStoreService.nextRevision(interviewer.getId());
+            
             // Delete existing vector store entries for this interviewer
             vectorStoreRepository.deleteByInterviewerId(interviewer.getId());
             
             // Create document for vector store
             String content = createContentForVectorStore(interviewer);
-            Map<String, Object> metadata = createMetadataForVectorStore(interviewer);
+            Map<String, Object> metadata = createMetadataForVectorStore(interviewer, revision);
             
             Document document = new Document(content, metadata);
             
@@ -243,6 +277,7 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
             
             // Save to vector store
             vectorStoreRepository.save(vectorStore);
+            stateTracker.recordInsert(VectorStoreStateTracker.Table.INTERVIEWER);
             
         } catch (Exception e) {
             logger.error("Error updating vector store for interviewer: {}", e.getMessage(), e);
@@ -283,26 +318,11 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
      * Create metadata for the vector store from an interviewer profile.
      * 
      * @param interviewer The interviewer profile
+     * @param revision The revision of the entry, from {@link InterviewerVectorStoreService#nextRevision}
      * @return The metadata for the vector store
      */
-    private Map<String, Object> createMetadataForVectorStore(InterviewerProfile interviewer) {
-        Map<String, Object> metadata = new HashMap<>();
-        
-        metadata.put("interviewerId", interviewer.getId().toString());
-        metadata.put("name", interviewer.getName());
-        metadata.put("email", interviewer.getEmail());
-        metadata.put("experienceYears", interviewer.getExperienceYears());
-        metadata.put("tier", interviewer.getInterviewerTier());
-        
-        if (interviewer.getTechnicalExpertise() != null) {
-            metadata.put("technicalExpertise", interviewer.getTechnicalExpertise());
-        }
-        
-        if (interviewer.getSpecializations() != null) {
-            metadata.put("specializations", interviewer.getSpecializations());
-        }
-        
-        return metadata;
+    private Map<String, Object> createMetadataForVectorStore(InterviewerProfile interviewer, long revision) {
+        return InterviewerMetadata.from(interviewer, revision).toMap();
     }
     
     /**
@@ -314,7 +334,7 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
     private float[] generateEmbedding(String text) {
         return aiRetryTemplate.execute(context -> {
             try {
-                return embeddingModel.embed(text);
+                return aiMetrics.recordEmbedding("interviewer-index", context, () -> embeddingModel.embed(text));
             } catch (Exception e) {
                 logger.error("Error generating embedding: {}", e.getMessage());
                 throw e;
@@ -322,6 +342,7 @@ public class InterviewerProfileServiceImpl implements InterviewerProfileService
         }, context -> {
             // Fallback when all retries fail
             logger.error("All retries failed for embedding generation. Using fallback empty embedding.");
+            aiMetrics.recordEmbeddingFallback("interviewer-index");
             return new float[1536]; // Default embedding dimension
         });
     }
@@ -9,6 +9,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -30,14 +32,16 @@ import org.springframework.retry.support.RetryTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.telus.io.config.ResumeVectorStoreConfig.ResumeVectorStore;
 import com.telus.io.converter.ResumeAnalysisConverter;
-import com.telus.io.model.CandidateEvaluationModel;
 import com.telus.io.model.Resume;
 import com.telus.io.model.ResumeAnalysis;
 import com.telus.io.model.ResumeMatch;
 import com.telus.io.repository.ResumeRepository;
 import com.telus.io.service.CandidateEvaluationService;
+import com.telus.io.service.HedgedAiExecutor;
 import com.telus.io.service.ResumeMatchingService;
+import com.telus.io.util.AiMetrics;
 
 
 
@@ -51,6 +55,16 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
     
     private static final Logger logger = LoggerFactory.getLogger(ResumeMatchingServiceImpl.class);
     
+    private static final String EXPLANATION_OPERATION = "resume-match-explanation";
+    
+    private static final Pattern SCORE_PATTERN = Pattern.compile(
+            "MATCH SCORE:[^\\n]*?(?<labelled>\\d{1,3})\\s*/\\s*100"
+            + "|\\b(?<fraction>\\d{1,3})\\s*/\\s*100\\b"
+            + "|\\b(?<number>\\d{1,3})\\b");
+    
+    // Only resume documents are matched against job descriptions
+    private static final String RESUME_FILTER = "type == 'resume'";
+    
     private VectorStore vectorStore;
     private final ChatModel chatModel;
     private final ResumeRepository resumeRepository;
@@ -58,10 +72,16 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
     private final RetryTemplate aiRetryTemplate;
     private final ResumeAnalysisConverter resumeAnalysisConverter;
     private final CandidateEvaluationService candidateEvaluationService;
+    private final HedgedAiExecutor hedgedAiExecutor;
+    private final AiMetrics aiMetrics;
     
     @Value("${resume.matching.ai-timeout-seconds:30}")
     private int aiOperationTimeoutSeconds;
     
+    // Leave locked resumes out of the search instead of returning them marked as locked
+    @Value("${resume.matching.exclude-locked:false}")
+    private boolean excludeLocked;
+    
 
     @Autowired
     @Qualifier("aiOperationsExecutor")
@@ -74,7 +94,9 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
             @Qualifier("resumeMatchPrompt") String resumeMatchPrompt,
             RetryTemplate aiRetryTemplate,
             ResumeAnalysisConverter resumeAnalysisConverter,
-            CandidateEvaluationService candidateEvaluationService) {
+            CandidateEvaluationService candidateEvaluationService,
+            HedgedAiExecutor hedgedAiExecutor,
+            AiMetrics aiMetrics) {
         this.vectorStore = vectorStore;
         this.chatModel = chatModel;
         this.resumeRepository = resumeRepository;
@@ -82,37 +104,42 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
         this.aiRetryTemplate = aiRetryTemplate;
         this.resumeAnalysisConverter = resumeAnalysisConverter;
         this.candidateEvaluationService = candidateEvaluationService;
+        this.hedgedAiExecutor = hedgedAiExecutor;
+        this.aiMetrics = aiMetrics;
     }
     
     @Override
     public List<ResumeMatch> findMatchingResumes(String jobDescription, int limit) {
         logger.info("Finding resumes matching job description: {}", jobDescription);
-        SearchRequest searchRequest = new SearchRequest.Builder().query(jobDescription).topK(limit).build();
-        
-        // Get all locked evaluations
-        List<CandidateEvaluationModel> lockedEvaluations = candidateEvaluationService.findByLocked(true);
+        SearchRequest searchRequest = new SearchRequest.Builder()
+                .query(jobDescription)
+                .topK(limit)
+                .filterExpression(RESUME_FILTER)
+                .build();
         
-        // Create a set of locked resume IDs for quick lookup
-        Map<UUID,String> lockedResumeIds = new HashMap<UUID,String>();
-        for (CandidateEvaluationModel evaluation : lockedEvaluations) {
-            lockedResumeIds.put(evaluation.getResumeId(),evaluation.getManagerId());
+        // Search for similar resume documents; the type filter and the lock projection are
+        // applied by the vector store
+        List<Document> documents;
+        if (vectorStore instanceof ResumeVectorStore resumeVectorStore) {
+            documents = resumeVectorStore.similaritySearch(searchRequest, excludeLocked);
+        } else {
+            documents = vectorStore.similaritySearch(searchRequest);
         }
         
-        logger.info("Found {} locked resumes", lockedResumeIds.size());
-        
-        // Search for similar documents in the vector store
-        List<Document> documents = vectorStore.similaritySearch(searchRequest);
+        logger.info("Found {} matching documents", documents.size());
         
-        // Filter documents to only include resumes and limit the results
-        documents = documents.stream()
-                .filter(doc -> {
-                    Object type = doc.getMetadata().get("type");
-                    return type != null && type.equals("resume");
-                })
-                //.limit(limit)
-                .collect(Collectors.toList());
+        // Lock owners of the returned resumes, for quick lookup
+        Map<UUID,String> lockedResumeIds = new HashMap<UUID,String>();
+        for (Document document : documents) {
+            Map<String, Object> metadata = document.getMetadata();
+            if (Boolean.TRUE.equals(metadata.get(ResumeVectorStore.LOCKED_METADATA_KEY))) {
+                Object managerId = metadata.get(ResumeVectorStore.LOCKED_BY_METADATA_KEY);
+                lockedResumeIds.put(UUID.fromString(metadata.get("resumeId").toString()),
+                        managerId != null ? managerId.toString() : null);
+            }
+        }
         
-        logger.info("Found {} matching documents", documents.size());
+        logger.info("Found {} locked resumes among the matches", lockedResumeIds.size());
         
         // Process ALL documents in parallel instead of in batches
         List<CompletableFuture<ResumeMatch>> futures = documents.stream()
@@ -297,8 +324,9 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
                                        context.getRetryCount(), resume.getId());
                         }
                         
-                        // Make the AI call
-                        ChatResponse response = chatModel.call(prompt);
+                        // Make the AI call, hedged against slow responses
+                        ChatResponse response = aiMetrics.recordChat(EXPLANATION_OPERATION, context,
+                                () -> hedgedAiExecutor.call(EXPLANATION_OPERATION, () -> chatModel.call(prompt)));
                         
                         
                         AssistantMessage assistantMessage = response.getResult().getOutput();
@@ -310,6 +338,7 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
                         // This is the recovery callback - called when all retries fail
                         logger.error("All async retries failed for resume {}: {}", 
                                    resume.getId(), context.getLastThrowable().getMessage());
+                        aiMetrics.recordChatFallback(EXPLANATION_OPERATION);
                         
                         // Generate fallback explanation
                         return "Unable to generate explanation after multiple attempts. The AI service is currently unavailable. Please try again later.";
@@ -330,6 +359,7 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
                 .exceptionally(ex -> {
                     if (ex instanceof TimeoutException) {
                         logger.error("Timeout generating explanation for resume: {}", resume.getId());
+                        aiMetrics.recordChatTimeout(EXPLANATION_OPERATION);
                         return "Unable to generate explanation due to timeout. The AI service took too long to respond.";
                     } else {
                         logger.error("Error generating explanation for resume: {}", resume.getId(), ex);
@@ -356,40 +386,31 @@ public class ResumeMatchingServiceImpl implements ResumeMatchingService {
             return 0; // Return 0 score for unmatched resumes
         }
         
-        try {
-            // Look for "MATCH SCORE: [X/100]" pattern
-            String[] lines = explanation.split("\n");
-            for (String line : lines) {
-                line = line.trim();
-                if (line.startsWith("MATCH SCORE:") || line.contains("MATCH SCORE:")) {
-                    // Extract the number
-                    String scoreText = line.replaceAll(".*?(\\d+)\\s*/\\s*100.*", "$1");
-                    int score = Integer.parseInt(scoreText);
-                    return score;
-                }
+        // Single pass over the text: an explicit "MATCH SCORE: X/100" wins immediately,
+        // otherwise prefer the first "X/100", then the first standalone number up to 100
+        Matcher matcher = SCORE_PATTERN.matcher(explanation);
+        int outOfHundred = -1;
+        int standalone = -1;
+        while (matcher.find()) {
+            if (matcher.group("labelled") != null) {
+                return Integer.parseInt(matcher.group("labelled"));
             }
-            
-            // If we can't find the specific format, look for any number followed by /100
-            for (String line : lines) {
-                if (line.matches(".*\\b(\\d+)\\s*/\\s*100\\b.*")) {
-                    String scoreText = line.replaceAll(".*?(\\d+)\\s*/\\s*100.*", "$1");
-                    int score = Integer.parseInt(scoreText);
-                    return score;
+            if (matcher.group("fraction") != null) {
+                if (outOfHundred < 0) {
+                    outOfHundred = Integer.parseInt(matcher.group("fraction"));
                 }
-            }
-            
-            // If we still can't find it, look for any number between 0 and 100
-            for (String line : lines) {
-                if (line.matches(".*\\b([0-9]{1,3})\\b.*")) {
-                    String scoreText = line.replaceAll(".*?\\b([0-9]{1,3})\\b.*", "$1");
-                    int score = Integer.parseInt(scoreText);
-                    if (score >= 0 && score <= 100) {
-                        return score;
-                    }
+            } else if (standalone < 0) {
+                int value = Integer.parseInt(matcher.group("number"));
+                if (value <= 100) {
+                    standalone = value;
                 }
             }
-        } catch (Exception e) {
-            logger.warn("Error extracting score from explanation: {}", e.getMessage());
+        }
+        if (outOfHundred >= 0) {
+            return outOfHundred;
+        }
+        if (standalone >= 0) {
+            return standalone;
         }
         
         // Default score if we can't extract it
@@ -7,10 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +19,6 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -31,7 +27,11 @@ import com.telus.io.dto.ResumeParseResult;
 import com.telus.io.dto.SyncResult;
 import com.telus.io.model.Resume;
 import com.telus.io.repository.ResumeRepository;
+import com.telus.io.scheduler.VectorStoreStateTracker;
+import com.telus.io.service.EntityCacheService;
+import com.telus.io.service.ResumeContextCache;
 import com.telus.io.service.ResumeStorageService;
+import com.telus.io.service.SyncProgressListener;
 
 
 
@@ -48,6 +48,9 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
     private final ResumeRepository resumeRepository;
     private final VectorStore vectorStore;
     private final JdbcTemplate jdbcTemplate;
+    private final EntityCacheService entityCacheService;
+    private final VectorStoreStateTracker stateTracker;
+    private final ResumeContextCache resumeContextCache;
     
     @Autowired
     @Qualifier("resumeProcessingExecutor")
@@ -57,10 +60,16 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
             ResumeRepository resumeRepository,
             @Qualifier("resumeVectorStore") VectorStore vectorStore,
             EmbeddingModel embeddingModel,
-            JdbcTemplate jdbcTemplate) {
+            JdbcTemplate jdbcTemplate,
+            EntityCacheService entityCacheService,
+            VectorStoreStateTracker stateTracker,
+            ResumeContextCache resumeContextCache) {
         this.resumeRepository = resumeRepository;
         this.vectorStore = vectorStore;
         this.jdbcTemplate = jdbcTemplate;
+        this.entityCacheService = entityCacheService;
+        this.stateTracker = stateTracker;
+        this.resumeContextCache = resumeContextCache;
     }
     
     @Override
@@ -81,6 +90,7 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
         // Then try to delete from vector store (outside the database transaction)
         try {
             vectorStore.delete(List.of(id.toString()));
+            resumeContextCache.evict(id);
             logger.info("Deleted resume from vector store: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting resume from vector store: {}", id, e);
@@ -99,6 +109,7 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
         try {
             // Delete from database
             resumeRepository.deleteById(id);
+            entityCacheService.evictResume(id);
             logger.info("Deleted resume from database: {}", id);
         } catch (Exception e) {
             logger.error("Error deleting resume from database: {}", id, e);
@@ -141,6 +152,7 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
             Document document = new Document(resume.getFullText(), metadata);
             
             vectorStore.add(List.of(document));
+            resumeContextCache.evict(resume.getId());
             
             logger.info("Saved resume to vector store: {}", resume.getId());
         } catch (Exception e) {
@@ -151,137 +163,70 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
     
     @Override
     public SyncResult synchronizeVectorStore() {
-        logger.info("Starting vector store synchronization");
+        return synchronizeShard(0, 1, SyncProgressListener.NONE);
+    }
+    
+    @Override
+    public SyncResult synchronizeShard(int shard, int shardCount, SyncProgressListener listener) {
+        logger.info("Starting vector store synchronization of shard {} of {}", shard + 1, shardCount);
         
-        AtomicInteger duplicatesRemoved = new AtomicInteger(0);
-        AtomicInteger missingAdded = new AtomicInteger(0);
-        AtomicInteger orphansRemoved = new AtomicInteger(0);
+        // Duplicates: keep one entry per resume
+        int duplicatesRemoved = jdbcTemplate.update(
+            "DELETE FROM resume_vector_store v USING (" +
+            "  SELECT id, row_number() OVER (PARTITION BY resume_id ORDER BY id) AS rn FROM resume_vector_store " +
+            "  WHERE " + shardCondition("resume_id") +
+            ") d WHERE v.id = d.id AND d.rn > 1",
+            shardCount, shard);
         
-        try {
-            // Step 1: Get all resume IDs from the database (our source of truth)
-            List<UUID> dbResumeIds = resumeRepository.findAllIds();
-            logger.info("Found {} resumes in database", dbResumeIds.size());
-            
-            // Step 2: Process resumes in parallel
-            List<CompletableFuture<Void>> futures = dbResumeIds.stream()
-                    .map(resumeId -> processResumeAsync(resumeId, duplicatesRemoved, missingAdded))
-                    .collect(Collectors.toList());
-            
-            // Wait for all futures to complete
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-            
-            // Step 3: Find orphaned entries (can be done after all resumes are processed)
-            orphansRemoved.set(removeOrphanedEntries(dbResumeIds));
-            
-        } catch (Exception e) {
-            logger.error("Error during vector store synchronization", e);
-        }
+        // Orphans: entries whose resume no longer exists
+        int orphansRemoved = jdbcTemplate.update(
+            "DELETE FROM resume_vector_store v WHERE " + shardCondition("v.resume_id") +
+            " AND NOT EXISTS (SELECT 1 FROM resumes r WHERE r.id = v.resume_id)",
+            shardCount, shard);
         
-        logger.info("Vector store synchronization completed: {} duplicates removed, {} missing added, {} orphans removed",
-                duplicatesRemoved.get(), missingAdded.get(), orphansRemoved.get());
-        
-        return new SyncResult(duplicatesRemoved.get(), missingAdded.get(), orphansRemoved.get());
-    }
-    
-    /**
-     * Process a resume asynchronously during synchronization.
-     * 
-     * @param resumeId The ID of the resume to process
-     * @param duplicatesRemoved Counter for duplicates removed
-     * @param missingAdded Counter for missing entries added
-     * @return A CompletableFuture that will complete when the processing is done
-     */
-    @Async("resumeProcessingExecutor")
-    public CompletableFuture<Void> processResumeAsync(UUID resumeId, AtomicInteger duplicatesRemoved, AtomicInteger missingAdded) {
-        try {
-            // Find all entries in vector store for this resume ID
-            List<String> vectorEntries = findVectorEntriesByResumeId(resumeId.toString());
-            
-            if (vectorEntries.isEmpty()) {
-                // Case: Missing in vector store - add it
-                resumeRepository.findById(resumeId).ifPresent(resume -> {
-                    saveToVectorStore(resume);
-                    logger.info("Added missing vector entry for resume: {}", resumeId);
-                    missingAdded.incrementAndGet();
-                });
-            } else if (vectorEntries.size() > 1) {
-                // Case: Duplicates in vector store - keep only the first one
-                // Delete all except the first entry
-                for (int i = 1; i < vectorEntries.size(); i++) {
-                    // Delete the duplicate entry directly from the database
-                    jdbcTemplate.update(
-                        "DELETE FROM resume_vector_store WHERE id = ?::uuid",
-                        UUID.fromString(vectorEntries.get(i))
-                    );
-                    logger.info("Removed duplicate vector entry for resume: {}", resumeId);
-                    duplicatesRemoved.incrementAndGet();
-                }
-            }
-            // Case: Exactly one entry - this is correct, do nothing
-        } catch (Exception e) {
-            logger.error("Error processing resume ID: {}", resumeId, e);
+        if (duplicatesRemoved + orphansRemoved > 0) {
+            stateTracker.recordDelete(VectorStoreStateTracker.Table.RESUME);
         }
         
-        return CompletableFuture.completedFuture(null);
-    }
-    
-    /**
-     * Remove orphaned entries from the vector store.
-     * 
-     * @param dbResumeIds List of valid resume IDs from the database
-     * @return Number of orphaned entries removed
-     */
-    private int removeOrphanedEntries(List<UUID> dbResumeIds) {
-        AtomicInteger orphansRemoved = new AtomicInteger(0);
-        
-        List<String> allVectorResumeIds = getAllVectorResumeIds();
-        for (String vectorResumeId : allVectorResumeIds) {
-            try {
-                UUID resumeId = UUID.fromString(vectorResumeId);
-                if (!dbResumeIds.contains(resumeId)) {
-                    // This is an orphaned entry - delete it
-                    jdbcTemplate.update(
-                        "DELETE FROM resume_vector_store WHERE resume_id = ?::uuid",
-                        resumeId
-                    );
-                    logger.info("Removed orphaned vector entry: {}", vectorResumeId);
-                    orphansRemoved.incrementAndGet();
-                }
-            } catch (IllegalArgumentException e) {
-                // Not a valid UUID, could be another type of document
-                logger.warn("Found non-UUID resume ID in vector store: {}", vectorResumeId);
+        // Missing: resumes without an entry
+        Integer total = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM resumes r WHERE " + shardCondition("r.id"),
+            Integer.class, shardCount, shard);
+        List<UUID> missingIds = jdbcTemplate.queryForList(
+            "SELECT r.id FROM resumes r WHERE " + shardCondition("r.id") +
+            " AND NOT EXISTS (SELECT 1 FROM resume_vector_store v WHERE v.resume_id = r.id)",
+            UUID.class, shardCount, shard);
+        int shardTotal = Math.max(total != null ? total : 0, missingIds.size());
+        int processed = shardTotal - missingIds.size();
+        int missingAdded = 0;
+        boolean proceed = listener.onProgress(processed, shardTotal, missingAdded);
+        for (int i = 0; proceed && i < missingIds.size(); i++) {
+            UUID resumeId = missingIds.get(i);
+            Optional<Resume> resume = resumeRepository.findById(resumeId);
+            if (resume.isPresent()) {
+                saveToVectorStore(resume.get());
+                logger.info("Added missing vector entry for resume: {}", resumeId);
+                missingAdded++;
             }
+            proceed = listener.onProgress(++processed, shardTotal, missingAdded);
+        }
+        if (!proceed) {
+            logger.info("Vector store synchronization of shard {} of {} stopped after {} of {} resumes",
+                    shard + 1, shardCount, processed, shardTotal);
         }
         
-        return orphansRemoved.get();
-    }
-    
-    /**
-     * Find all vector store entries for a specific resume ID.
-     * 
-     * @param resumeId The resume ID to search for
-     * @return A list of vector store entry IDs
-     */
-    private List<String> findVectorEntriesByResumeId(String resumeId) {
-        // Direct SQL query to find entries with the specified resume ID
-        return jdbcTemplate.queryForList(
-            "SELECT id::text FROM resume_vector_store WHERE resume_id = ?::uuid",
-            String.class,
-            resumeId
-        );
+        logger.info("Vector store synchronization of shard {} of {} completed: {} duplicates removed, {} missing added, {} orphans removed",
+                shard + 1, shardCount, duplicatesRemoved, missingAdded, orphansRemoved);
+        
+        return new SyncResult(duplicatesRemoved, missingAdded, orphansRemoved);
     }
     
     /**
-     * Get all resume IDs from the vector store.
-     * 
-     * @return A list of all resume IDs in the vector store
+     * SQL condition selecting the rows of one shard: resume IDs are divided by a
+     * non-negative hash, with the shard count and shard index bound as parameters.
      */
-    private List<String> getAllVectorResumeIds() {
-        // Direct SQL query to get all resume IDs
-        return jdbcTemplate.queryForList(
-            "SELECT resume_id::text FROM resume_vector_store",
-            String.class
-        );
+    private static String shardCondition(String resumeIdColumn) {
+        return "mod(hashtext(" + resumeIdColumn + "::text) & 2147483647, ?) = ?";
     }
 
     @Override
@@ -320,7 +265,9 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
             resume.setUpdatedAt(LocalDateTime.now());
             
             // Save to database
-            return resumeRepository.save(resume);
+            Resume savedResume = resumeRepository.save(resume);
+            entityCacheService.evictResume(savedResume.getId());
+            return savedResume;
         } else {
             // Create new resume
             Resume resume = new Resume(
@@ -370,6 +317,8 @@ public class ResumeStorageServiceImpl implements ResumeStorageService {
 	        resume.setUpdatedAt(LocalDateTime.now());
 	        
 	        // Save to database
-	        return resumeRepository.save(resume);
+	        Resume savedResume = resumeRepository.save(resume);
+	        entityCacheService.evictResume(id);
+	        return savedResume;
 	    }
 }
@@ -0,0 +1,294 @@
+package com.telus.io.util;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.RetryContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer instrumentation for the AI, vector search and caching hot paths.
+ *
+ * Meters exposed (all with percentile histograms where they are timers):
+ * <ul>
+ *   <li>ai.chat.requests / ai.embedding.requests - one sample per attempt, tagged
+ *       operation, model and outcome (success, retry, error)</li>
+ *   <li>ai.chat.degraded / ai.embedding.degraded - calls that ended in a fallback or timeout</li>
+ *   <li>ai.chat.tokens - tokens in and out, tagged operation, model and direction</li>
+ *   <li>ai.chat.first-token - time to first token of streamed chat calls</li>
+ *   <li>vector.search and vector.search.rows - vector query latency and rows returned</li>
+ *   <li>ai.parse.failures - structured output that could not be parsed, tagged stage</li>
+ *   <li>ai.parse.repairs - structured output parsed, tagged stage and repair path</li>
+ *   <li>app.cache.requests - cache lookups tagged cache and result (hit, miss)</li>
+ *   <li>interviewer.match.stage - latency of each stage of a matching request</li>
+ * </ul>
+ */
+@Component
+public class AiMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_RETRY = "retry";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_FALLBACK = "fallback";
+    public static final String OUTCOME_TIMEOUT = "timeout";
+
+    private static final String KIND_CHAT = "chat";
+    private static final String KIND_EMBEDDING = "embedding";
+
+    private final MeterRegistry registry;
+
+    @Value("${spring.ai.openai.chat.options.model:unknown}")
+    private String defaultChatModel;
+
+    @Value("${spring.ai.openai.embedding.options.model:unknown}")
+    private String defaultEmbeddingModel;
+
+    public AiMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Time one chat attempt. The outcome is "retry" when a retried attempt succeeds.
+     * Token usage is recorded when the call returns a ChatResponse.
+     *
+     * @param operation The logical operation, e.g. "resume-match-explanation"
+     * @param context The retry context of the enclosing RetryTemplate, may be null
+     * @param call The chat call
+     * @return The call's result
+     */
+    public <T> T recordChat(String operation, RetryContext context, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            String model = defaultChatModel;
+            if (result instanceof ChatResponse response) {
+                model = recordTokens(operation, response);
+            }
+            requestTimer(KIND_CHAT, operation, model, successOutcome(context)).record(System.nanoTime() - start,
+                    TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            requestTimer(KIND_CHAT, operation, defaultChatModel, OUTCOME_ERROR).record(System.nanoTime() - start,
+                    TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Time one embedding attempt.
+     *
+     * @param operation The logical operation, e.g. "resume-index"
+     * @param context The retry context of the enclosing RetryTemplate, may be null
+     * @param call The embedding call
+     * @return The call's result
+     */
+    public <T> T recordEmbedding(String operation, RetryContext context, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            requestTimer(KIND_EMBEDDING, operation, defaultEmbeddingModel, successOutcome(context))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            requestTimer(KIND_EMBEDDING, operation, defaultEmbeddingModel, OUTCOME_ERROR)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    /**
+     * Count a chat operation that returned a fallback answer instead of a model response.
+     */
+    public void recordChatFallback(String operation) {
+        degradedCounter(KIND_CHAT, operation, OUTCOME_FALLBACK).increment();
+    }
+
+    /**
+     * Count a chat operation that was abandoned because it exceeded its timeout.
+     */
+    public void recordChatTimeout(String operation) {
+        degradedCounter(KIND_CHAT, operation, OUTCOME_TIMEOUT).increment();
+    }
+
+    /**
+     * Count an embedding operation that fell back to a placeholder vector.
+     */
+    public void recordEmbeddingFallback(String operation) {
+        degradedCounter(KIND_EMBEDDING, operation, OUTCOME_FALLBACK).increment();
+    }
+
+    /**
+     * Record the time from starting a streamed chat call to its first token.
+     *
+     * @param operation The logical operation, e.g. "resume-chat-stream"
+     * @param nanos The time to first token in nanoseconds
+     */
+    public void recordFirstToken(String operation, long nanos) {
+        Timer.builder("ai.chat.first-token")
+                .description("Time to first token of streamed chat calls")
+                .tag("operation", operation)
+                .tag("model", defaultChatModel)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time a vector similarity query and record how many rows it returned.
+     *
+     * @param store The vector store, e.g. "resume" or "interviewer"
+     * @param query The query variant, e.g. "similar-with-scores"
+     * @param search The query
+     * @return The query's results
+     */
+    public <T extends Collection<?>> T recordVectorSearch(String store, String query, Supplier<T> search) {
+        Timer.Sample sample = Timer.start(registry);
+        T results = search.get();
+        sample.stop(Timer.builder("vector.search")
+                .description("Vector similarity query latency")
+                .tag("store", store)
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(registry));
+        DistributionSummary.builder("vector.search.rows")
+                .description("Rows returned by vector similarity queries")
+                .tag("store", store)
+                .tag("query", query)
+                .register(registry)
+                .record(results != null ? results.size() : 0);
+        return results;
+    }
+
+    /**
+     * Count a structured AI response that could not be parsed.
+     *
+     * @param stage Where the failure happened, e.g. "resume-analysis"
+     */
+    public void recordParseFailure(String stage) {
+        Counter.builder("ai.parse.failures")
+                .description("AI responses that could not be parsed into the expected structure")
+                .tag("stage", stage)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Count a structured AI response that was parsed, tagged by the repairs it needed.
+     *
+     * @param stage Where the parse happened, e.g. "resume-analysis"
+     * @param repairPath The repairs applied, or "none"
+     */
+    public void recordParseRepair(String stage, String repairPath) {
+        Counter.builder("ai.parse.repairs")
+                .description("AI responses parsed successfully, by the repairs that were needed")
+                .tag("stage", stage)
+                .tag("path", repairPath)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Count a cache lookup.
+     *
+     * @param cache The cache name
+     * @param hit Whether the lookup was served from the cache
+     */
+    public void recordCacheAccess(String cache, boolean hit) {
+        Counter.builder("app.cache.requests")
+                .description("Application cache lookups")
+                .tag("cache", cache)
+                .tag("result", hit ? "hit" : "miss")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Start timing a stage of a matching request.
+     *
+     * @return A sample to pass to {@link #stopStage}
+     */
+    public Timer.Sample startStage() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * Stop timing a stage of a matching request.
+     *
+     * @param sample The sample returned by {@link #startStage}
+     * @param flow The request flow, e.g. "job-description"
+     * @param stage The stage within the flow, e.g. "candidate-search"
+     */
+    public void stopStage(Timer.Sample sample, String flow, String stage) {
+        sample.stop(Timer.builder("interviewer.match.stage")
+                .description("Latency of each stage of an interviewer matching request")
+                .tag("flow", flow)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    /**
+     * Record prompt and completion tokens from a chat response.
+     *
+     * @return The model reported by the response, or the configured default
+     */
+    private String recordTokens(String operation, ChatResponse response) {
+        ChatResponseMetadata metadata = response.getMetadata();
+        if (metadata == null) {
+            return defaultChatModel;
+        }
+        String model = metadata.getModel() != null && !metadata.getModel().isEmpty()
+                ? metadata.getModel() : defaultChatModel;
+        Usage usage = metadata.getUsage();
+        if (usage != null) {
+            tokenCounter(operation, model, "input").increment(nonNull(usage.getPromptTokens()));
+            tokenCounter(operation, model, "output").increment(nonNull(usage.getCompletionTokens()));
+        }
+        return model;
+    }
+
+    private String successOutcome(RetryContext context) {
+        return context != null && context.getRetryCount() > 0 ? OUTCOME_RETRY : OUTCOME_SUCCESS;
+    }
+
+    private Timer requestTimer(String kind, String operation, String model, String outcome) {
+        return Timer.builder("ai." + kind + ".requests")
+                .description("AI " + kind + " call latency per attempt")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter degradedCounter(String kind, String operation, String outcome) {
+        return Counter.builder("ai." + kind + ".degraded")
+                .description("AI " + kind + " operations that ended in a fallback or timeout")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Counter tokenCounter(String operation, String model, String direction) {
+        return Counter.builder("ai.chat.tokens")
+                .description("Tokens sent to and received from the chat model")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    private static double nonNull(Integer value) {
+        return value != null ? value : 0;
+    }
+}
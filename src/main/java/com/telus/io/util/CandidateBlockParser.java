@@ -0,0 +1,129 @@
+package com.telus.io.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for generated candidate profiles in the format
+ *
+ * <pre>
+ * CANDIDATE START
+ * NAME: ...
+ * EMAIL: ...
+ * PHONE: ...
+ * SUMMARY: ...
+ * SKILLS: ...
+ * EXPERIENCE: ...
+ * CANDIDATE END
+ * </pre>
+ *
+ * Text is fed in chunks as it is streamed from the model, and each block is
+ * returned as soon as its end marker arrives. Each block is read once, line by
+ * line; lines without a field label continue the previous field. Not thread
+ * safe: use one parser per response.
+ */
+public class CandidateBlockParser {
+
+    public static final String START_MARKER = "CANDIDATE START";
+    public static final String END_MARKER = "CANDIDATE END";
+
+    /**
+     * The fields of one candidate block. Missing fields are empty strings.
+     */
+    public record CandidateBlock(String name, String email, String phone, String summary, String skills,
+            String experience) {
+    }
+
+    private final StringBuilder buffer = new StringBuilder();
+    // Where to resume searching for the end marker, so a block is not rescanned for every chunk
+    private int scanFrom;
+
+    /**
+     * Add a chunk of text and return the blocks it completed.
+     *
+     * @param chunk The next chunk of the response
+     * @return The completed blocks, possibly none
+     */
+    public List<CandidateBlock> feed(String chunk) {
+        buffer.append(chunk);
+        List<CandidateBlock> blocks = new ArrayList<>();
+        int end;
+        while ((end = buffer.indexOf(END_MARKER, scanFrom)) >= 0) {
+            CandidateBlock block = parseBlock(buffer.substring(0, end));
+            if (block != null) {
+                blocks.add(block);
+            }
+            buffer.delete(0, end + END_MARKER.length());
+            scanFrom = 0;
+        }
+        // The end marker may be split across chunks
+        scanFrom = Math.max(0, buffer.length() - END_MARKER.length() + 1);
+        return blocks;
+    }
+
+    /**
+     * Return the last block if the response ended without its end marker.
+     *
+     * @return The block, or an empty list if there was none
+     */
+    public List<CandidateBlock> finish() {
+        CandidateBlock block = parseBlock(buffer.toString());
+        buffer.setLength(0);
+        scanFrom = 0;
+        return block != null ? List.of(block) : List.of();
+    }
+
+    private static CandidateBlock parseBlock(String text) {
+        int start = text.lastIndexOf(START_MARKER);
+        if (start >= 0) {
+            text = text.substring(start + START_MARKER.length());
+        }
+
+        StringBuilder[] fields = new StringBuilder[Field.values().length];
+        Field current = null;
+        for (String line : text.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Field labelled = Field.of(trimmed);
+            if (labelled != null) {
+                current = labelled;
+                fields[current.ordinal()] = new StringBuilder(trimmed.substring(current.label.length()).trim());
+            } else if (current != null) {
+                fields[current.ordinal()].append(' ').append(trimmed);
+            }
+        }
+
+        if (fields[Field.NAME.ordinal()] == null || fields[Field.NAME.ordinal()].isEmpty()) {
+            return null;
+        }
+        return new CandidateBlock(value(fields, Field.NAME), value(fields, Field.EMAIL), value(fields, Field.PHONE),
+                value(fields, Field.SUMMARY), value(fields, Field.SKILLS), value(fields, Field.EXPERIENCE));
+    }
+
+    private static String value(StringBuilder[] fields, Field field) {
+        StringBuilder value = fields[field.ordinal()];
+        return value != null ? value.toString() : "";
+    }
+
+    private enum Field {
+        NAME("NAME:"), EMAIL("EMAIL:"), PHONE("PHONE:"), SUMMARY("SUMMARY:"), SKILLS("SKILLS:"),
+        EXPERIENCE("EXPERIENCE:");
+
+        private final String label;
+
+        Field(String label) {
+            this.label = label;
+        }
+
+        static Field of(String line) {
+            for (Field field : values()) {
+                if (line.startsWith(field.label)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.telus.io.util;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -67,6 +71,34 @@ public class EntityComparisonUtils {
         existingCollection.addAll(toAdd);
     }
     
+    /**
+     * Computes a SHA-256 content hash of an entity's fields, so a stored hash can
+     * be compared instead of loading and diffing the entity. Collections are
+     * hashed in sorted order, consistent with {@link #areCollectionsEqual}
+     * ignoring order.
+     * 
+     * @param parts The field values, in a fixed order; null is allowed
+     * @return The hash as 64 hex characters
+     */
+    public static String contentHash(Object... parts) {
+        StringBuilder canonical = new StringBuilder();
+        for (Object part : parts) {
+            if (part instanceof Collection<?> collection) {
+                collection.stream().map(String::valueOf).sorted()
+                        .forEach(item -> canonical.append(item).append('\u001e'));
+            } else {
+                canonical.append(part);
+            }
+            canonical.append('\u001f');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
     /**
      * Private constructor to prevent instantiation of utility class.
      */
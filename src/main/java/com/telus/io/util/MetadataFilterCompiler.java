@@ -0,0 +1,306 @@
+package com.telus.io.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.Filter.ExpressionType;
+import org.springframework.ai.vectorstore.filter.FilterExpressionTextParser;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compiles metadata filters into a parameterized SQL predicate over a jsonb
+ * metadata column, so filtering happens inside the vector query instead of
+ * in Java after over-fetching.
+ *
+ * The predicate does not make the ANN index filter-aware: an ivfflat scan
+ * only returns candidates from the probed lists and the predicate is applied
+ * to those afterwards. Callers that need limit rows from a filtered query sort
+ * the matching rows exactly instead (see
+ * InterviewerVectorStoreService#findSimilarWithScores), which can use the
+ * metadata indexes.
+ *
+ * Filters come either from a simple key/value map or from the Spring AI filter
+ * expression language, e.g.
+ * {@code experienceYears >= 5 && tier in [1, 2] && (technicalExpertise == 'Java' || specializations == 'Cloud')}.
+ *
+ * Equality and IN compile to jsonb containment ({@code @>}) so they can use a GIN
+ * index; on array fields such as technicalExpertise, equality means "the array
+ * contains the value". Range comparisons compile to numeric casts, with the key
+ * inlined for the known numeric fields so the expression indexes on
+ * interviewer_vector_store apply.
+ */
+@Component
+public class MetadataFilterCompiler {
+
+    private static final Set<String> ARRAY_KEYS = Set.of("technicalExpertise", "specializations");
+    private static final Set<String> NUMERIC_KEYS = Set.of("experienceYears", "tier", "schemaVersion", "revision");
+
+    private final ObjectMapper objectMapper;
+
+    public MetadataFilterCompiler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A compiled SQL predicate and its positional parameters.
+     */
+    public record CompiledFilter(String sql, List<Object> params) {
+
+        public static final CompiledFilter EMPTY = new CompiledFilter("", List.of());
+
+        public boolean isEmpty() {
+            return sql.isEmpty();
+        }
+    }
+
+    /**
+     * Parse a filter expression in the Spring AI filter language.
+     *
+     * @param text The expression text (may be null or blank)
+     * @return The parsed expression, or null if there is no text
+     * @throws IllegalArgumentException if the text is not a valid expression
+     */
+    public Filter.Expression parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return new FilterExpressionTextParser().parse(text);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid filter expression: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build an expression from a key/value map, combining the entries with AND.
+     * A comma-separated value means "any of"; numeric fields also accept a
+     * leading comparison operator ({@code >=5}, {@code <10}) or a range ({@code 3..8}).
+     *
+     * @param filters The filters (may be null or empty)
+     * @return The expression, or null if there are no filters
+     */
+    public Filter.Expression fromMap(Map<String, String> filters) {
+        Filter.Expression result = null;
+        if (filters == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : filters.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            result = and(result, entryExpression(entry.getKey(), entry.getValue().trim()));
+        }
+        return result;
+    }
+
+    /**
+     * Combine two expressions with AND, either of which may be null.
+     */
+    public static Filter.Expression and(Filter.Expression left, Filter.Expression right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        return new Filter.Expression(ExpressionType.AND, left, right);
+    }
+
+    /**
+     * Compile an expression into a SQL predicate over the given jsonb column.
+     *
+     * @param expression The expression (may be null)
+     * @param column The jsonb column, e.g. "ivs.metadata"
+     * @return The compiled predicate, or {@link CompiledFilter#EMPTY} if there is no expression
+     */
+    public CompiledFilter compile(Filter.Expression expression, String column) {
+        if (expression == null) {
+            return CompiledFilter.EMPTY;
+        }
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        appendOperand(expression, column, sql, params);
+        return new CompiledFilter(sql.toString(), params);
+    }
+
+    private Filter.Expression entryExpression(String key, String value) {
+        if (NUMERIC_KEYS.contains(key)) {
+            int range = value.indexOf("..");
+            if (range > 0) {
+                return new Filter.Expression(ExpressionType.AND,
+                        comparison(ExpressionType.GTE, key, value.substring(0, range)),
+                        comparison(ExpressionType.LTE, key, value.substring(range + 2)));
+            }
+            for (String operator : new String[] { ">=", "<=", ">", "<" }) {
+                if (value.startsWith(operator)) {
+                    ExpressionType type = switch (operator) {
+                        case ">=" -> ExpressionType.GTE;
+                        case "<=" -> ExpressionType.LTE;
+                        case ">" -> ExpressionType.GT;
+                        default -> ExpressionType.LT;
+                    };
+                    return comparison(type, key, value.substring(operator.length()));
+                }
+            }
+        }
+
+        if (value.indexOf(',') >= 0) {
+            List<Object> values = new ArrayList<>();
+            for (String part : value.split(",")) {
+                if (!part.isBlank()) {
+                    values.add(typedValue(key, part.trim()));
+                }
+            }
+            return new Filter.Expression(ExpressionType.IN, new Filter.Key(key), new Filter.Value(values));
+        }
+        return new Filter.Expression(ExpressionType.EQ, new Filter.Key(key), new Filter.Value(typedValue(key, value)));
+    }
+
+    private Filter.Expression comparison(ExpressionType type, String key, String value) {
+        return new Filter.Expression(type, new Filter.Key(key), new Filter.Value(typedValue(key, value.trim())));
+    }
+
+    private Object typedValue(String key, String value) {
+        if (NUMERIC_KEYS.contains(key)) {
+            try {
+                return value.contains(".") ? Double.parseDouble(value) : Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Filter value for " + key + " must be numeric: " + value);
+            }
+        }
+        return value;
+    }
+
+    private void appendOperand(Filter.Operand operand, String column, StringBuilder sql, List<Object> params) {
+        if (operand instanceof Filter.Group group) {
+            appendOperand(group.content(), column, sql, params);
+            return;
+        }
+        if (!(operand instanceof Filter.Expression expression)) {
+            throw new IllegalArgumentException("Unsupported filter operand: " + operand);
+        }
+
+        switch (expression.type()) {
+            case AND, OR -> {
+                sql.append('(');
+                appendOperand(expression.left(), column, sql, params);
+                sql.append(expression.type() == ExpressionType.AND ? " AND " : " OR ");
+                appendOperand(expression.right(), column, sql, params);
+                sql.append(')');
+            }
+            case NOT -> {
+                sql.append("NOT (");
+                appendOperand(expression.left(), column, sql, params);
+                sql.append(')');
+            }
+            case EQ -> appendContainment(key(expression), value(expression), column, sql, params);
+            case NE -> {
+                sql.append("NOT (");
+                appendContainment(key(expression), value(expression), column, sql, params);
+                sql.append(')');
+            }
+            case IN, NIN -> {
+                Collection<?> values = values(expression);
+                if (expression.type() == ExpressionType.NIN) {
+                    sql.append("NOT ");
+                }
+                if (values.isEmpty()) {
+                    sql.append("(FALSE)");
+                    return;
+                }
+                sql.append('(');
+                boolean first = true;
+                for (Object value : values) {
+                    if (!first) {
+                        sql.append(" OR ");
+                    }
+                    appendContainment(key(expression), value, column, sql, params);
+                    first = false;
+                }
+                sql.append(')');
+            }
+            case GT, GTE, LT, LTE -> appendRange(expression, column, sql, params);
+            default -> throw new IllegalArgumentException("Unsupported filter operator: " + expression.type());
+        }
+    }
+
+    private void appendContainment(String key, Object value, String column, StringBuilder sql, List<Object> params) {
+        Object json = ARRAY_KEYS.contains(key) && !(value instanceof Collection) ? List.of(value) : value;
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put(key, json);
+        sql.append(column).append(" @> ?::jsonb");
+        params.add(toJson(document));
+    }
+
+    private void appendRange(Filter.Expression expression, String column, StringBuilder sql, List<Object> params) {
+        String key = key(expression);
+        Object value = value(expression);
+        if (!(value instanceof Number)) {
+            value = typedValue(NUMERIC_KEYS.contains(key) ? key : "experienceYears", String.valueOf(value));
+        }
+
+        String operator = switch (expression.type()) {
+            case GT -> ">";
+            case GTE -> ">=";
+            case LT -> "<";
+            default -> "<=";
+        };
+
+        if (NUMERIC_KEYS.contains(key)) {
+            // Known key: inline it so the expression indexes on these fields apply
+            sql.append('(').append(column).append("->>'").append(key).append("')::numeric ");
+        } else {
+            sql.append('(').append(column).append("->>?)::numeric ");
+            params.add(key);
+        }
+        sql.append(operator).append(" ?");
+        params.add(value);
+    }
+
+    private static String key(Filter.Expression expression) {
+        if (!(expression.left() instanceof Filter.Key key)) {
+            throw new IllegalArgumentException("Filter comparison must start with a key: " + expression);
+        }
+        String name = key.key();
+        // The text parser keeps quotes around quoted identifiers
+        if (name.length() > 1 && (name.startsWith("\"") || name.startsWith("'"))) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name;
+    }
+
+    private static Object value(Filter.Expression expression) {
+        if (!(expression.right() instanceof Filter.Value value)) {
+            throw new IllegalArgumentException("Filter comparison must have a value: " + expression);
+        }
+        return value.value();
+    }
+
+    private static Collection<?> values(Filter.Expression expression) {
+        Object value = value(expression);
+        if (value instanceof Collection<?> collection) {
+            return collection;
+        }
+        if (value instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        return List.of(value);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Filter value cannot be encoded as JSON: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.telus.io.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Minimum-cost maximum-flow solver over a directed graph with integer
+ * capacities and non-negative integer costs.
+ *
+ * Uses successive shortest augmenting paths with Dijkstra and node potentials,
+ * so each augmentation is O(E log V). Intended for assignment problems of a few
+ * thousand edges, such as matching candidates to interviewer slots.
+ */
+public class MinCostFlow {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final int nodeCount;
+    private final List<List<Integer>> adjacency;
+    private final List<int[]> edges = new ArrayList<>();   // {to, capacity}
+    private final List<Long> costs = new ArrayList<>();
+
+    /**
+     * Create an empty graph.
+     *
+     * @param nodeCount The number of nodes, numbered from 0
+     */
+    public MinCostFlow(int nodeCount) {
+        this.nodeCount = nodeCount;
+        this.adjacency = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            adjacency.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Add a directed edge.
+     *
+     * @param from The source node
+     * @param to The target node
+     * @param capacity The edge capacity
+     * @param cost The cost per unit of flow, must not be negative
+     * @return The edge ID, for reading its flow with {@link #flow(int)}
+     */
+    public int addEdge(int from, int to, int capacity, long cost) {
+        if (cost < 0) {
+            throw new IllegalArgumentException("Edge cost must not be negative: " + cost);
+        }
+        int id = edges.size();
+        edges.add(new int[] { to, capacity });
+        costs.add(cost);
+        adjacency.get(from).add(id);
+        // Residual edge
+        edges.add(new int[] { from, 0 });
+        costs.add(-cost);
+        adjacency.get(to).add(id + 1);
+        return id;
+    }
+
+    /**
+     * Get the flow on an edge after {@link #solve}.
+     *
+     * @param edgeId The edge ID returned by {@link #addEdge}
+     * @return The flow on the edge
+     */
+    public int flow(int edgeId) {
+        return edges.get(edgeId ^ 1)[1];
+    }
+
+    /**
+     * Push as much flow as possible from source to sink at minimum total cost.
+     *
+     * @param source The source node
+     * @param sink The sink node
+     * @return {flow, cost}
+     */
+    public long[] solve(int source, int sink) {
+        long[] potential = new long[nodeCount];
+        long[] distance = new long[nodeCount];
+        int[] previousEdge = new int[nodeCount];
+        long totalFlow = 0;
+        long totalCost = 0;
+
+        while (true) {
+            Arrays.fill(distance, INF);
+            Arrays.fill(previousEdge, -1);
+            distance[source] = 0;
+            PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+            queue.add(new long[] { 0, source });
+
+            while (!queue.isEmpty()) {
+                long[] head = queue.poll();
+                int node = (int) head[1];
+                if (head[0] > distance[node]) {
+                    continue;
+                }
+                for (int edgeId : adjacency.get(node)) {
+                    int[] edge = edges.get(edgeId);
+                    if (edge[1] <= 0) {
+                        continue;
+                    }
+                    long reduced = distance[node] + costs.get(edgeId) + potential[node] - potential[edge[0]];
+                    if (reduced < distance[edge[0]]) {
+                        distance[edge[0]] = reduced;
+                        previousEdge[edge[0]] = edgeId;
+                        queue.add(new long[] { reduced, edge[0] });
+                    }
+                }
+            }
+
+            if (distance[sink] >= INF) {
+                break;
+            }
+            for (int i = 0; i < nodeCount; i++) {
+                if (distance[i] < INF) {
+                    potential[i] += distance[i];
+                }
+            }
+
+            // Bottleneck capacity along the path
+            int push = Integer.MAX_VALUE;
+            for (int node = sink; node != source; node = edges.get(previousEdge[node] ^ 1)[0]) {
+                push = Math.min(push, edges.get(previousEdge[node])[1]);
+            }
+            for (int node = sink; node != source; node = edges.get(previousEdge[node] ^ 1)[0]) {
+                int edgeId = previousEdge[node];
+                edges.get(edgeId)[1] -= push;
+                edges.get(edgeId ^ 1)[1] += push;
+                totalCost += (long) push * costs.get(edgeId);
+            }
+            totalFlow += push;
+        }
+        return new long[] { totalFlow, totalCost };
+    }
+}
@@ -7,20 +7,28 @@ import org.springframework.stereotype.Component;
 
 import com.telus.io.model.CandidateStatus;
 import com.telus.io.model.CandidateStatusHistory;
-import com.telus.io.repository.CandidateStatusHistoryRepository;
+import com.telus.io.service.StatusHistoryWriter;
 
 
 
 /**
  * Utility class for recording status changes in the history table.
+ * Rows are written behind the request by {@link StatusHistoryWriter}.
  */
 @Component
 public class StatusHistoryUtil {
     
-    private final CandidateStatusHistoryRepository statusHistoryRepository;
+    private final StatusHistoryWriter statusHistoryWriter;
     
-    public StatusHistoryUtil(CandidateStatusHistoryRepository statusHistoryRepository) {
-        this.statusHistoryRepository = statusHistoryRepository;
+    public StatusHistoryUtil(StatusHistoryWriter statusHistoryWriter) {
+        this.statusHistoryWriter = statusHistoryWriter;
+    }
+    
+    /**
+     * @return The time of a status change being made now
+     */
+    public LocalDateTime changeTime() {
+        return statusHistoryWriter.changeTime();
     }
     
     /**
@@ -34,7 +42,7 @@ public class StatusHistoryUtil {
      * @param newCustomStatus The new custom status
      * @param changedBy The user who made the change
      * @param comments Comments about the change (can be null)
-     * @return The saved history record
+     * @return The history record, recorded when the current transaction commits
      */
     public CandidateStatusHistory recordStatusChange(
             UUID resumeId,
@@ -46,7 +54,29 @@ public class StatusHistoryUtil {
             String changedBy,
             String comments) {
         
+        return recordStatusChange(resumeId, evaluationId, previousStatus, previousCustomStatus, newStatus,
+                newCustomStatus, changedBy, comments, changeTime());
+    }
+    
+    /**
+     * Record a status change made at a given time, from {@link #changeTime}.
+     * 
+     * @param changedAt When the change was made
+     * @return The history record, recorded when the current transaction commits
+     */
+    public CandidateStatusHistory recordStatusChange(
+            UUID resumeId,
+            UUID evaluationId,
+            CandidateStatus previousStatus,
+            String previousCustomStatus,
+            CandidateStatus newStatus,
+            String newCustomStatus,
+            String changedBy,
+            String comments,
+            LocalDateTime changedAt) {
+        
         CandidateStatusHistory history = new CandidateStatusHistory();
+        history.setId(UUID.randomUUID());
         history.setResumeId(resumeId);
         history.setEvaluationId(evaluationId);
         history.setPreviousStatus(previousStatus);
@@ -54,9 +84,10 @@ public class StatusHistoryUtil {
         history.setNewStatus(newStatus);
         history.setNewCustomStatus(newCustomStatus);
         history.setChangedBy(changedBy);
-        history.setChangedAt(LocalDateTime.now());
+        history.setChangedAt(changedAt);
         history.setComments(comments);
         
-        return statusHistoryRepository.save(history);
+        statusHistoryWriter.write(history);
+        return history;
     }
 }
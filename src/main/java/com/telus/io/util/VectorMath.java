@@ -0,0 +1,166 @@
+package com.telus.io.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Small dense-vector helpers for scoring embeddings in memory.
+ *
+ * Dot products use the JDK Vector API (SimdDotKernel) when the application was
+ * built with the vector-api Maven profile and the JVM is started with
+ * --add-modules jdk.incubator.vector, and otherwise a scalar loop with four
+ * independent accumulators, which the JIT can still auto-vectorize.
+ */
+public final class VectorMath {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorMath.class);
+
+    /**
+     * A dot product implementation.
+     */
+    interface DotKernel {
+        float dot(float[] a, float[] b);
+    }
+
+    private static final DotKernel KERNEL = selectKernel();
+
+    private VectorMath() {
+    }
+
+    /**
+     * @return Whether dot products use the JDK Vector API
+     */
+    public static boolean isVectorApiEnabled() {
+        return !(KERNEL instanceof ScalarDotKernel);
+    }
+
+    /**
+     * Dot product of two vectors of the same length.
+     */
+    public static float dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Vector lengths differ: " + a.length + " and " + b.length);
+        }
+        return KERNEL.dot(a, b);
+    }
+
+    /**
+     * Cosine similarity of two vectors of the same length, or 0 if either is a zero vector.
+     */
+    public static float cosineSimilarity(float[] a, float[] b) {
+        float norms = (float) Math.sqrt(dot(a, a) * (double) dot(b, b));
+        return norms == 0 ? 0 : dot(a, b) / norms;
+    }
+
+    /**
+     * Cosine similarity of every row vector with every column vector.
+     *
+     * @param rows The row vectors
+     * @param columns The column vectors
+     * @return The rows.length x columns.length similarity matrix, row-major
+     */
+    public static float[] cosineSimilarityMatrix(float[][] rows, float[][] columns) {
+        float[][] unitColumns = new float[columns.length][];
+        for (int j = 0; j < columns.length; j++) {
+            unitColumns[j] = normalize(columns[j]);
+        }
+        float[] matrix = new float[rows.length * columns.length];
+        for (int i = 0; i < rows.length; i++) {
+            float[] unitRow = normalize(rows[i]);
+            int offset = i * columns.length;
+            for (int j = 0; j < columns.length; j++) {
+                matrix[offset + j] = dot(unitRow, unitColumns[j]);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Encode floats as little-endian IEEE 754 bytes.
+     */
+    public static byte[] toBytes(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(values);
+        return buffer.array();
+    }
+
+    /**
+     * Encode floats as base64 of their little-endian IEEE 754 bytes.
+     */
+    public static String toBase64(float[] values) {
+        return Base64.getEncoder().encodeToString(toBytes(values));
+    }
+
+    private static DotKernel selectKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                DotKernel kernel = (DotKernel) Class.forName("com.telus.io.util.SimdDotKernel")
+                        .getDeclaredConstructor().newInstance();
+                logger.info("Vector similarity uses the JDK Vector API");
+                return kernel;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Also the case when the kernel was not compiled in (built without the vector-api profile)
+                logger.warn("JDK Vector API unavailable, using scalar similarity: {}", e.getMessage());
+            }
+        }
+        return new ScalarDotKernel();
+    }
+
+    private static final class ScalarDotKernel implements DotKernel {
+
+        @Override
+        public float dot(float[] a, float[] b) {
+            return scalarDot(a, b);
+        }
+    }
+
+    private static float scalarDot(float[] a, float[] b) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        int bound = a.length & ~3;
+        for (; i < bound; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Return a unit-length copy of a vector, so that the dot product of two
+     * normalized vectors is their cosine similarity. A zero vector is returned as is.
+     */
+    public static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, vector));
+        float[] result = new float[vector.length];
+        if (norm == 0) {
+            return result;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            result[i] = vector[i] / norm;
+        }
+        return result;
+    }
+
+    /**
+     * Format a vector as a pgvector text value, ready to bind as ?::vector.
+     */
+    public static String toLiteral(float[] vector) {
+        StringBuilder sb = new StringBuilder(vector.length * 12).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -36,6 +36,18 @@ CREATE TABLE IF NOT EXISTS resume_vector_store (
     CONSTRAINT unique_resume_id UNIQUE (resume_id)
 );
 
+-- Full-text search over resume text for hybrid (lexical + vector) retrieval
+ALTER TABLE resume_vector_store ADD COLUMN IF NOT EXISTS content_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', coalesce(content, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_resume_vector_content_tsv ON resume_vector_store USING GIN (content_tsv);
+
+-- Metadata filter expressions are evaluated on metadata::jsonb
+CREATE INDEX IF NOT EXISTS idx_resume_vector_metadata ON resume_vector_store USING GIN ((metadata::jsonb) jsonb_path_ops);
+
+-- Optional: trigram index for fuzzy skill-term lookups (e.g. "k8s", "kubernetes"); needs pg_trgm
+-- CREATE EXTENSION IF NOT EXISTS pg_trgm;
+-- CREATE INDEX IF NOT EXISTS idx_resume_vector_content_trgm ON resume_vector_store USING GIN (lower(content) gin_trgm_ops);
+
 -- Index creation is now handled by the application code to avoid issues with existing indexes
 
 CREATE TABLE IF NOT EXISTS candidate_evaluations (
@@ -57,9 +69,13 @@ CREATE TABLE IF NOT EXISTS candidate_evaluations (
     manager_id VARCHAR(100),
     locked_at TIMESTAMP,
     status VARCHAR(50) DEFAULT 'OPEN',
-    custom_status VARCHAR(255)
+    custom_status VARCHAR(255),
+    content_hash VARCHAR(64)
 );
 
+-- Content hash of the evaluation data (see CandidateEvaluationServiceImpl); NULL until the next write
+ALTER TABLE candidate_evaluations ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
 CREATE TABLE IF NOT EXISTS candidate_evaluation_model_key_strengths (
     candidate_evaluation_model_id UUID REFERENCES candidate_evaluations(id),
     key_strengths VARCHAR(255)
@@ -87,10 +103,27 @@ CREATE TABLE IF NOT EXISTS candidate_status_history (
 );
 
 -- Create indexes for faster queries
-CREATE INDEX IF NOT EXISTS idx_candidate_evaluations_resume_id ON candidate_evaluations(resume_id);
 CREATE INDEX IF NOT EXISTS idx_candidate_evaluations_locked ON candidate_evaluations(locked);
+-- Lock projection joined into resume vector searches
+CREATE INDEX IF NOT EXISTS idx_candidate_evaluations_locked_resume ON candidate_evaluations(resume_id) INCLUDE (manager_id) WHERE locked = TRUE;
 CREATE INDEX IF NOT EXISTS idx_candidate_evaluations_status ON candidate_evaluations(status);
 
+-- Status history outbox (see StatusHistoryWriter): the durability record of each queued status change,
+-- deleted once the entry is flushed to candidate_status_history. No secondary indexes, to keep the
+-- insert in the request transaction cheap; rows are only left over when their queued entry was lost
+CREATE TABLE IF NOT EXISTS candidate_status_history_outbox (
+    id UUID PRIMARY KEY,
+    resume_id UUID NOT NULL,
+    evaluation_id UUID,
+    previous_status VARCHAR(50),
+    previous_custom_status VARCHAR(255),
+    new_status VARCHAR(50) NOT NULL,
+    new_custom_status VARCHAR(255),
+    changed_by VARCHAR(255) NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    comments TEXT
+);
+
 -- Create indexes for status history
 CREATE INDEX IF NOT EXISTS idx_status_history_resume_id ON candidate_status_history(resume_id);
 CREATE INDEX IF NOT EXISTS idx_status_history_evaluation_id ON candidate_status_history(evaluation_id);
@@ -126,6 +159,13 @@ CREATE TABLE IF NOT EXISTS interviewer_vector_store (
 -- Create index for vector similarity search
 CREATE INDEX IF NOT EXISTS interviewer_vector_idx ON interviewer_vector_store USING ivfflat (embedding vector_cosine_ops);
 
+-- Indexes for metadata filters pushed into the vector query (see MetadataFilterCompiler).
+-- Filters are compiled against interviewer_vector_store.metadata, where technicalExpertise and
+-- specializations are arrays covered by the GIN index; the interviewer_profiles columns are never filtered.
+CREATE INDEX IF NOT EXISTS idx_interviewer_vector_metadata ON interviewer_vector_store USING GIN (metadata jsonb_path_ops);
+CREATE INDEX IF NOT EXISTS idx_interviewer_vector_experience ON interviewer_vector_store (((metadata->>'experienceYears')::numeric));
+CREATE INDEX IF NOT EXISTS idx_interviewer_vector_tier ON interviewer_vector_store (((metadata->>'tier')::numeric));
+
 -- Table for interview assignments
 CREATE TABLE IF NOT EXISTS interview_assignments (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -146,3 +186,126 @@ CREATE INDEX IF NOT EXISTS idx_interview_assignments_interviewer ON interview_as
 CREATE INDEX IF NOT EXISTS idx_interview_assignments_resume ON interview_assignments(resume_id);
 CREATE INDEX IF NOT EXISTS idx_interview_assignments_date ON interview_assignments(interview_date);
 CREATE INDEX IF NOT EXISTS idx_interview_assignments_status ON interview_assignments(status);
+
+-- One evaluation per resume: lock requests create the row with INSERT ... ON CONFLICT (resume_id).
+-- Merge duplicate evaluations of a resume before the unique index is created: the newest (by locked_at)
+-- is kept and the history, outbox and assignment rows of the others are moved to it. A no-op once the index exists.
+UPDATE candidate_status_history h SET evaluation_id = d.keep_id
+FROM (SELECT id, first_value(id) OVER (PARTITION BY resume_id ORDER BY locked_at DESC NULLS LAST, id) AS keep_id
+      FROM candidate_evaluations WHERE resume_id IS NOT NULL) d
+WHERE h.evaluation_id = d.id AND d.id <> d.keep_id;
+UPDATE candidate_status_history_outbox h SET evaluation_id = d.keep_id
+FROM (SELECT id, first_value(id) OVER (PARTITION BY resume_id ORDER BY locked_at DESC NULLS LAST, id) AS keep_id
+      FROM candidate_evaluations WHERE resume_id IS NOT NULL) d
+WHERE h.evaluation_id = d.id AND d.id <> d.keep_id;
+UPDATE interview_assignments a SET evaluation_id = d.keep_id
+FROM (SELECT id, first_value(id) OVER (PARTITION BY resume_id ORDER BY locked_at DESC NULLS LAST, id) AS keep_id
+      FROM candidate_evaluations WHERE resume_id IS NOT NULL) d
+WHERE a.evaluation_id = d.id AND d.id <> d.keep_id;
+DELETE FROM candidate_evaluation_model_key_strengths WHERE candidate_evaluation_model_id IN (
+    SELECT id FROM (SELECT id, row_number() OVER (PARTITION BY resume_id ORDER BY locked_at DESC NULLS LAST, id) AS rn
+                    FROM candidate_evaluations WHERE resume_id IS NOT NULL) d WHERE rn > 1);
+DELETE FROM candidate_evaluation_model_improvement_areas WHERE candidate_evaluation_model_id IN (
+    SELECT id FROM (SELECT id, row_number() OVER (PARTITION BY resume_id ORDER BY locked_at DESC NULLS LAST, id) AS rn
+                    FROM candidate_evaluations WHERE resume_id IS NOT NULL) d WHERE rn > 1);
+DELETE FROM candidate_evaluations WHERE id IN (
+    SELECT id FROM (SELECT id, row_number() OVER (PARTITION BY resume_id ORDER BY locked_at DESC NULLS LAST, id) AS rn
+                    FROM candidate_evaluations WHERE resume_id IS NOT NULL) d WHERE rn > 1);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_candidate_evaluations_resume_id ON candidate_evaluations(resume_id);
+DROP INDEX IF EXISTS idx_candidate_evaluations_resume_id;
+
+-- Table for reservable interview slots, one row per interviewer and day.
+-- Reservations decrement remaining with a single conditional UPDATE (see InterviewSlotService);
+-- the availability JSON on interviewer_profiles holds the configured capacity per day.
+CREATE TABLE IF NOT EXISTS interviewer_slots (
+    interviewer_id UUID NOT NULL REFERENCES interviewer_profiles(id) ON DELETE CASCADE,
+    slot_date DATE NOT NULL,
+    capacity INTEGER NOT NULL CHECK (capacity >= 0),
+    remaining INTEGER NOT NULL CHECK (remaining >= 0),
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (interviewer_id, slot_date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_interview_assignments_interviewer_date
+    ON interview_assignments(interviewer_id, interview_date) WHERE status = 'SCHEDULED';
+
+-- Chat memory (see JdbcSummarizingChatMemory): recent turns per conversation plus a rolling summary of older ones.
+-- Conversations idle longer than app.chat.memory.ttl-hours are deleted with their messages.
+CREATE TABLE IF NOT EXISTS chat_conversations (
+    conversation_id VARCHAR(100) PRIMARY KEY,
+    summary TEXT,
+    last_active_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_conversations_last_active ON chat_conversations(last_active_at);
+
+CREATE TABLE IF NOT EXISTS chat_messages (
+    id BIGSERIAL PRIMARY KEY,
+    conversation_id VARCHAR(100) NOT NULL REFERENCES chat_conversations(conversation_id) ON DELETE CASCADE,
+    message_type VARCHAR(20) NOT NULL,
+    content TEXT NOT NULL,
+    token_estimate INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_messages_conversation ON chat_messages(conversation_id, id);
+
+-- Semantic cache of generated job descriptions and interview questions (see GenerationResponseCache).
+-- Prompts are matched exactly by the hash of their normalized text, or approximately by embedding similarity.
+CREATE TABLE IF NOT EXISTS generation_cache (
+    id UUID PRIMARY KEY,
+    kind VARCHAR(50) NOT NULL,
+    template_hash VARCHAR(64) NOT NULL DEFAULT '',
+    prompt_hash VARCHAR(64) NOT NULL,
+    normalized_prompt TEXT NOT NULL,
+    embedding vector(1536) NOT NULL,
+    response TEXT NOT NULL,
+    hit_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    UNIQUE (kind, prompt_hash)
+);
+
+CREATE INDEX IF NOT EXISTS idx_generation_cache_expires_at ON generation_cache(expires_at);
+-- Nearest-prompt lookup; HNSW because the table starts empty, where an ivfflat index would be trained on nothing
+CREATE INDEX IF NOT EXISTS idx_generation_cache_embedding ON generation_cache USING hnsw (embedding vector_cosine_ops);
+
+-- Cluster-wide vector store synchronization (see VectorSyncCoordinator). One run at a time is created by the
+-- node that wins a transaction-scoped advisory lock; its shards are leased by any node and reclaimed when a lease expires.
+CREATE TABLE IF NOT EXISTS vector_sync_runs (
+    run_id UUID PRIMARY KEY,
+    leader_node VARCHAR(255) NOT NULL,
+    shard_count INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    duplicates_removed INTEGER NOT NULL DEFAULT 0,
+    missing_added INTEGER NOT NULL DEFAULT 0,
+    orphans_removed INTEGER NOT NULL DEFAULT 0,
+    -- Tracked sync jobs: progress, throttling and cancellation of a run
+    trigger_type VARCHAR(20) NOT NULL DEFAULT 'SCHEDULED',
+    total_items INTEGER NOT NULL DEFAULT 0,
+    max_embeddings_per_second DOUBLE PRECISION,
+    cancel_requested_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_vector_sync_runs_single_running ON vector_sync_runs ((true)) WHERE status = 'RUNNING';
+CREATE INDEX IF NOT EXISTS idx_vector_sync_runs_started_at ON vector_sync_runs(started_at);
+
+CREATE TABLE IF NOT EXISTS vector_sync_shards (
+    run_id UUID NOT NULL REFERENCES vector_sync_runs(run_id) ON DELETE CASCADE,
+    shard INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    owner_node VARCHAR(255),
+    lease_until TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    duplicates_removed INTEGER NOT NULL DEFAULT 0,
+    missing_added INTEGER NOT NULL DEFAULT 0,
+    orphans_removed INTEGER NOT NULL DEFAULT 0,
+    finished_at TIMESTAMP,
+    processed_items INTEGER NOT NULL DEFAULT 0,
+    total_items INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (run_id, shard)
+);
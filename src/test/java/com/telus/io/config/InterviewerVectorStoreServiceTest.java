@@ -0,0 +1,102 @@
+package com.telus.io.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+import org.springframework.retry.support.RetryTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telus.io.config.InterviewerVectorStoreConfig.InterviewerVectorStoreService;
+import com.telus.io.dto.InterviewerQueryContext;
+import com.telus.io.model.InterviewerMetadata;
+import com.telus.io.model.InterviewerProfile;
+import com.telus.io.model.InterviewerProjection;
+import com.telus.io.scheduler.VectorStoreStateTracker;
+import com.telus.io.support.PostgresTestSupport;
+import com.telus.io.util.AiMetrics;
+import com.telus.io.util.MetadataFilterCompiler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InterviewerVectorStoreServiceTest extends PostgresTestSupport {
+
+    private static final int INTERVIEWERS = 400;
+    private static final int DIMENSIONS = 1536;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Random random = new Random(42);
+
+    private static InterviewerVectorStoreService service;
+
+    @BeforeAll
+    static void insertInterviewers() throws Exception {
+        for (int i = 0; i < INTERVIEWERS; i++) {
+            // One in twenty is tier 1, so a tier filter keeps few of the rows in any probed list
+            int tier = i % 20 == 0 ? 1 : 3;
+            UUID id = insertInterviewer(3, "{}");
+            InterviewerProfile profile = new InterviewerProfile();
+            profile.setId(id);
+            profile.setName("Interviewer " + i);
+            profile.setEmail(id + "@example.com");
+            profile.setExperienceYears(8);
+            profile.setInterviewerTier(tier);
+            profile.setTechnicalExpertise(List.of("Java"));
+            profile.setSpecializations(List.of());
+            jdbcTemplate.update("INSERT INTO interviewer_vector_store (interviewer_id, content, metadata, embedding) "
+                    + "VALUES (?, 'profile', ?::jsonb, ?::vector)", id,
+                    objectMapper.writeValueAsString(InterviewerMetadata.from(profile, 1).toMap()), randomVector());
+        }
+        // Train the ivfflat lists on the rows, as in a populated database
+        jdbcTemplate.execute("REINDEX INDEX interviewer_vector_idx");
+        jdbcTemplate.execute("ANALYZE interviewer_vector_store");
+
+        service = new InterviewerVectorStoreService(jdbcTemplate, mock(EmbeddingModel.class), objectMapper,
+                new RetryTemplate(), new AiMetrics(new SimpleMeterRegistry()), new MetadataFilterCompiler(objectMapper),
+                mock(VectorStoreStateTracker.class), transactionManager, 100, 3600);
+    }
+
+    @Test
+    void selectiveFilterStillReturnsLimitRows() {
+        List<Map<String, Object>> results = service.findSimilarWithScores(queryContext(),
+                new FilterExpressionBuilder().eq("tier", 1).build(), -1.0, 10);
+
+        assertThat(results).hasSize(10);
+        assertThat(results).allSatisfy(result ->
+                assertThat(((InterviewerProjection) result.get("projection")).tier()).isEqualTo(1));
+        assertThat(results).extracting(result -> (Double) result.get("similarity"))
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void nextRevisionFollowsTheStoredRevision() {
+        UUID newInterviewer = insertInterviewer(3, "{}");
+        assertThat(service.nextRevision(newInterviewer)).isEqualTo(1);
+
+        UUID stored = jdbcTemplate.queryForObject("SELECT interviewer_id FROM interviewer_vector_store LIMIT 1",
+                UUID.class);
+        jdbcTemplate.update("UPDATE interviewer_vector_store SET metadata = jsonb_set(metadata, '{revision}', '7') "
+                + "WHERE interviewer_id = ?", stored);
+        assertThat(service.nextRevision(stored)).isEqualTo(8);
+    }
+
+    private static InterviewerQueryContext queryContext() {
+        return new InterviewerQueryContext("Java", new float[0], randomVector());
+    }
+
+    private static String randomVector() {
+        return IntStream.range(0, DIMENSIONS)
+                .mapToObj(i -> Float.toString(random.nextFloat() - 0.5f))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
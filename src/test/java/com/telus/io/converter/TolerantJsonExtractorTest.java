@@ -0,0 +1,110 @@
+package com.telus.io.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.telus.io.converter.TolerantJsonExtractor.Extraction;
+import com.telus.io.converter.TolerantJsonExtractor.Repair;
+
+class TolerantJsonExtractorTest {
+
+    // Parses single-quoted strings like ResumeAnalysisConverter does
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .build();
+
+    @Test
+    void returnsCleanJsonUnchanged() throws Exception {
+        Extraction extraction = extract("{\"score\": 87, \"skills\": [\"Java\", \"SQL\"]}");
+
+        assertJson(extraction, "{\"score\": 87, \"skills\": [\"Java\", \"SQL\"]}");
+        assertThat(extraction.repairs()).isEmpty();
+        assertThat(extraction.repairPath()).isEqualTo("none");
+    }
+
+    @Test
+    void stripsCodeFences() throws Exception {
+        Extraction extraction = extract("```json\n{\"score\": 87}\n```");
+
+        assertJson(extraction, "{\"score\": 87}");
+        assertThat(extraction.repairs()).containsExactly(Repair.CODE_FENCE);
+    }
+
+    @Test
+    void stripsProseAroundFencedJson() throws Exception {
+        Extraction extraction = extract("Sure! Here is the analysis:\n```json\n{\"score\": 87}\n```\nLet me know.");
+
+        assertJson(extraction, "{\"score\": 87}");
+        assertThat(extraction.repairPath()).isEqualTo("code-fence+surrounding-text");
+    }
+
+    @Test
+    void dropsTrailingCommas() throws Exception {
+        Extraction extraction = extract("{\"skills\": [\"Java\", \"SQL\",], \"score\": 87,}");
+
+        assertJson(extraction, "{\"skills\": [\"Java\", \"SQL\"], \"score\": 87}");
+        assertThat(extraction.repairs()).containsExactly(Repair.TRAILING_COMMA);
+    }
+
+    @Test
+    void closesTruncatedOutput() throws Exception {
+        Extraction extraction = extract("{\"summary\": \"Strong backend engineer\", \"skills\": [\"Java\", \"Spr");
+
+        assertJson(extraction, "{\"summary\": \"Strong backend engineer\", \"skills\": [\"Java\", \"Spr\"]}");
+        assertThat(extraction.repairs()).containsExactly(Repair.UNCLOSED_STRUCTURE);
+    }
+
+    @Test
+    void leavesBracesAndCommasInsideStringsAlone() throws Exception {
+        Extraction extraction = extract("{\"note\": \"uses {braces}, [brackets],\", \"quote\": \"say \\\"hi\\\"\"}");
+
+        assertJson(extraction, "{\"note\": \"uses {braces}, [brackets],\", \"quote\": \"say \\\"hi\\\"\"}");
+        assertThat(extraction.repairs()).isEmpty();
+    }
+
+    @Test
+    void leavesBracesAndCommasInsideSingleQuotedStringsAlone() throws Exception {
+        Extraction extraction = extract("{'note': 'uses {braces}, [brackets],', \"quote\": \"it's \\\"fine\\\"\"}");
+
+        assertJson(extraction, "{\"note\": \"uses {braces}, [brackets],\", \"quote\": \"it's \\\"fine\\\"\"}");
+        assertThat(extraction.repairs()).isEmpty();
+    }
+
+    @Test
+    void closesTruncatedSingleQuotedString() throws Exception {
+        Extraction extraction = extract("{'summary': 'Led the {platform");
+
+        assertJson(extraction, "{\"summary\": \"Led the {platform\"}");
+        assertThat(extraction.repairs()).containsExactly(Repair.UNCLOSED_STRUCTURE);
+    }
+
+    @Test
+    void extractsOnlyTheFirstObject() throws Exception {
+        Extraction extraction = extract("{\"a\": 1} {\"b\": 2}");
+
+        assertJson(extraction, "{\"a\": 1}");
+        assertThat(extraction.repairs()).containsExactly(Repair.SURROUNDING_TEXT);
+    }
+
+    @Test
+    void returnsEmptyWithoutAnObject() {
+        assertThat(TolerantJsonExtractor.extract("I could not analyze this resume.")).isEmpty();
+        assertThat(TolerantJsonExtractor.extract(null)).isEmpty();
+    }
+
+    private static Extraction extract(String text) {
+        return TolerantJsonExtractor.extract(text).orElseThrow();
+    }
+
+    // Whitespace around repaired commas may move, so compare the parsed JSON
+    private static void assertJson(Extraction extraction, String expected) throws JsonProcessingException {
+        JsonNode actual = MAPPER.readTree(extraction.json());
+        assertThat(actual).isEqualTo(MAPPER.readTree(expected));
+    }
+}
@@ -0,0 +1,127 @@
+package com.telus.io.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.telus.io.model.CandidateEvaluationModel;
+import com.telus.io.support.PostgresTestSupport;
+
+@DataJpaTest(properties = {"spring.jpa.hibernate.ddl-auto=none", "spring.sql.init.mode=always"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class CandidateEvaluationRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(PostgresTestSupport.PGVECTOR_IMAGE);
+
+    @Autowired
+    private CandidateEvaluationRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void schemaCreatesTheUniqueResumeIndex() {
+        assertThat(repository.hasUniqueResumeIdIndex()).isTrue();
+    }
+
+    @Test
+    void schemaMergesDuplicateEvaluationsIntoTheNewest() {
+        // A database from before the unique index
+        jdbcTemplate.execute("DROP INDEX uq_candidate_evaluations_resume_id");
+        assertThat(repository.hasUniqueResumeIdIndex()).isFalse();
+        UUID resumeId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO resumes (id, name, email, phone_number, uploaded_at, updated_at, file_type, "
+                + "original_file_name) VALUES (?, 'Test Candidate', ?, '555-0100', now(), now(), 'pdf', 'resume.pdf')",
+                resumeId, resumeId + "@example.com");
+        UUID older = insertEvaluation(resumeId, LocalDateTime.now().minusDays(1));
+        UUID newer = insertEvaluation(resumeId, LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO candidate_status_history (id, resume_id, evaluation_id, new_status, changed_by, "
+                + "changed_at) VALUES (?, ?, ?, 'OPEN', 'manager-1', now())", UUID.randomUUID(), resumeId, older);
+        jdbcTemplate.update("INSERT INTO candidate_evaluation_model_key_strengths VALUES (?, 'Java')", older);
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM candidate_evaluations WHERE resume_id = ?", UUID.class,
+                resumeId)).containsExactly(newer);
+        assertThat(jdbcTemplate.queryForList("SELECT evaluation_id FROM candidate_status_history WHERE resume_id = ?",
+                UUID.class, resumeId)).containsExactly(newer);
+        assertThat(repository.hasUniqueResumeIdIndex()).isTrue();
+    }
+
+    @Test
+    void insertIfAbsentCreatesOneUnlockedEvaluation() {
+        UUID resumeId = UUID.randomUUID();
+
+        assertThat(insert(resumeId)).isEqualTo(1);
+        assertThat(insert(resumeId)).isZero();
+
+        CandidateEvaluationModel evaluation = repository.findByResumeId(resumeId).orElseThrow();
+        assertThat(evaluation.isLocked()).isFalse();
+        assertThat(evaluation.getManagerId()).isNull();
+    }
+
+    @Test
+    void onlyTheHolderCanReleaseTheLock() {
+        UUID resumeId = UUID.randomUUID();
+        insert(resumeId);
+
+        assertThat(transition(resumeId, true, "manager-1")).isEqualTo(1);
+        assertThat(transition(resumeId, true, "manager-2")).isZero();
+        assertThat(transition(resumeId, false, "manager-2")).isZero();
+        assertThat(transition(resumeId, true, "manager-1")).isZero();
+        assertThat(transition(resumeId, false, "manager-1")).isEqualTo(1);
+        assertThat(transition(resumeId, true, "manager-2")).isEqualTo(1);
+
+        entityManager.clear();
+        CandidateEvaluationModel evaluation = repository.findByResumeId(resumeId).orElseThrow();
+        assertThat(evaluation.isLocked()).isTrue();
+        assertThat(evaluation.getManagerId()).isEqualTo("manager-2");
+    }
+
+    @Test
+    void unknownResumeIsNotLocked() {
+        assertThat(transition(UUID.randomUUID(), true, "manager-1")).isZero();
+    }
+
+    private int insert(UUID resumeId) {
+        return repository.insertIfAbsent(UUID.randomUUID(), resumeId, "Test Candidate", resumeId + "@example.com",
+                "555-0100");
+    }
+
+    private UUID insertEvaluation(UUID resumeId, LocalDateTime lockedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO candidate_evaluations (id, resume_id, score, locked, locked_at) "
+                + "VALUES (?, ?, 0, false, ?)", id, resumeId, Timestamp.valueOf(lockedAt));
+        return id;
+    }
+
+    private int transition(UUID resumeId, boolean locked, String managerId) {
+        return repository.transitionLock(resumeId, locked, managerId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,50 @@
+package com.telus.io.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.telus.io.scheduler.VectorStoreStateTracker.Table;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VectorStoreStateTrackerTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private VectorStoreStateTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        tracker = new VectorStoreStateTracker(jdbcTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void probeResultIsKeptUntilTheNextWrite() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(false);
+
+        assertThat(tracker.hasEntries(Table.RESUME)).isFalse();
+        tracker.recordInsert(Table.RESUME);
+
+        assertThat(tracker.hasEntries(Table.RESUME)).isTrue();
+    }
+
+    @Test
+    void probeDoesNotOverwriteAConcurrentInsert() {
+        // The insert is recorded after the probe read the table as empty
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenAnswer(invocation -> {
+            tracker.recordInsert(Table.INTERVIEWER);
+            return false;
+        });
+
+        assertThat(tracker.hasEntries(Table.INTERVIEWER)).isFalse();
+
+        assertThat(tracker.hasEntries(Table.INTERVIEWER)).isTrue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.telus.io.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.telus.io.dto.SyncResult;
+import com.telus.io.service.ResumeStorageService;
+import com.telus.io.service.SyncProgressListener;
+
+class VectorStoreSyncSchedulerTest {
+
+    private ResumeStorageService storageService;
+    private VectorSyncCoordinator coordinator;
+    private List<Runnable> submitted;
+    private VectorStoreSyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        storageService = mock(ResumeStorageService.class);
+        coordinator = mock(VectorSyncCoordinator.class);
+        when(coordinator.getNodeId()).thenReturn("node-a");
+        submitted = new ArrayList<>();
+        scheduler = new VectorStoreSyncScheduler(storageService, coordinator);
+        ReflectionTestUtils.setField(scheduler, "resumeProcessingExecutor", (Executor) submitted::add);
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+    }
+
+    @Test
+    void syncsOnThisNodeWhileCoordinationIsDisabled() {
+        when(storageService.synchronizeShard(eq(0), eq(1), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, SyncProgressListener.class).onProgress(3, 3, 2);
+            return new SyncResult(1, 2, 0);
+        });
+
+        UUID jobId = scheduler.startSync(null).orElseThrow();
+        assertThat(scheduler.isSyncInProgress()).isTrue();
+        assertThat(scheduler.startSync(null)).isEmpty();
+
+        submitted.forEach(Runnable::run);
+
+        assertThat(scheduler.isSyncInProgress()).isFalse();
+        assertThat(scheduler.getSyncJob(jobId).orElseThrow())
+                .containsEntry("status", VectorSyncCoordinator.COMPLETED)
+                .containsEntry("processed", 3)
+                .containsEntry("missingAdded", 2);
+        assertThat(scheduler.getLastSyncResult().getDuplicatesRemoved()).isEqualTo(1);
+        assertThat(scheduler.listSyncJobs(20)).hasSize(1);
+        assertThat(scheduler.startSync(null)).isPresent();
+        verify(coordinator, never()).startNewRun(any(), any());
+    }
+
+    @Test
+    void cancelledJobStopsAtItsNextProgressReport() {
+        List<Boolean> continued = new ArrayList<>();
+        when(storageService.synchronizeShard(eq(0), eq(1), any())).thenAnswer(invocation -> {
+            continued.add(invocation.getArgument(2, SyncProgressListener.class).onProgress(1, 10, 0));
+            return new SyncResult(0, 0, 0);
+        });
+        UUID jobId = scheduler.startSync(null).orElseThrow();
+
+        assertThat(scheduler.throttleSync(jobId, 5)).isTrue();
+        assertThat(scheduler.cancelSync(jobId)).isTrue();
+        assertThat(scheduler.cancelSync(jobId)).isFalse();
+        submitted.forEach(Runnable::run);
+
+        assertThat(continued).containsExactly(false);
+        assertThat(scheduler.getSyncJob(jobId).orElseThrow())
+                .containsEntry("status", VectorSyncCoordinator.CANCELLED)
+                .containsEntry("maxEmbeddingsPerSecond", 5.0);
+        assertThat(scheduler.cancelSync(jobId)).isFalse();
+        assertThat(scheduler.getSyncJob(UUID.randomUUID())).isEmpty();
+    }
+}
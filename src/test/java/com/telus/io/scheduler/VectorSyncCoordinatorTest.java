@@ -0,0 +1,132 @@
+package com.telus.io.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.telus.io.dto.SyncResult;
+import com.telus.io.scheduler.VectorSyncCoordinator.Shard;
+import com.telus.io.support.PostgresTestSupport;
+
+class VectorSyncCoordinatorTest extends PostgresTestSupport {
+
+    private static final int SHARDS = 4;
+
+    private VectorSyncCoordinator nodeA;
+    private VectorSyncCoordinator nodeB;
+
+    @BeforeEach
+    void setUp() {
+        // Only one run may be RUNNING at a time
+        jdbcTemplate.update("DELETE FROM vector_sync_runs");
+        nodeA = coordinator("node-a");
+        nodeB = coordinator("node-b");
+    }
+
+    @Test
+    void secondNodeJoinsTheRunningRun() {
+        UUID runId = nodeA.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null).orElseThrow();
+
+        assertThat(nodeB.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null)).contains(runId);
+        assertThat(nodeB.findRunningRun()).contains(runId);
+    }
+
+    @Test
+    void manualStartIsRefusedWhileARunIsRunning() {
+        UUID runId = nodeA.startNewRun(VectorSyncCoordinator.TRIGGER_MANUAL, null).orElseThrow();
+
+        assertThat(nodeB.startNewRun(VectorSyncCoordinator.TRIGGER_MANUAL, null)).isEmpty();
+        assertThat(nodeA.startNewRun(VectorSyncCoordinator.TRIGGER_MANUAL, null)).isEmpty();
+        assertThat(nodeA.findRunningRun()).contains(runId);
+    }
+
+    @Test
+    void nodesLeaseDistinctShards() {
+        UUID runId = nodeA.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null).orElseThrow();
+
+        Set<Integer> leased = new HashSet<>();
+        for (int i = 0; i < SHARDS; i++) {
+            VectorSyncCoordinator node = i % 2 == 0 ? nodeA : nodeB;
+            leased.add(node.claimShard(runId).orElseThrow().shard());
+        }
+
+        assertThat(leased).containsExactlyInAnyOrder(0, 1, 2, 3);
+        assertThat(nodeA.claimShard(runId)).isEmpty();
+        assertThat(nodeB.claimShard(runId)).isEmpty();
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedByAnotherNode() {
+        UUID runId = nodeA.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null).orElseThrow();
+        Shard lost = nodeA.claimShard(runId).orElseThrow();
+        // node-a stops renewing, e.g. because it died
+        jdbcTemplate.update("UPDATE vector_sync_shards SET lease_until = LOCALTIMESTAMP - interval '1 minute' "
+                + "WHERE run_id = ? AND shard = ?", runId, lost.shard());
+
+        Shard reclaimed = nodeB.claimShard(runId).orElseThrow();
+
+        assertThat(reclaimed.shard()).isEqualTo(lost.shard());
+        assertThat(nodeA.reportProgress(lost, 1, 10, 0)).isEmpty();
+        nodeA.completeShard(lost, new SyncResult(0, 1, 0));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT owner_node || ':' || status FROM vector_sync_shards WHERE run_id = ? AND shard = ?",
+                String.class, runId, lost.shard())).isEqualTo("node-b:RUNNING");
+    }
+
+    @Test
+    void leasesAreTimedByTheDatabaseClock() {
+        UUID runId = nodeA.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null).orElseThrow();
+        Shard shard = nodeA.claimShard(runId).orElseThrow();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT lease_until BETWEEN LOCALTIMESTAMP + interval '590 seconds' AND LOCALTIMESTAMP + interval '600 seconds' "
+                + "FROM vector_sync_shards WHERE run_id = ? AND shard = ?",
+                Boolean.class, runId, shard.shard())).isTrue();
+    }
+
+    @Test
+    void failedShardIsReleasedForAnotherAttempt() {
+        UUID runId = nodeA.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null).orElseThrow();
+        Shard failed = nodeA.claimShard(runId).orElseThrow();
+
+        nodeA.failShard(failed);
+
+        assertThat(nodeB.claimShard(runId).orElseThrow().shard()).isEqualTo(failed.shard());
+    }
+
+    @Test
+    void lastFinishedShardCompletesTheRun() {
+        UUID runId = nodeA.startOrJoinRun(VectorSyncCoordinator.TRIGGER_SCHEDULED, null).orElseThrow();
+
+        Optional<Shard> shard;
+        while ((shard = nodeA.claimShard(runId)).isPresent()) {
+            assertThat(nodeA.finishRunIfDone(runId)).isFalse();
+            nodeA.completeShard(shard.get(), new SyncResult(1, 2, 0));
+        }
+
+        assertThat(nodeA.finishRunIfDone(runId)).isTrue();
+        assertThat(nodeB.finishRunIfDone(runId)).isFalse();
+        assertThat(nodeA.findRunningRun()).isEmpty();
+        SyncResult result = VectorSyncCoordinator.toSyncResult(nodeA.findLastFinishedRun().orElseThrow());
+        assertThat(result.getDuplicatesRemoved()).isEqualTo(SHARDS);
+        assertThat(result.getMissingAdded()).isEqualTo(2 * SHARDS);
+        assertThat(nodeA.findLastFinishedRun().orElseThrow()).containsEntry("status", VectorSyncCoordinator.COMPLETED);
+    }
+
+    private static VectorSyncCoordinator coordinator(String nodeId) {
+        VectorSyncCoordinator coordinator = new VectorSyncCoordinator(jdbcTemplate, transactionManager, nodeId);
+        ReflectionTestUtils.setField(coordinator, "shardCount", SHARDS);
+        ReflectionTestUtils.setField(coordinator, "leaseSeconds", 600L);
+        ReflectionTestUtils.setField(coordinator, "maxAttempts", 3);
+        ReflectionTestUtils.setField(coordinator, "retentionDays", 30);
+        ReflectionTestUtils.setField(coordinator, "defaultMaxEmbeddingsPerSecond", 0.0);
+        return coordinator;
+    }
+}
@@ -0,0 +1,119 @@
+package com.telus.io.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HedgedAiExecutorTest {
+
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void runsOnTheCallingThreadWhenDisabled() {
+        HedgedAiExecutor executor = executor(command -> {
+            throw new AssertionError("the hedging executor must not be used");
+        }, false, 1.0);
+        Thread caller = Thread.currentThread();
+
+        String result = executor.call("analysis", () -> Thread.currentThread() == caller ? "inline" : "pooled");
+
+        assertThat(result).isEqualTo("inline");
+        assertThat(executor.getStats()).containsEntry("primaryCalls", 1L).containsEntry("hedgedCalls", 0L);
+    }
+
+    @Test
+    void hedgeWinsWhenThePrimaryIsSlow() {
+        HedgedAiExecutor executor = executor(pool, true, 1.0);
+        warmUp(executor);
+
+        AtomicInteger attempts = new AtomicInteger();
+        String result = executor.call("analysis",
+                () -> attempts.incrementAndGet() == 1 ? sleepThen(5000, "primary") : "hedge");
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(attempts).hasValue(2);
+        assertThat(executor.getStats()).containsEntry("hedgedCalls", 1L);
+    }
+
+    @Test
+    void waitsForThePrimaryWhenTheBudgetIsSpent() {
+        HedgedAiExecutor executor = executor(pool, true, 0.0);
+        warmUp(executor);
+
+        AtomicInteger attempts = new AtomicInteger();
+        String result = executor.call("analysis", () -> {
+            attempts.incrementAndGet();
+            return sleepThen(200, "primary");
+        });
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+        assertThat(executor.getStats()).containsEntry("hedgedCalls", 0L);
+    }
+
+    @Test
+    void propagatesTheFailureOfTheOnlyAttempt() {
+        HedgedAiExecutor executor = executor(pool, true, 1.0);
+        warmUp(executor);
+
+        Supplier<String> failing = () -> {
+            throw new IllegalStateException("model unavailable");
+        };
+
+        assertThatThrownBy(() -> executor.call("analysis", failing))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("model unavailable");
+    }
+
+    @Test
+    void runsInlineWhenTheExecutorIsSaturated() {
+        HedgedAiExecutor executor = executor(command -> {
+            throw new RejectedExecutionException("saturated");
+        }, true, 1.0);
+        warmUp(executor);
+
+        assertThat(executor.call("analysis", () -> "inline")).isEqualTo("inline");
+    }
+
+    private static HedgedAiExecutor executor(Executor hedgingExecutor, boolean enabled, double budgetRatio) {
+        HedgedAiExecutor executor = new HedgedAiExecutor(hedgingExecutor);
+        ReflectionTestUtils.setField(executor, "enabled", enabled);
+        ReflectionTestUtils.setField(executor, "percentile", 0.5);
+        ReflectionTestUtils.setField(executor, "budgetRatio", budgetRatio);
+        ReflectionTestUtils.setField(executor, "minDelayMs", 20L);
+        ReflectionTestUtils.setField(executor, "maxDelayMs", 100L);
+        ReflectionTestUtils.setField(executor, "windowSize", 10);
+        ReflectionTestUtils.setField(executor, "minSamples", 1);
+        return executor;
+    }
+
+    // One fast sample, so the next call is hedged after minDelayMs
+    private static void warmUp(HedgedAiExecutor executor) {
+        executor.call("analysis", () -> "warm-up");
+    }
+
+    private static String sleepThen(long millis, String result) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // Cancelled after the other attempt won
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,133 @@
+package com.telus.io.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.telus.io.model.CandidateStatus;
+import com.telus.io.model.CandidateStatusHistory;
+import com.telus.io.support.PostgresTestSupport;
+
+class StatusHistoryWriterTest extends PostgresTestSupport {
+
+    private StatusHistoryWriter writer;
+    private UUID resumeId;
+
+    @BeforeEach
+    void setUp() {
+        writer = new StatusHistoryWriter(jdbcTemplate, transactionManager, Runnable::run, 3);
+        ReflectionTestUtils.setField(writer, "writeBehindEnabled", true);
+        ReflectionTestUtils.setField(writer, "batchSize", 2);
+        ReflectionTestUtils.setField(writer, "recoveryGraceSeconds", 60L);
+        resumeId = insertResume();
+    }
+
+    @Test
+    void flushesOnceABatchIsQueuedAndOnTheTimer() {
+        writer.write(history(CandidateStatus.OPEN, CandidateStatus.LOCKED));
+        assertThat(count("candidate_status_history_outbox")).isEqualTo(1);
+        assertThat(count("candidate_status_history")).isZero();
+
+        writer.write(history(CandidateStatus.LOCKED, CandidateStatus.OPEN));
+        writer.write(history(CandidateStatus.OPEN, CandidateStatus.LOCKED));
+        assertThat(count("candidate_status_history_outbox")).isEqualTo(1);
+        assertThat(count("candidate_status_history")).isEqualTo(2);
+
+        writer.flush();
+
+        assertThat(count("candidate_status_history_outbox")).isZero();
+        assertThat(count("candidate_status_history")).isEqualTo(3);
+    }
+
+    @Test
+    void queuesOnlyOnceTheTransactionCommits() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            writer.write(history(CandidateStatus.OPEN, CandidateStatus.LOCKED));
+            writer.write(history(CandidateStatus.LOCKED, CandidateStatus.OPEN));
+            assertThat(count("candidate_status_history")).isZero();
+        });
+
+        assertThat(count("candidate_status_history_outbox")).isZero();
+        assertThat(count("candidate_status_history")).isEqualTo(2);
+    }
+
+    @Test
+    void recoversOutboxRowsWhoseEntriesWereLost() {
+        // Queue capacity is 3 and the batch size 4, so the fourth entry is not queued
+        ReflectionTestUtils.setField(writer, "batchSize", 4);
+        CandidateStatusHistory lost = history(CandidateStatus.OPEN, CandidateStatus.LOCKED);
+        lost.setChangedAt(writer.changeTime().minusMinutes(5));
+        for (int i = 0; i < 3; i++) {
+            writer.write(history(CandidateStatus.OPEN, CandidateStatus.LOCKED));
+        }
+        writer.write(lost);
+
+        writer.recoverPending();
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM candidate_status_history WHERE resume_id = ?",
+                UUID.class, resumeId)).containsExactly(lost.getId());
+        assertThat(count("candidate_status_history_outbox")).isEqualTo(3);
+
+        writer.flush();
+
+        assertThat(count("candidate_status_history_outbox")).isZero();
+        assertThat(count("candidate_status_history")).isEqualTo(4);
+    }
+
+    @Test
+    void keepsThePreviousStatusAndActor() {
+        writer.write(history(CandidateStatus.SHORTLISTED, CandidateStatus.INTERVIEWED));
+
+        writer.flush();
+
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT previous_status || '>' || new_status || ' by ' || changed_by FROM candidate_status_history "
+                + "WHERE resume_id = ?", String.class, resumeId);
+        assertThat(rows).containsExactly("SHORTLISTED>INTERVIEWED by manager-1");
+    }
+
+    @Test
+    void rolledBackChangesAreNeverRecorded() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            writer.write(history(CandidateStatus.OPEN, CandidateStatus.LOCKED));
+            status.setRollbackOnly();
+        });
+
+        writer.flush();
+
+        assertThat(count("candidate_status_history_outbox")).isZero();
+        assertThat(count("candidate_status_history")).isZero();
+    }
+
+    @Test
+    void writesThroughWhenWriteBehindIsDisabled() {
+        ReflectionTestUtils.setField(writer, "writeBehindEnabled", false);
+
+        writer.write(history(CandidateStatus.OPEN, CandidateStatus.LOCKED));
+
+        assertThat(count("candidate_status_history_outbox")).isZero();
+        assertThat(count("candidate_status_history")).isEqualTo(1);
+    }
+
+    private CandidateStatusHistory history(CandidateStatus previous, CandidateStatus next) {
+        CandidateStatusHistory history = new CandidateStatusHistory();
+        history.setId(UUID.randomUUID());
+        history.setResumeId(resumeId);
+        history.setPreviousStatus(previous);
+        history.setNewStatus(next);
+        history.setChangedBy("manager-1");
+        history.setChangedAt(writer.changeTime());
+        return history;
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE resume_id = ?",
+                Integer.class, resumeId);
+    }
+}
@@ -0,0 +1,141 @@
+package com.telus.io.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.telus.io.dto.request.SlotReservationRequest;
+import com.telus.io.dto.response.SlotReservationResponse;
+import com.telus.io.model.InterviewerProfile;
+import com.telus.io.service.EntityCacheService;
+import com.telus.io.support.PostgresTestSupport;
+
+class InterviewSlotServiceImplTest extends PostgresTestSupport {
+
+    private static final String DAY = "2030-01-15";
+
+    private EntityCacheService entityCacheService;
+    private InterviewSlotServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        entityCacheService = mock(EntityCacheService.class);
+        service = new InterviewSlotServiceImpl(jdbcTemplate, entityCacheService);
+        ReflectionTestUtils.setField(service, "enabled", true);
+    }
+
+    @Test
+    void seedsSlotsFromAvailabilityOnce() {
+        UUID interviewerId = insertInterviewer(3, "{\"" + DAY + "\": 4, \"not-a-date\": 2}");
+
+        assertThat(service.seedMissingSlots()).isPositive();
+        assertThat(service.seedMissingSlots()).isZero();
+
+        Map<String, Object> slot = jdbcTemplate.queryForMap(
+                "SELECT capacity, remaining FROM interviewer_slots WHERE interviewer_id = ?", interviewerId);
+        assertThat(slot).containsEntry("capacity", 4).containsEntry("remaining", 4);
+    }
+
+    @Test
+    void stopsAtTheDailyInterviewCap() {
+        UUID interviewerId = insertInterviewer(2, "{}");
+        service.syncSlots(interviewerId, Map.of(DAY, 5));
+        when(entityCacheService.findInterviewer(interviewerId)).thenReturn(Optional.of(new InterviewerProfile()));
+
+        assertThat(reserve(interviewerId).isReserved()).isTrue();
+        assertThat(reserve(interviewerId).isReserved()).isTrue();
+        SlotReservationResponse third = reserve(interviewerId);
+
+        assertThat(third.isReserved()).isFalse();
+        assertThat(third.getMessage()).isEqualTo("No slots available on " + DAY);
+        assertThat(service.getRemainingSlots(interviewerId, DAY)).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentReservationsNeverOverbook() throws Exception {
+        UUID interviewerId = insertInterviewer(10, "{}");
+        service.syncSlots(interviewerId, Map.of(DAY, 3));
+        when(entityCacheService.findInterviewer(interviewerId)).thenReturn(Optional.of(new InterviewerProfile()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<SlotReservationResponse>> requests = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                requests.add(() -> reserve(interviewerId));
+            }
+            int reserved = 0;
+            for (Future<SlotReservationResponse> response : pool.invokeAll(requests)) {
+                if (response.get().isReserved()) {
+                    reserved++;
+                }
+            }
+            assertThat(reserved).isEqualTo(3);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(service.getRemainingSlots(interviewerId, DAY)).isZero();
+    }
+
+    @Test
+    void resyncKeepsReservedSlots() {
+        UUID interviewerId = insertInterviewer(5, "{}");
+        service.syncSlots(interviewerId, Map.of(DAY, 3));
+        reserve(interviewerId);
+        reserve(interviewerId);
+
+        service.syncSlots(interviewerId, Map.of(DAY, 4));
+        assertThat(service.getRemainingSlots(interviewerId, DAY)).isEqualTo(2);
+
+        // The day is no longer offered, but its reservations stay
+        service.syncSlots(interviewerId, Map.of());
+        Map<String, Object> slot = jdbcTemplate.queryForMap(
+                "SELECT capacity, remaining FROM interviewer_slots WHERE interviewer_id = ?", interviewerId);
+        assertThat(slot).containsEntry("capacity", 2).containsEntry("remaining", 0);
+    }
+
+    @Test
+    void reportsUnknownInterviewers() {
+        UUID interviewerId = UUID.randomUUID();
+        when(entityCacheService.findInterviewer(interviewerId)).thenReturn(Optional.empty());
+
+        SlotReservationResponse response = reserve(interviewerId);
+
+        assertThat(response.isReserved()).isFalse();
+        assertThat(response.getMessage()).isEqualTo("Interviewer not found");
+    }
+
+    @Test
+    void reservesFromTheAvailabilityWhileDisabled() {
+        ReflectionTestUtils.setField(service, "enabled", false);
+        UUID interviewerId = insertInterviewer(3, "{\"" + DAY + "\": 1}");
+        when(entityCacheService.findInterviewer(interviewerId)).thenReturn(Optional.of(new InterviewerProfile()));
+
+        service.syncSlots(interviewerId, Map.of(DAY, 5));
+        assertThat(service.seedMissingSlots()).isZero();
+        assertThat(reserve(interviewerId).isReserved()).isTrue();
+        assertThat(reserve(interviewerId).getMessage()).isEqualTo("No slots available on " + DAY);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT (availability->>'" + DAY + "')::int FROM interviewer_profiles "
+                + "WHERE id = ?", Integer.class, interviewerId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM interviewer_slots WHERE interviewer_id = ?",
+                Integer.class, interviewerId)).isZero();
+    }
+
+    private SlotReservationResponse reserve(UUID interviewerId) {
+        return service.reserve(new SlotReservationRequest(interviewerId, DAY, null));
+    }
+}
@@ -0,0 +1,75 @@
+package com.telus.io.support;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Base class for tests of the hand-written SQL against a real Postgres with
+ * pgvector, created from schema.sql. Tests are skipped when Docker is not
+ * available. Each test class gets its own database, so tests within a class
+ * should use fresh IDs rather than rely on empty tables.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresTestSupport {
+
+    public static final DockerImageName PGVECTOR_IMAGE =
+            DockerImageName.parse("pgvector/pgvector:pg16").asCompatibleSubstituteFor("postgres");
+
+    @Container
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(PGVECTOR_IMAGE);
+
+    protected static DataSource dataSource;
+    protected static JdbcTemplate jdbcTemplate;
+    protected static PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+    }
+
+    /**
+     * Insert a resume with a unique email.
+     *
+     * @return The resume ID
+     */
+    protected static UUID insertResume() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO resumes (id, name, email, phone_number, full_text, uploaded_at, updated_at, "
+                + "file_type, original_file_name, locked) "
+                + "VALUES (?, 'Test Candidate', ?, '555-0100', 'Java developer', now(), now(), 'pdf', 'resume.pdf', false)",
+                id, id + "@example.com");
+        return id;
+    }
+
+    /**
+     * Insert an interviewer.
+     *
+     * @param maxInterviewsPerDay The daily interview cap
+     * @param availabilityJson The availability JSON, dates to slot counts
+     * @return The interviewer ID
+     */
+    protected static UUID insertInterviewer(int maxInterviewsPerDay, String availabilityJson) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO interviewer_profiles (id, name, email, experience_years, interviewer_tier, "
+                + "max_interviews_per_day, technical_expertise, specializations, availability) "
+                + "VALUES (?, 'Test Interviewer', ?, 8, 2, ?, '[\"Java\"]'::jsonb, '[]'::jsonb, ?::jsonb)",
+                id, id + "@example.com", maxInterviewsPerDay, availabilityJson);
+        return id;
+    }
+}
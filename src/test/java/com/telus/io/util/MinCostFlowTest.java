@@ -0,0 +1,78 @@
+package com.telus.io.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class MinCostFlowTest {
+
+    @Test
+    void assignsAtMinimumTotalCost() {
+        // Source 0, candidates 1-2, slots 3-4, sink 5; the greedy pick (1 -> 4, cost 1) is not optimal overall
+        MinCostFlow flow = new MinCostFlow(6);
+        flow.addEdge(0, 1, 1, 0);
+        flow.addEdge(0, 2, 1, 0);
+        int c1s1 = flow.addEdge(1, 3, 1, 2);
+        int c1s2 = flow.addEdge(1, 4, 1, 1);
+        int c2s1 = flow.addEdge(2, 3, 1, 10);
+        int c2s2 = flow.addEdge(2, 4, 1, 3);
+        flow.addEdge(3, 5, 1, 0);
+        flow.addEdge(4, 5, 1, 0);
+
+        long[] result = flow.solve(0, 5);
+
+        assertThat(result).containsExactly(2, 5);
+        assertThat(flow.flow(c1s1)).isEqualTo(1);
+        assertThat(flow.flow(c2s2)).isEqualTo(1);
+        assertThat(flow.flow(c1s2)).isZero();
+        assertThat(flow.flow(c2s1)).isZero();
+    }
+
+    @Test
+    void flowIsLimitedByCapacity() {
+        // Three candidates compete for one slot with capacity 2
+        MinCostFlow flow = new MinCostFlow(6);
+        for (int candidate = 1; candidate <= 3; candidate++) {
+            flow.addEdge(0, candidate, 1, 0);
+            flow.addEdge(candidate, 4, 1, candidate);
+        }
+        flow.addEdge(4, 5, 2, 0);
+
+        long[] result = flow.solve(0, 5);
+
+        assertThat(result).containsExactly(2, 3);
+    }
+
+    @Test
+    void reroutesEarlierFlowThroughResidualEdges() {
+        // The first cheapest path 0-1-2-3 blocks both other routes; the second augmentation must undo 1-2
+        MinCostFlow flow = new MinCostFlow(4);
+        flow.addEdge(0, 1, 1, 1);
+        flow.addEdge(0, 2, 1, 5);
+        int middle = flow.addEdge(1, 2, 1, 1);
+        flow.addEdge(1, 3, 1, 5);
+        flow.addEdge(2, 3, 1, 1);
+
+        long[] result = flow.solve(0, 3);
+
+        assertThat(result).containsExactly(2, 12);
+        assertThat(flow.flow(middle)).isZero();
+    }
+
+    @Test
+    void returnsNoFlowWhenSinkIsUnreachable() {
+        MinCostFlow flow = new MinCostFlow(3);
+        flow.addEdge(0, 1, 5, 1);
+
+        assertThat(flow.solve(0, 2)).containsExactly(0, 0);
+    }
+
+    @Test
+    void rejectsNegativeCosts() {
+        MinCostFlow flow = new MinCostFlow(2);
+
+        assertThatThrownBy(() -> flow.addEdge(0, 1, 1, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}